@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common.dto.item;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityWindowDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches successful responses of idempotent GET routes per path, query and {@code X-Sharer-User-Id}, and evicts
+ * them when a mutating route of the same gateway touches the related resource.
+ *
+ * <p>Eviction does not scan the cache: it stamps the evicted path prefixes with the next value of a clock, and an
+ * entry is served only while none of the prefixes of its path carries a stamp newer than the clock value read when
+ * its request started. Stale entries are dropped when they are next looked up, or by size and TTL.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    // Must wrap the response before NettyWriteResponseFilter copies the backend body into it, and sit outside
+    // request coalescing so that hits never join a flight
+    private static final int CACHE_FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private final Cache<CacheKey, CachedResponse> cache;
+    // Clock value of the latest eviction per path prefix. A stamp only matters to entries younger than the TTL, so
+    // it expires with them; a size bound could drop a recent stamp and serve a stale entry again
+    private final Cache<String, Long> evictedAt;
+    private final AtomicLong clock = new AtomicLong();
+    private final long ttlNanos;
+
+    public ResponseCacheFilter(@Value("${shareit.gateway.response-cache.max-size:10000}") long maxSize,
+                               @Value("${shareit.gateway.response-cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttlNanos = ttl.toNanos();
+        log.info("Gateway response cache configured with max size {} and TTL {}", maxSize, ttl);
+    }
+
+    public GatewayFilter cacheResponse() {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            CacheKey key = new CacheKey(request.getPath().value(), request.getURI().getRawQuery(),
+                    request.getHeaders().getFirst(USER_ID_HEADER));
+            long version = currentVersion();
+            long startedAt = System.nanoTime();
+
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null && isCurrent(key.path(), cached.version())) {
+                log.trace("Response cache hit for {}", key);
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(cached.contentType());
+                response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+                return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+            }
+            if (cached != null) {
+                // Evicted since it was stored; a newer entry put meanwhile is kept
+                cache.asMap().remove(key, cached);
+            }
+
+            log.trace("Response cache miss for {}", key);
+            ServerHttpResponse original = exchange.getResponse();
+            original.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(original) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (getStatusCode() != HttpStatus.OK) {
+                        return super.writeWith(body);
+                    }
+                    return DataBufferUtils.join(body)
+                            .map(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+                                return bytes;
+                            })
+                            .defaultIfEmpty(new byte[0])
+                            .flatMap(bytes -> {
+                                // A request older than the TTL may predate stamps that have already expired
+                                if (isCurrent(key.path(), version) && System.nanoTime() - startedAt <= ttlNanos) {
+                                    cache.put(key, new CachedResponse(getHeaders().getContentType(), bytes,
+                                            version));
+                                }
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            });
+                }
+            };
+            return chain.filter(exchange.mutate().response(caching).build());
+        }, CACHE_FILTER_ORDER);
+    }
+
+    /**
+     * Evicts cached responses for the request path itself and everything below it.
+     */
+    public GatewayFilter evictRequestPath() {
+        return evict(List::of);
+    }
+
+    /**
+     * Evicts cached responses under the paths derived from the request path. Eviction runs both before the request
+     * is forwarded and once it completes, so a GET racing the mutation cannot leave a stale entry behind.
+     */
+    public GatewayFilter evict(Function<String, List<String>> pathsToEvict) {
+        return (exchange, chain) -> {
+            List<String> paths = pathsToEvict.apply(exchange.getRequest().getPath().value());
+            evictUnder(paths);
+            return chain.filter(exchange).doFinally(signal -> evictUnder(paths));
+        };
+    }
+
+    /**
+     * Returns the clock value to remember when work on behalf of a cached path starts, for a later
+     * {@link #isCurrent(String, long)} check.
+     */
+    public long currentVersion() {
+        return clock.get();
+    }
+
+    /**
+     * Tells whether nothing at or above {@code path} has been evicted since the clock read {@code version}. Checks
+     * the path itself and every prefix ending before one of its slashes, i.e. all paths it is under.
+     */
+    public boolean isCurrent(String path, long version) {
+        for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+            if (isEvictedAfter(path.substring(0, slash), version)) {
+                return false;
+            }
+        }
+        return !isEvictedAfter(path, version);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void evictUnder(List<String> paths) {
+        long stamp = clock.incrementAndGet();
+        paths.forEach(path -> evictedAt.put(path, stamp));
+        log.trace("Evicted cached responses under {}", paths);
+    }
+
+    private boolean isEvictedAfter(String prefix, long version) {
+        Long stamp = evictedAt.getIfPresent(prefix);
+        return stamp != null && stamp > version;
+    }
+
+    private record CacheKey(String path, String query, String userId) {
+    }
+
+    private record CachedResponse(MediaType contentType, byte[] body, long version) {
+    }
+}
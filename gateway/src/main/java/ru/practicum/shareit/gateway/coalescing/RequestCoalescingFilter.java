@@ -0,0 +1,170 @@
+package ru.practicum.shareit.gateway.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+
+/**
+ * Collapses concurrent identical GET requests (same route, path, query and {@code X-Sharer-User-Id}) into a single
+ * upstream exchange. The first request leads the flight; requests arriving while it is in progress wait up to
+ * {@code shareit.gateway.coalescing.max-wait} for its response and fall back to their own upstream call otherwise.
+ * A request only joins a flight that started after the latest {@link ResponseCacheFilter} eviction of its path, so
+ * a GET that follows a completed write never receives, or caches, a response read before that write.
+ */
+@Component
+@Slf4j
+public class RequestCoalescingFilter {
+
+    public static final String REQUESTS_METRIC = "shareit.gateway.coalescing.requests";
+    public static final String RATIO_METRIC = "shareit.gateway.coalescing.ratio";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    // Must wrap the response before NettyWriteResponseFilter copies the backend body into it
+    private static final int COALESCING_FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final Map<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final ResponseCacheFilter responseCacheFilter;
+    private final Duration maxWait;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter fallbacks;
+
+    public RequestCoalescingFilter(ResponseCacheFilter responseCacheFilter,
+                                   @Value("${shareit.gateway.coalescing.max-wait:2s}") Duration maxWait,
+                                   MeterRegistry meterRegistry) {
+        this.responseCacheFilter = responseCacheFilter;
+        this.maxWait = maxWait;
+        this.leaders = Counter.builder(REQUESTS_METRIC).tag("outcome", "leader")
+                .description("Requests that went upstream on behalf of a flight").register(meterRegistry);
+        this.coalesced = Counter.builder(REQUESTS_METRIC).tag("outcome", "coalesced")
+                .description("Requests answered from another request's upstream response").register(meterRegistry);
+        this.fallbacks = Counter.builder(REQUESTS_METRIC).tag("outcome", "fallback")
+                .description("Waiting requests that timed out or lost their leader and went upstream themselves")
+                .register(meterRegistry);
+        Gauge.builder(RATIO_METRIC, this, RequestCoalescingFilter::coalescingRatio)
+                .description("Share of coalescable requests answered without their own upstream call")
+                .register(meterRegistry);
+        log.info("Gateway request coalescing configured with max wait {}", maxWait);
+    }
+
+    public GatewayFilter coalesce() {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            FlightKey key = FlightKey.of(exchange);
+            Flight flight = new Flight(Sinks.one(), responseCacheFilter.currentVersion());
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            while (existing != null) {
+                if (responseCacheFilter.isCurrent(key.path(), existing.version())) {
+                    log.trace("Joining in-flight request {}", key);
+                    return follow(existing.sink(), exchange, chain);
+                }
+                // The flight went upstream before a write to this path finished, so its response may predate it
+                if (inFlight.replace(key, existing, flight)) {
+                    log.trace("Replacing flight {} that started before the latest eviction", key);
+                    break;
+                }
+                existing = inFlight.putIfAbsent(key, flight);
+            }
+            log.trace("Leading new flight {}", key);
+            leaders.increment();
+            return lead(key, flight, exchange, chain);
+        }, COALESCING_FILTER_ORDER);
+    }
+
+    private Mono<Void> lead(FlightKey key, Flight flight, ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(body)
+                        .map(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            inFlight.remove(key, flight);
+                            flight.sink().tryEmitValue(new CapturedResponse(getStatusCode(),
+                                    getHeaders().getContentType(), bytes));
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    // Releases waiters if the leader failed before producing a response
+                    inFlight.remove(key, flight);
+                    flight.sink().tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(Sinks.One<CapturedResponse> flight, ServerWebExchange exchange,
+                              GatewayFilterChain chain) {
+        return flight.asMono()
+                .timeout(maxWait)
+                .map(Optional::of)
+                .onErrorResume(TimeoutException.class, e -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(captured -> {
+                    if (captured.isEmpty()) {
+                        fallbacks.increment();
+                        return chain.filter(exchange);
+                    }
+                    coalesced.increment();
+                    return write(exchange.getResponse(), captured.get());
+                });
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CapturedResponse captured) {
+        response.setStatusCode(captured.status());
+        response.getHeaders().setContentType(captured.contentType());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(captured.body())));
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + coalesced.count() + fallbacks.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    private record FlightKey(String routeId, String path, String query, String userId) {
+
+        static FlightKey of(ServerWebExchange exchange) {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            ServerHttpRequest request = exchange.getRequest();
+            return new FlightKey(route != null ? route.getId() : null, request.getPath().value(),
+                    request.getURI().getRawQuery(), request.getHeaders().getFirst(USER_ID_HEADER));
+        }
+    }
+
+    private record Flight(Sinks.One<CapturedResponse> sink, long version) {
+    }
+
+    private record CapturedResponse(HttpStatusCode status, MediaType contentType, byte[] body) {
+    }
+}
@@ -1,17 +1,20 @@
 package ru.practicum.shareit.gateway.config;
 
+import java.time.Duration;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import reactor.core.publisher.Mono;
 import ru.practicum.shareit.common.dto.booking.NewBookingDto;
 import ru.practicum.shareit.common.enums.BookingState;
-import ru.practicum.shareit.gateway.validation.DtoValidator;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+import ru.practicum.shareit.gateway.validation.BodyValidationFilter;
 import ru.practicum.shareit.gateway.validation.HeaderValidationFilter;
 import ru.practicum.shareit.gateway.validation.QueryParamValidationFilter;
 
@@ -21,16 +24,29 @@ import ru.practicum.shareit.gateway.validation.QueryParamValidationFilter;
 @SuppressWarnings("unused")
 public class BookingRoutesConfig {
 
-    private final DtoValidator dtoValidator;
+    private final BodyValidationFilter bodyValidationFilter;
     private final HeaderValidationFilter headerValidationFilter;
     private final QueryParamValidationFilter queryParamValidationFilter;
+    private final ResponseCacheFilter responseCacheFilter;
 
     @Value("${shareit-server.url}")
     private String serverUri;
 
+    @Value("${shareit.gateway.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${shareit.gateway.batch.response-timeout:30s}")
+    private Duration batchResponseTimeout;
+
+    @Value("${shareit.gateway.export.response-timeout:60s}")
+    private Duration exportResponseTimeout;
+
     private static final String BOOKINGS_PATH = "/bookings";
+    private static final String BOOKINGS_BATCH_PATH = BOOKINGS_PATH + "/batch";
     private static final String BOOKINGS_ID_PATH = BOOKINGS_PATH + "/{bookingId}";
     private static final String BOOKINGS_OWNER_PATH = BOOKINGS_PATH + "/owner";
+    private static final String BOOKINGS_OWNER_EXPORT_PATH = BOOKINGS_OWNER_PATH + "/export";
+    private static final String ITEMS_PATH = "/items";
 
     @Bean
     public RouteLocator bookingRoutes(RouteLocatorBuilder builder) {
@@ -44,14 +60,21 @@ public class BookingRoutesConfig {
                         .method(HttpMethod.POST)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .modifyRequestBody(
-                                        NewBookingDto.class, NewBookingDto.class,
-                                        (exchange, dto) -> {
-                                            log.debug("Validating NewBookingDto for POST {}", BOOKINGS_PATH);
-                                            dtoValidator.validate(dto);
-                                            return Mono.just(dto);
-                                        }
-                                ))
+                                // item views carry last/next booking, and the booking's item id is in the body
+                                .filter(responseCacheFilter.evict(path -> List.of(ITEMS_PATH)))
+                                .filter(bodyValidationFilter.validateBody(NewBookingDto.class)))
+                        .uri(serverUri))
+
+                // Route: POST /bookings/batch -> Create Bookings
+                .route("create_bookings_batch", r -> r
+                        .path(BOOKINGS_BATCH_PATH)
+                        .and()
+                        .method(HttpMethod.POST)
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.evict(path -> List.of(ITEMS_PATH)))
+                                .filter(bodyValidationFilter.validateBodyList(NewBookingDto.class, maxBatchSize)))
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, batchResponseTimeout.toMillis())
                         .uri(serverUri))
 
                 // Route: PATCH /bookings/{bookingId}?approved={approved} -> Approve/Reject Booking
@@ -63,40 +86,56 @@ public class BookingRoutesConfig {
                         .query("approved", "true|false")
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.evict(path -> List.of(ITEMS_PATH)))
                         )
                         .uri(serverUri))
 
-                // Route: GET /bookings/{bookingId} -> Get Booking By ID
-                .route("get_booking_by_id", r -> r
-                        .path(BOOKINGS_ID_PATH)
+                // Route: GET /bookings?state={state}&from={from}&size={size}&after={cursor} -> Get Bookings by Booker
+                .route("get_bookings_by_booker", r -> r
+                        .path(BOOKINGS_PATH)
                         .and()
                         .method(HttpMethod.GET)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(queryParamValidationFilter.validateOptionalEnumQueryParam(
+                                        "state", BookingState.class))
+                                .filter(queryParamValidationFilter.validateOptionalCursorQueryParam("after"))
                         )
                         .uri(serverUri))
 
-                // Route: GET /bookings?state={state}&from={from}&size={size} -> Get Bookings by Booker
-                .route("get_bookings_by_booker", r -> r
-                        .path(BOOKINGS_PATH)
+                // Route: GET /bookings/owner?state={state}&from={from}&size={size}&after={cursor} -> Get Owner Bookings
+                .route("get_bookings_by_owner", r -> r
+                        .path(BOOKINGS_OWNER_PATH)
                         .and()
                         .method(HttpMethod.GET)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
                                 .filter(queryParamValidationFilter.validateOptionalEnumQueryParam(
                                         "state", BookingState.class))
+                                .filter(queryParamValidationFilter.validateOptionalCursorQueryParam("after"))
                         )
                         .uri(serverUri))
 
-                // Route: GET /bookings/owner?state={state}&from={from}&size={size} -> Get Bookings by Owner
-                .route("get_bookings_by_owner", r -> r
-                        .path(BOOKINGS_OWNER_PATH)
+                // Route: GET /bookings/owner/export -> Export Bookings by Owner as NDJSON
+                // Streamed through as it is produced; never cached or coalesced, as that would buffer the whole body
+                .route("export_bookings_by_owner", r -> r
+                        .path(BOOKINGS_OWNER_EXPORT_PATH)
+                        .and()
+                        .method(HttpMethod.GET)
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                        )
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, exportResponseTimeout.toMillis())
+                        .uri(serverUri))
+
+                // Route: GET /bookings/{bookingId} -> Get Booking By ID
+                // Declared after GET /bookings/owner, which {bookingId} would also match
+                .route("get_booking_by_id", r -> r
+                        .path(BOOKINGS_ID_PATH)
                         .and()
                         .method(HttpMethod.GET)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .filter(queryParamValidationFilter.validateOptionalEnumQueryParam(
-                                        "state", BookingState.class))
                         )
                         .uri(serverUri))
 
@@ -8,9 +8,9 @@ import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import reactor.core.publisher.Mono;
 import ru.practicum.shareit.common.dto.request.NewItemRequestDto;
-import ru.practicum.shareit.gateway.validation.DtoValidator;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+import ru.practicum.shareit.gateway.validation.BodyValidationFilter;
 import ru.practicum.shareit.gateway.validation.HeaderValidationFilter;
 
 @Configuration
@@ -19,8 +19,9 @@ import ru.practicum.shareit.gateway.validation.HeaderValidationFilter;
 @SuppressWarnings("unused")
 public class ItemRequestRoutesConfig {
 
-    private final DtoValidator dtoValidator;
+    private final BodyValidationFilter bodyValidationFilter;
     private final HeaderValidationFilter headerValidationFilter;
+    private final ResponseCacheFilter responseCacheFilter;
 
     @Value("${shareit-server.url}")
     private String serverUri;
@@ -41,14 +42,7 @@ public class ItemRequestRoutesConfig {
                         .method(HttpMethod.POST)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .modifyRequestBody(
-                                        NewItemRequestDto.class, NewItemRequestDto.class,
-                                        (exchange, dto) -> {
-                                            log.debug("Validating NewItemRequestDto for POST {}", REQUESTS_PATH);
-                                            dtoValidator.validate(dto);
-                                            return Mono.just(dto);
-                                        }
-                                ))
+                                .filter(bodyValidationFilter.validateBody(NewItemRequestDto.class)))
                         .uri(serverUri))
 
                 // Route: GET /requests -> Get user's own requests
@@ -72,7 +66,9 @@ public class ItemRequestRoutesConfig {
                         .path(REQUESTS_ID_PATH)
                         .and()
                         .method(HttpMethod.GET)
-                        .filters(f -> f.filter(headerValidationFilter.validateUserIdHeader()))
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.cacheResponse()))
                         .uri(serverUri))
 
                 .build();
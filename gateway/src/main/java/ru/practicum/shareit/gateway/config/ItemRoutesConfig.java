@@ -1,19 +1,24 @@
 package ru.practicum.shareit.gateway.config;
 
+import java.time.Duration;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import reactor.core.publisher.Mono;
 import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.common.dto.item.NewItemDto;
 import ru.practicum.shareit.common.dto.item.UpdateItemDto;
-import ru.practicum.shareit.gateway.validation.DtoValidator;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+import ru.practicum.shareit.gateway.coalescing.RequestCoalescingFilter;
+import ru.practicum.shareit.gateway.validation.BodyValidationFilter;
 import ru.practicum.shareit.gateway.validation.HeaderValidationFilter;
+import ru.practicum.shareit.gateway.validation.QueryParamValidationFilter;
 
 @Configuration
 @RequiredArgsConstructor
@@ -21,16 +26,32 @@ import ru.practicum.shareit.gateway.validation.HeaderValidationFilter;
 @SuppressWarnings("unused")
 public class ItemRoutesConfig {
 
-    private final DtoValidator dtoValidator;
+    private final BodyValidationFilter bodyValidationFilter;
     private final HeaderValidationFilter headerValidationFilter;
+    private final QueryParamValidationFilter queryParamValidationFilter;
+    private final ResponseCacheFilter responseCacheFilter;
+    private final RequestCoalescingFilter requestCoalescingFilter;
 
     @Value("${shareit-server.url}")
     private String serverUri;
 
+    @Value("${shareit.gateway.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${shareit.gateway.batch.response-timeout:30s}")
+    private Duration batchResponseTimeout;
+
+    @Value("${shareit.gateway.import.response-timeout:5m}")
+    private Duration importResponseTimeout;
+
     private static final String ITEMS_PATH = "/items";
+    private static final String ITEMS_BATCH_PATH = ITEMS_PATH + "/batch";
+    private static final String ITEMS_IMPORT_PATH = ITEMS_PATH + "/import";
     private static final String ITEMS_ID_PATH = ITEMS_PATH + "/{id}";
     private static final String ITEMS_SEARCH_PATH = ITEMS_PATH + "/search";
     private static final String ITEMS_COMMENT_PATH = ITEMS_PATH + "/{itemId}/comment";
+    private static final String ITEMS_AVAILABILITY_PATH = ITEMS_ID_PATH + "/availability";
+    private static final String REQUESTS_PATH = "/requests";
 
     @Bean
     public RouteLocator itemRoutes(RouteLocatorBuilder builder) {
@@ -44,14 +65,34 @@ public class ItemRoutesConfig {
                         .method(HttpMethod.POST)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .modifyRequestBody(
-                                        NewItemDto.class, NewItemDto.class,
-                                        (exchange, dto) -> {
-                                            log.debug("Validating NewItemDto for POST {}", ITEMS_PATH);
-                                            dtoValidator.validate(dto);
-                                            return Mono.just(dto);
-                                        }
-                                ))
+                                // a new item may answer a request, which changes that request's view
+                                .filter(responseCacheFilter.evict(path -> List.of(REQUESTS_PATH)))
+                                .filter(bodyValidationFilter.validateBody(NewItemDto.class)))
+                        .uri(serverUri))
+
+                // Route: POST /items/batch -> Create Items
+                .route("create_items_batch", r -> r
+                        .path(ITEMS_BATCH_PATH)
+                        .and()
+                        .method(HttpMethod.POST)
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.evict(path -> List.of(REQUESTS_PATH)))
+                                .filter(bodyValidationFilter.validateBodyList(NewItemDto.class, maxBatchSize)))
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, batchResponseTimeout.toMillis())
+                        .uri(serverUri))
+
+                // Route: POST /items/import -> Import Items from NDJSON
+                // The body is streamed to the server unbuffered and validated there line by line, so that one bad
+                // line is reported in the per-line results instead of rejecting the whole import
+                .route("import_items", r -> r
+                        .path(ITEMS_IMPORT_PATH)
+                        .and()
+                        .method(HttpMethod.POST)
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.evict(path -> List.of(REQUESTS_PATH))))
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, importResponseTimeout.toMillis())
                         .uri(serverUri))
 
                 // Route: PATCH /items/{id} -> Update Item
@@ -61,16 +102,8 @@ public class ItemRoutesConfig {
                         .method(HttpMethod.PATCH)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .modifyRequestBody(
-                                        UpdateItemDto.class, UpdateItemDto.class,
-                                        (exchange, dto) -> {
-                                            String itemId = exchange.getRequest().getURI().getPath()
-                                                    .substring(ITEMS_PATH.length() + 1);
-                                            log.debug("Validating UpdateItemDto for PATCH /items/{}", itemId);
-                                            dtoValidator.validate(dto);
-                                            return Mono.just(dto);
-                                        }
-                                ))
+                                .filter(responseCacheFilter.evict(path -> List.of(path, REQUESTS_PATH)))
+                                .filter(bodyValidationFilter.validateBody(UpdateItemDto.class)))
                         .uri(serverUri))
 
                 // Route: GET /items -> Get User's Items
@@ -78,25 +111,48 @@ public class ItemRoutesConfig {
                         .path(ITEMS_PATH)
                         .and()
                         .method(HttpMethod.GET)
-                        .filters(f -> f.filter(headerValidationFilter.validateUserIdHeader()))
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(queryParamValidationFilter.validateOptionalNumericQueryParam("after", 1))
+                                .filter(queryParamValidationFilter.validateOptionalNumericQueryParam("size", 1)))
                         .uri(serverUri))
 
-                // Route: GET /items/{id} -> Get Item By ID
-                .route("get_item_by_id", r -> r
-                        .path(ITEMS_ID_PATH)
+                // Route: GET /items/{id}/availability?from={dateTime}&to={dateTime} -> Get Item Free Windows
+                .route("get_item_availability", r -> r
+                        .path(ITEMS_AVAILABILITY_PATH)
                         .and()
                         .method(HttpMethod.GET)
-                        .filters(f -> f.filter(headerValidationFilter.validateUserIdHeader()))
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(queryParamValidationFilter.validateRequiredDateTimeQueryParam("from"))
+                                .filter(queryParamValidationFilter.validateRequiredDateTimeQueryParam("to")))
                         .uri(serverUri))
 
-                // Route: GET /items/search -> Search Items
+                // Route: GET /items/search?text={text}&from={from}&size={size}&after={id} -> Search Items
                 .route("search_items", r -> r
                         .path(ITEMS_SEARCH_PATH)
                         .and()
                         .method(HttpMethod.GET)
                         .and()
                         .query("text")
-                        .filters(f -> f.filter(headerValidationFilter.validateUserIdHeader()))
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(queryParamValidationFilter.validateOptionalNumericQueryParam("from", 0))
+                                .filter(queryParamValidationFilter.validateOptionalNumericQueryParam("size", 1))
+                                .filter(queryParamValidationFilter.validateOptionalNumericQueryParam("after", 1))
+                                .filter(requestCoalescingFilter.coalesce()))
+                        .uri(serverUri))
+
+                // Route: GET /items/{id} -> Get Item By ID
+                // Declared after the more specific /items/... GET routes, since {id} would also match "search"
+                .route("get_item_by_id", r -> r
+                        .path(ITEMS_ID_PATH)
+                        .and()
+                        .method(HttpMethod.GET)
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.cacheResponse())
+                                .filter(requestCoalescingFilter.coalesce()))
                         .uri(serverUri))
 
                 // Route: DELETE /items?id={id} -> Delete Item By ID
@@ -104,7 +160,9 @@ public class ItemRoutesConfig {
                         .path(ITEMS_ID_PATH)
                         .and()
                         .method(HttpMethod.DELETE)
-                        .filters(f -> f.filter(headerValidationFilter.validateUserIdHeader()))
+                        .filters(f -> f
+                                .filter(headerValidationFilter.validateUserIdHeader())
+                                .filter(responseCacheFilter.evict(path -> List.of(path, REQUESTS_PATH))))
                         .uri(serverUri))
 
                 // Route: POST /{itemId}/comment -> Add Comment
@@ -114,18 +172,9 @@ public class ItemRoutesConfig {
                         .method(HttpMethod.POST)
                         .filters(f -> f
                                 .filter(headerValidationFilter.validateUserIdHeader())
-                                .modifyRequestBody(
-                                        NewCommentDto.class, NewCommentDto.class,
-                                        (exchange, dto) -> {
-                                            String path = exchange.getRequest().getURI().getPath();
-                                            String itemId = path.substring(ITEMS_PATH.length() + 1,
-                                                    path.indexOf("/comment"));
-                                            log.debug("Validating NewCommentDto for POST /items/{}/comment",
-                                                    itemId);
-                                            dtoValidator.validate(dto);
-                                            return Mono.just(dto);
-                                        }
-                                ))
+                                .filter(responseCacheFilter.evict(
+                                        path -> List.of(path.substring(0, path.lastIndexOf("/comment")))))
+                                .filter(bodyValidationFilter.validateBody(NewCommentDto.class)))
                         .uri(serverUri))
 
                 .build();
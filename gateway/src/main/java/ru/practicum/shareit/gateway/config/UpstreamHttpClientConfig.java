@@ -0,0 +1,34 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Connection settings for the Reactor Netty client that proxies to {@code shareit-server.url}. Pool sizing lives
+ * under {@code spring.cloud.gateway.httpclient.pool}; this adds keep-alive and optional cleartext HTTP/2 (h2c with
+ * prior knowledge), which multiplexes concurrent requests over a few connections. The server must have
+ * {@code server.http2.enabled} set for h2c.
+ */
+@Configuration
+@Slf4j
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamHttpClientCustomizer(
+            @Value("${shareit.gateway.upstream.h2c:false}") boolean h2c,
+            @Value("${shareit.gateway.upstream.tcp-keep-alive:true}") boolean tcpKeepAlive) {
+        log.info("Upstream HTTP client using {} with TCP keep-alive {}", h2c ? "h2c" : "HTTP/1.1",
+                tcpKeepAlive ? "on" : "off");
+        return httpClient -> {
+            var customized = httpClient
+                    .keepAlive(true)
+                    .option(ChannelOption.SO_KEEPALIVE, tcpKeepAlive);
+            return h2c ? customized.protocol(HttpProtocol.H2C) : customized;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.gateway.config;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,10 +9,10 @@ import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import reactor.core.publisher.Mono;
 import ru.practicum.shareit.common.dto.user.NewUserDto;
 import ru.practicum.shareit.common.dto.user.UpdateUserDto;
-import ru.practicum.shareit.gateway.validation.DtoValidator;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+import ru.practicum.shareit.gateway.validation.BodyValidationFilter;
 
 @Configuration
 @RequiredArgsConstructor
@@ -19,13 +20,16 @@ import ru.practicum.shareit.gateway.validation.DtoValidator;
 @SuppressWarnings("unused")
 public class UserRoutesConfig {
 
-    private final DtoValidator dtoValidator;
+    private final BodyValidationFilter bodyValidationFilter;
+    private final ResponseCacheFilter responseCacheFilter;
 
     @Value("${shareit-server.url}")
     private String serverUri;
 
     private static final String USERS_PATH = "/users";
     private static final String USERS_ID_PATH = USERS_PATH + "/{id}";
+    private static final String ITEMS_PATH = "/items";
+    private static final String REQUESTS_PATH = "/requests";
 
     @Bean
     public RouteLocator userRoutes(RouteLocatorBuilder builder) {
@@ -37,15 +41,7 @@ public class UserRoutesConfig {
                         .path(USERS_PATH)
                         .and()
                         .method(HttpMethod.POST)
-                        .filters(f -> f.modifyRequestBody(
-                                NewUserDto.class,
-                                NewUserDto.class,
-                                (exchange, dto) -> {
-                                    log.debug("Validating NewUserDto for POST {}", USERS_PATH);
-                                    dtoValidator.validate(dto);
-                                    return Mono.just(dto);
-                                }
-                        ))
+                        .filters(f -> f.filter(bodyValidationFilter.validateBody(NewUserDto.class)))
                         .uri(serverUri))
 
                 // Route: PATCH /users/{id} -> Update User
@@ -53,17 +49,9 @@ public class UserRoutesConfig {
                         .path(USERS_ID_PATH)
                         .and()
                         .method(HttpMethod.PATCH)
-                        .filters(f -> f.modifyRequestBody(
-                                UpdateUserDto.class,
-                                UpdateUserDto.class,
-                                (exchange, dto) -> {
-                                    String userId = exchange.getRequest().getURI().getPath()
-                                            .substring(USERS_PATH.length() + 1);
-                                    log.debug("Validating UpdateUserDto for PATCH /users/{}", userId);
-                                    dtoValidator.validate(dto);
-                                    return Mono.just(dto);
-                                }
-                        ))
+                        .filters(f -> f
+                                .filter(responseCacheFilter.evictRequestPath())
+                                .filter(bodyValidationFilter.validateBody(UpdateUserDto.class)))
                         .uri(serverUri))
 
                 // Route: GET /users -> Get All Users
@@ -78,6 +66,7 @@ public class UserRoutesConfig {
                         .path(USERS_ID_PATH)
                         .and()
                         .method(HttpMethod.GET)
+                        .filters(f -> f.filter(responseCacheFilter.cacheResponse()))
                         .uri(serverUri))
 
                 // Route: DELETE /users/{id} -> Delete User By ID
@@ -85,6 +74,9 @@ public class UserRoutesConfig {
                         .path(USERS_ID_PATH)
                         .and()
                         .method(HttpMethod.DELETE)
+                        // Items and requests of the user are deleted with it
+                        .filters(f -> f.filter(
+                                responseCacheFilter.evict(path -> List.of(path, ITEMS_PATH, REQUESTS_PATH))))
                         .uri(serverUri))
 
                 .build();
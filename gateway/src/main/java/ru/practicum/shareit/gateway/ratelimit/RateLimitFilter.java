@@ -0,0 +1,116 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.net.InetSocketAddress;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.exception.ErrorMessage;
+import ru.practicum.shareit.gateway.validation.LongSyntax;
+
+/**
+ * Applies {@link RateLimitProperties} to every routed request that carries {@code X-Sharer-User-Id}, answering
+ * 429 with {@code Retry-After} once the caller's bucket for the route is empty. Buckets are keyed by the parsed
+ * user id, or by the client address when the header is not a number, so arbitrary header values can neither mint
+ * fresh buckets nor grow the cache. Buckets are kept in memory, so no external store is needed on a single node.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    // Runs ahead of response caching and coalescing, so limited callers cannot be served from either
+    private static final int RATE_LIMIT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+        log.info("Gateway rate limiting {} with default limit {} and route limits {}",
+                properties.enabled() ? "enabled" : "disabled", properties.defaultLimit(), properties.routes());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String userId = exchange.getRequest().getHeaders().getFirst(USER_ID_HEADER);
+        if (!properties.enabled() || !StringUtils.hasText(userId)) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(new BucketKey(routeId, caller(exchange, userId)), key -> {
+            RateLimitProperties.Limit limit = properties.limitFor(routeId);
+            return new TokenBucket(limit.capacity(), limit.refillPerSecond(), now);
+        });
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / NANOS_PER_SECOND));
+        log.warn("Rate limit exceeded for user {} on route {}, retry after {}s", userId, routeId,
+                retryAfterSeconds);
+        return reject(exchange.getResponse(), retryAfterSeconds);
+    }
+
+    @Override
+    public int getOrder() {
+        return RATE_LIMIT_FILTER_ORDER;
+    }
+
+    // Header validation rejects non-numeric ids later on; until then such callers share their address's bucket
+    private static String caller(ServerWebExchange exchange, String userId) {
+        if (LongSyntax.isLong(userId)) {
+            return "user:" + Long.parseLong(userId);
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return "address:" + (remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown");
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, long retryAfterSeconds) {
+        ErrorMessage error = new ErrorMessage("Too many requests, retry after " + retryAfterSeconds + " seconds",
+                HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromCallable(() ->
+                response.bufferFactory().wrap(objectMapper.writeValueAsBytes(error))));
+    }
+
+    private record BucketKey(String routeId, String caller) {
+    }
+}
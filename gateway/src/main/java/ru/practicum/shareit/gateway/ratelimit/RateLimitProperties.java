@@ -0,0 +1,31 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-route token-bucket limits applied to each {@code X-Sharer-User-Id}. Routes without an entry in {@code routes}
+ * use {@code default-limit}; buckets of users idle for longer than {@code idle-timeout} are dropped, and at most
+ * {@code max-buckets} are kept.
+ */
+@ConfigurationProperties(prefix = "shareit.gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue Limit defaultLimit,
+        Map<String, Limit> routes) {
+
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+    }
+
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    public record Limit(@DefaultValue("100") long capacity, @DefaultValue("50") double refillPerSecond) {
+    }
+}
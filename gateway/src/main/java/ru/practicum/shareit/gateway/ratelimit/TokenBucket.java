@@ -0,0 +1,44 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the token count and its timestamp live in one immutable state swapped by CAS, and tokens
+ * are refilled lazily from the elapsed time on each attempt.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return {@code 0} when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, nowNanos - current.updatedAt());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+            if (tokens < 1) {
+                return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.updatedAt())))) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
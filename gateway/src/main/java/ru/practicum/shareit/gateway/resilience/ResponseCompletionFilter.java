@@ -0,0 +1,56 @@
+package ru.practicum.shareit.gateway.resilience;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs callbacks registered by later filters once the response has been written to the client, or the exchange
+ * has failed or been cancelled. Filters next to {@code NettyRoutingFilter} complete as soon as the upstream
+ * headers arrive, while streamed bodies such as NDJSON imports and exports keep flowing for minutes after that.
+ */
+@Component
+public class ResponseCompletionFilter implements GlobalFilter, Ordered {
+
+    private static final String CALLBACKS_ATTR = ResponseCompletionFilter.class.getName() + ".callbacks";
+    // Wraps NettyWriteResponseFilter, whose chain completes only after the upstream body has been streamed
+    private static final int COMPLETION_FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    /**
+     * Registers {@code callback} to run when the response of {@code exchange} is complete.
+     *
+     * @return {@code false} if the exchange did not pass through this filter, so the caller must run it itself
+     */
+    public static boolean onResponseComplete(ServerWebExchange exchange, Runnable callback) {
+        Queue<Runnable> callbacks = exchange.getAttribute(CALLBACKS_ATTR);
+        if (callbacks == null) {
+            return false;
+        }
+        callbacks.add(callback);
+        return true;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+        exchange.getAttributes().put(CALLBACKS_ATTR, callbacks);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    Runnable callback;
+                    while ((callback = callbacks.poll()) != null) {
+                        callback.run();
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return COMPLETION_FILTER_ORDER;
+    }
+}
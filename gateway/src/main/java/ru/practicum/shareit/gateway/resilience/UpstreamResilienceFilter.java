@@ -0,0 +1,118 @@
+package ru.practicum.shareit.gateway.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Guards the upstream call of every route with a per-route concurrency bulkhead and circuit breaker, named after
+ * the route id and configured under {@code resilience4j.bulkhead} / {@code resilience4j.circuitbreaker}. Both fail
+ * fast with 503, so a slow route exhausts only its own permits instead of the server's capacity.
+ *
+ * <p>The circuit breaker times the call up to the upstream response headers. The bulkhead permit is held until
+ * {@link ResponseCompletionFilter} reports the response body fully written, so streamed responses count against
+ * the limit for as long as they run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UpstreamResilienceFilter implements GlobalFilter, Ordered {
+
+    // Wraps only the proxied call: after route filters have validated the request, before NettyRoutingFilter
+    private static final int RESILIENCE_FILTER_ORDER = NettyRoutingFilter.ORDER - 1;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(routeId);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(routeId);
+
+        return guardedCall(exchange, chain, circuitBreaker, bulkhead)
+                // The 5xx response is already in place; it only had to be recorded as a failure
+                .onErrorResume(UpstreamServerError.class, e -> Mono.empty())
+                .onErrorMap(CallNotPermittedException.class, e -> {
+                    log.warn("Circuit breaker for route {} is {}, failing fast", routeId, circuitBreaker.getState());
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Service temporarily unavailable, please retry later");
+                })
+                .onErrorMap(BulkheadFullException.class, e -> {
+                    log.warn("Bulkhead for route {} is full, failing fast", routeId);
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Too many concurrent requests, please retry later");
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return RESILIENCE_FILTER_ORDER;
+    }
+
+    private Mono<Void> guardedCall(ServerWebExchange exchange, GatewayFilterChain chain,
+                                   CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquirePermission()) {
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+            Runnable release = releaseOnce(bulkhead);
+            boolean releasedOnCompletion = ResponseCompletionFilter.onResponseComplete(exchange, release);
+            // Deferred so the upstream call is only made once the circuit breaker has admitted it
+            return Mono.defer(() -> chain.filter(exchange))
+                    .then(Mono.defer(() -> failOnServerError(exchange)))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doFinally(signal -> {
+                        if (!releasedOnCompletion) {
+                            release.run();
+                        }
+                    });
+        });
+    }
+
+    private static Runnable releaseOnce(Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.onComplete();
+            }
+        };
+    }
+
+    private Mono<Void> failOnServerError(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError()
+                ? Mono.error(new UpstreamServerError(status))
+                : Mono.empty();
+    }
+
+    private static final class UpstreamServerError extends RuntimeException {
+
+        UpstreamServerError(HttpStatusCode status) {
+            super("Upstream responded with " + status, null, false, false);
+        }
+    }
+}
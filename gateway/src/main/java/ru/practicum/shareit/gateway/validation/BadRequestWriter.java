@@ -0,0 +1,25 @@
+package ru.practicum.shareit.gateway.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.common.exception.ErrorMessage;
+
+/**
+ * Writes a 400 response in the gateway error format straight from a filter, bypassing the error handler chain.
+ */
+final class BadRequestWriter {
+
+    private BadRequestWriter() {
+    }
+
+    static Mono<Void> write(ServerHttpResponse response, ObjectMapper objectMapper, String message) {
+        ErrorMessage error = new ErrorMessage(message, HttpStatus.BAD_REQUEST.value());
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromCallable(() ->
+                response.bufferFactory().wrap(objectMapper.writeValueAsBytes(error))));
+    }
+}
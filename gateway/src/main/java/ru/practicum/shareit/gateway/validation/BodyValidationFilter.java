@@ -0,0 +1,112 @@
+package ru.practicum.shareit.gateway.validation;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Validates a JSON request body against a DTO class and forwards the original bytes unchanged. Unlike
+ * {@code modifyRequestBody}, the body is parsed once and never re-serialized, so the backend receives exactly what
+ * the client sent and Content-Length stays valid. Bodies are buffered only up to {@code shareit.gateway.body.max-size};
+ * anything larger is rejected with 413 before it is parsed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BodyValidationFilter {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final ObjectMapper objectMapper;
+    private final DtoValidator dtoValidator;
+
+    @Value("${shareit.gateway.body.max-size:8MB}")
+    private DataSize maxBodySize;
+
+    public <T> GatewayFilter validateBody(Class<T> dtoClass) {
+        return validating(dtoClass.getSimpleName(), bytes -> dtoValidator.validate(parse(bytes, dtoClass)));
+    }
+
+    /**
+     * Validates a JSON array body element by element, rejecting empty arrays and arrays longer than {@code maxSize}.
+     */
+    public <T> GatewayFilter validateBodyList(Class<T> dtoClass, int maxSize) {
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, dtoClass);
+        return validating("list of " + dtoClass.getSimpleName(), bytes -> {
+            List<T> dtos = parse(bytes, listType);
+            if (dtos == null || dtos.isEmpty()) {
+                throw new ServerWebInputException("Request body must be a non-empty array");
+            }
+            if (dtos.size() > maxSize) {
+                log.warn("Rejecting batch of {} {} over the limit of {}", dtos.size(), dtoClass.getSimpleName(),
+                        maxSize);
+                throw new ServerWebInputException("Batch must not contain more than " + maxSize + " elements");
+            }
+            dtos.forEach(dtoValidator::validate);
+        });
+    }
+
+    private GatewayFilter validating(String description, Consumer<byte[]> validation) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            return DataBufferUtils.join(request.getBody(), (int) maxBodySize.toBytes())
+                    .onErrorMap(DataBufferLimitException.class, e -> {
+                        log.warn("Rejecting {} body of {} {} over the limit of {}", description, request.getMethod(),
+                                request.getPath(), maxBodySize);
+                        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Request body must not exceed " + maxBodySize.toBytes() + " bytes");
+                    })
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(EMPTY_BODY)
+                    .flatMap(bytes -> {
+                        log.debug("Validating {} for {} {}", description, request.getMethod(), request.getPath());
+                        validation.accept(bytes);
+                        ServerHttpRequest forwarded = new ServerHttpRequestDecorator(request) {
+                            @Override
+                            public Flux<DataBuffer> getBody() {
+                                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+                            }
+                        };
+                        return chain.filter(exchange.mutate().request(forwarded).build());
+                    });
+        };
+    }
+
+    private <T> T parse(byte[] bytes, Class<T> dtoClass) {
+        return parse(bytes, objectMapper.constructType(dtoClass));
+    }
+
+    private <T> T parse(byte[] bytes, JavaType type) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            log.warn("Request body could not be parsed as {}: {}", type, e.getMessage());
+            throw new ServerWebInputException("Request body is missing or invalid");
+        }
+    }
+}
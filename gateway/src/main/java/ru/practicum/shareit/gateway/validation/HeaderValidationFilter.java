@@ -1,16 +1,25 @@
 package ru.practicum.shareit.gateway.validation;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Rejects requests without a numeric {@code X-Sharer-User-Id} header. Invalid headers are answered with 400 from
+ * the filter itself rather than by throwing, keeping bad traffic off the exception handling path.
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class HeaderValidationFilter {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String MISSING_MESSAGE = "Required header '" + USER_ID_HEADER + "' is missing";
+    private static final String INVALID_MESSAGE = "Invalid format for header '" + USER_ID_HEADER + "'";
+
+    private final ObjectMapper objectMapper;
 
     public GatewayFilter validateUserIdHeader() {
         return (exchange, chain) -> {
@@ -19,21 +28,16 @@ public class HeaderValidationFilter {
 
             if (userId == null || userId.isBlank()) {
                 log.warn("Validation failed: Header '{}' is missing or blank", USER_ID_HEADER);
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Required header '" + USER_ID_HEADER + "' is missing");
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, MISSING_MESSAGE);
             }
 
-            try {
-                Long.parseLong(userId);
-                log.trace("Header '{}' is present and is a number: {}", USER_ID_HEADER, userId);
-            } catch (NumberFormatException e) {
-                log.warn("Validation failed: Header '{}' is not a valid number: {}", USER_ID_HEADER,
-                        userId, e);
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid format for header '" + USER_ID_HEADER + "'");
+            if (!LongSyntax.isLong(userId)) {
+                log.warn("Validation failed: Header '{}' is not a valid number: {}", USER_ID_HEADER, userId);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, INVALID_MESSAGE);
             }
 
+            log.trace("Header '{}' is present and is a number: {}", USER_ID_HEADER, userId);
             return chain.filter(exchange);
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.gateway.validation;
+
+/**
+ * Checks that a string is an ASCII decimal {@code long} by scanning its characters, so rejected input never costs a
+ * {@link NumberFormatException}. Every accepted value can be passed to {@link Long#parseLong(String)}.
+ */
+public final class LongSyntax {
+
+    private static final String MAX_VALUE_DIGITS = "9223372036854775807";
+    private static final String MIN_VALUE_DIGITS = "9223372036854775808";
+
+    private LongSyntax() {
+    }
+
+    public static boolean isLong(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+        char first = value.charAt(0);
+        boolean negative = first == '-';
+        int start = negative || first == '+' ? 1 : 0;
+        if (start == length) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        while (start < length - 1 && value.charAt(start) == '0') {
+            start++;
+        }
+        int digits = length - start;
+        if (digits != MAX_VALUE_DIGITS.length()) {
+            return digits < MAX_VALUE_DIGITS.length();
+        }
+        String limit = negative ? MIN_VALUE_DIGITS : MAX_VALUE_DIGITS;
+        return value.substring(start).compareTo(limit) <= 0;
+    }
+}
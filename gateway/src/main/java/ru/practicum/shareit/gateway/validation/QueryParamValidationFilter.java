@@ -1,55 +1,165 @@
 package ru.practicum.shareit.gateway.validation;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
-import org.springframework.web.server.ResponseStatusException;
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+/**
+ * Validates optional and required query parameters. Invalid values are answered with 400 from the filter itself
+ * rather than by throwing, keeping bad traffic off the exception handling path.
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class QueryParamValidationFilter {
 
+    private final ObjectMapper objectMapper;
+
     public <E extends Enum<E>> GatewayFilter validateOptionalEnumQueryParam(
             String paramName, Class<E> enumClass) {
 
         Set<String> allowedValues = Arrays.stream(enumClass.getEnumConstants())
                 .map(Enum::name)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(() -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
 
         return (exchange, chain) -> {
-            List<String> paramValues = exchange.getRequest().getQueryParams().get(paramName);
+            String value = exchange.getRequest().getQueryParams().getFirst(paramName);
 
-            if (CollectionUtils.isEmpty(paramValues) || !StringUtils.hasText(
-                    paramValues.getFirst())) {
+            if (!StringUtils.hasText(value)) {
                 log.trace(
                         "Optional query parameter '{}' is not present or empty, allowing request.",
                         paramName);
                 return chain.filter(exchange);
             }
 
-            String actualValue = paramValues.getFirst().toUpperCase();
-
-            if (allowedValues.contains(actualValue)) {
+            if (allowedValues.contains(value)) {
                 log.trace("Optional query parameter '{}' has valid value '{}', allowing request.",
-                        paramName, actualValue);
+                        paramName, value);
                 return chain.filter(exchange);
-            } else {
-                log.warn(
-                        "Validation failed: Query parameter '{}' has invalid value '{}'. Allowed "
-                                + "values are: {}",
-                        paramName, paramValues.getFirst(), allowedValues);
-                String errorMessage = String.format("Unknown %s: %s", paramName,
-                        paramValues.getFirst());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, errorMessage);
             }
+
+            log.warn(
+                    "Validation failed: Query parameter '{}' has invalid value '{}'. Allowed "
+                            + "values are: {}",
+                    paramName, value, allowedValues);
+            return BadRequestWriter.write(exchange.getResponse(), objectMapper,
+                    "Unknown " + paramName + ": " + value);
         };
     }
-}
\ No newline at end of file
+
+    public GatewayFilter validateOptionalNumericQueryParam(String paramName, long minValue) {
+        String invalidFormatMessage = String.format("Invalid format for query parameter '%s'", paramName);
+        String belowMinimumMessage = String.format("Query parameter '%s' must be at least %d", paramName, minValue);
+
+        return (exchange, chain) -> {
+            String value = exchange.getRequest().getQueryParams().getFirst(paramName);
+
+            if (!StringUtils.hasText(value)) {
+                log.trace(
+                        "Optional query parameter '{}' is not present or empty, allowing request.",
+                        paramName);
+                return chain.filter(exchange);
+            }
+
+            if (!LongSyntax.isLong(value)) {
+                log.warn("Validation failed: Query parameter '{}' has non-numeric value '{}'",
+                        paramName, value);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, invalidFormatMessage);
+            }
+
+            long number = Long.parseLong(value);
+            if (number < minValue) {
+                log.warn("Validation failed: Query parameter '{}' has value {} below minimum {}",
+                        paramName, number, minValue);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, belowMinimumMessage);
+            }
+
+            log.trace("Optional query parameter '{}' has valid value '{}', allowing request.",
+                    paramName, value);
+            return chain.filter(exchange);
+        };
+    }
+
+    public GatewayFilter validateRequiredDateTimeQueryParam(String paramName) {
+        String missingMessage = String.format("Required query parameter '%s' is missing", paramName);
+        String invalidFormatMessage = String.format("Invalid format for query parameter '%s'", paramName);
+
+        return (exchange, chain) -> {
+            String value = exchange.getRequest().getQueryParams().getFirst(paramName);
+
+            if (!StringUtils.hasText(value)) {
+                log.warn("Validation failed: Required query parameter '{}' is missing", paramName);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, missingMessage);
+            }
+
+            if (!isIsoLocalDateTime(value)) {
+                log.warn("Validation failed: Query parameter '{}' has non-ISO date-time value '{}'",
+                        paramName, value);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, invalidFormatMessage);
+            }
+
+            log.trace("Required query parameter '{}' has valid value '{}', allowing request.",
+                    paramName, value);
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * Validates an optional seek cursor of the form {@code <startDate>,<id>}, as handed out by the booking lists.
+     */
+    public GatewayFilter validateOptionalCursorQueryParam(String paramName) {
+        String invalidFormatMessage = String.format("Query parameter '%s' must be in the form <startDate>,<id>",
+                paramName);
+
+        return (exchange, chain) -> {
+            String value = exchange.getRequest().getQueryParams().getFirst(paramName);
+
+            if (!StringUtils.hasText(value)) {
+                log.trace(
+                        "Optional query parameter '{}' is not present or empty, allowing request.",
+                        paramName);
+                return chain.filter(exchange);
+            }
+
+            int separator = value.lastIndexOf(',');
+            if (separator < 0 || !isIsoLocalDateTime(value.substring(0, separator).trim())
+                    || !LongSyntax.isLong(value.substring(separator + 1).trim())) {
+                log.warn("Validation failed: Query parameter '{}' has malformed cursor value '{}'",
+                        paramName, value);
+                return BadRequestWriter.write(exchange.getResponse(), objectMapper, invalidFormatMessage);
+            }
+
+            log.trace("Optional query parameter '{}' has valid value '{}', allowing request.",
+                    paramName, value);
+            return chain.filter(exchange);
+        };
+    }
+
+    private static boolean isIsoLocalDateTime(String value) {
+        // Syntax is checked without exceptions; only well-formed values with out-of-range fields reach the catch
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = DateTimeFormatter.ISO_LOCAL_DATE_TIME.parseUnresolved(value, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+            return false;
+        }
+        try {
+            LocalDateTime.parse(value);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+}
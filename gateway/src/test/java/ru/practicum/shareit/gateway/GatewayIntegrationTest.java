@@ -6,12 +6,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -41,6 +44,8 @@ import ru.practicum.shareit.common.dto.request.NewItemRequestDto;
 import ru.practicum.shareit.common.dto.user.NewUserDto;
 import ru.practicum.shareit.common.dto.user.UpdateUserDto;
 import ru.practicum.shareit.common.exception.ErrorMessage;
+import ru.practicum.shareit.gateway.cache.ResponseCacheFilter;
+import ru.practicum.shareit.gateway.coalescing.RequestCoalescingFilter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
@@ -58,15 +63,25 @@ class GatewayIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @DynamicPropertySource
     static void registerPgProperties(DynamicPropertyRegistry registry) {
         registry.add("shareit-server.url", () -> "http://localhost:" + MOCK_SERVER_PORT);
+        // Tests reuse the same user ids back to back; limits are covered by RateLimitFilterTest
+        registry.add("shareit.gateway.rate-limit.enabled", () -> false);
+        registry.add("shareit.gateway.body.max-size", () -> "16KB");
     }
 
     @BeforeEach
     void setUpPerTest() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start(MOCK_SERVER_PORT);
+        responseCacheFilter.invalidateAll();
     }
 
     @AfterEach
@@ -459,6 +474,33 @@ class GatewayIntegrationTest {
                     "Recorded request should have X-Sharer-User-Id header with correct value");
         }
 
+        @Test
+        @DisplayName("GET /items - OK (Valid Cursor Params)")
+        void getUserItems_whenCursorParamsValid_shouldForwardThemUnchanged() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "[]");
+
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath)
+                            .queryParam("after", 12).queryParam("size", 20).build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isOk();
+
+            RecordedRequest recordedRequest = takeRequestOrFail();
+            assertEquals(itemsPath + "?after=12&size=20", recordedRequest.getPath(),
+                    "Recorded request path should keep the cursor query params");
+        }
+
+        @Test
+        @DisplayName("GET /items - Bad Request (Zero Size)")
+        void getUserItems_whenSizeZero_shouldReturnBadRequest() throws Exception {
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath).queryParam("size", 0).build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError()).as(
+                                    "Error message for zero size should be specific")
+                            .isEqualTo("Query parameter 'size' must be at least 1"));
+
+            assertNull(mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS),
+                    "Request should not be forwarded to the server");
+        }
+
         @Test
         @DisplayName("GET /items - Bad Request (Missing Header)")
         void getUserItems_whenMissingHeader_shouldReturnBadRequest() {
@@ -492,6 +534,46 @@ class GatewayIntegrationTest {
                     "Recorded request should have X-Sharer-User-Id header with correct value");
         }
 
+        @Test
+        @DisplayName("GET /items/search - OK (Valid Paging Params)")
+        void searchItems_whenPagingParamsValid_shouldForwardThemUnchanged() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "[]");
+
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/search")
+                            .queryParam("text", "drill").queryParam("size", 20).queryParam("after", 7)
+                            .build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isOk();
+
+            RecordedRequest recordedRequest = takeRequestOrFail();
+            assertEquals(itemsPath + "/search?text=drill&size=20&after=7", recordedRequest.getPath(),
+                    "Recorded request path should keep the paging query params");
+        }
+
+        @Test
+        @DisplayName("GET /items/search - Bad Request (Non-Numeric Size)")
+        void searchItems_whenSizeNotNumeric_shouldReturnBadRequest() throws Exception {
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/search")
+                            .queryParam("text", "drill").queryParam("size", "ten").build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError()).as(
+                                    "Error message for non-numeric size should be specific")
+                            .isEqualTo("Invalid format for query parameter 'size'"));
+
+            assertNull(mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS),
+                    "Request should not be forwarded to the server");
+        }
+
+        @Test
+        @DisplayName("GET /items/search - Bad Request (Negative From)")
+        void searchItems_whenFromNegative_shouldReturnBadRequest() {
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/search")
+                            .queryParam("text", "drill").queryParam("from", -1).build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError()).as(
+                                    "Error message for negative from should be specific")
+                            .isEqualTo("Query parameter 'from' must be at least 0"));
+        }
+
         @Test
         @DisplayName("GET /items/search - Bad Request (Missing Header)")
         void searchItems_whenMissingHeader_shouldReturnBadRequest() {
@@ -504,6 +586,48 @@ class GatewayIntegrationTest {
                             .isEqualTo("Required header 'X-Sharer-User-Id' is missing"));
         }
 
+        @Test
+        @DisplayName("GET /items/{id}/availability - OK (Valid Period)")
+        void getItemAvailability_whenPeriodValid_shouldForwardAndReturnOk() throws Exception {
+            String expectedResponseBody = "[{\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}]";
+            enqueueMockResponse(HttpStatus.OK.value(), expectedResponseBody);
+
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/" + testItemId + "/availability")
+                            .queryParam("from", "2030-01-01T10:00:00").queryParam("to", "2030-01-02T10:00:00")
+                            .build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo(expectedResponseBody);
+
+            RecordedRequest recordedRequest = takeRequestOrFail();
+            assertEquals(itemsPath + "/" + testItemId + "/availability?from=2030-01-01T10:00:00&to=2030-01-02T10:00:00",
+                    recordedRequest.getPath(), "Recorded request path should keep the period query params");
+        }
+
+        @Test
+        @DisplayName("GET /items/{id}/availability - Bad Request (Missing To)")
+        void getItemAvailability_whenToMissing_shouldReturnBadRequest() throws Exception {
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/" + testItemId + "/availability")
+                            .queryParam("from", "2030-01-01T10:00:00").build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError()).as(
+                                    "Error message for missing period end should be specific")
+                            .isEqualTo("Required query parameter 'to' is missing"));
+
+            assertNull(mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS),
+                    "Request should not be forwarded to the server");
+        }
+
+        @Test
+        @DisplayName("GET /items/{id}/availability - Bad Request (Invalid From)")
+        void getItemAvailability_whenFromNotIsoDateTime_shouldReturnBadRequest() {
+            webTestClient.get().uri(uriBuilder -> uriBuilder.path(itemsPath + "/" + testItemId + "/availability")
+                            .queryParam("from", "tomorrow").queryParam("to", "2030-01-02T10:00:00").build())
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError()).as(
+                                    "Error message for malformed period start should be specific")
+                            .isEqualTo("Invalid format for query parameter 'from'"));
+        }
+
 
         @Test
         @DisplayName("POST /items/{itemId}/comment - OK (Valid Comment, Valid Header)")
@@ -890,6 +1014,41 @@ class GatewayIntegrationTest {
                                             "Error message for missing header should be specific")
                                     .isEqualTo("Required header 'X-Sharer-User-Id' is missing"));
         }
+
+        @Test
+        @DisplayName("GET /bookings/owner - OK (Valid Cursor)")
+        void getBookingsByOwner_whenCursorValid_shouldForwardAndReturnOk() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "[]");
+
+            webTestClient.get().uri(bookingsPath + "/owner?after=2030-01-01T10:00:00,12")
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isOk();
+
+            RecordedRequest recordedRequest = takeRequestOrFail();
+            assertEquals(bookingsPath + "/owner?after=2030-01-01T10:00:00,12", recordedRequest.getPath(),
+                    "Recorded request should keep the cursor unchanged");
+        }
+
+        @Test
+        @DisplayName("GET /bookings/owner - Bad Request (Malformed Cursor)")
+        void getBookingsByOwner_whenCursorMalformed_shouldReturnBadRequest() {
+            webTestClient.get().uri(bookingsPath + "/owner?after=yesterday,12")
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus()
+                    .isBadRequest().expectBody(ErrorMessage.class).value(
+                            error -> assertThat(error.getError()).as(
+                                            "Error message for a malformed cursor should name the expected form")
+                                    .isEqualTo("Query parameter 'after' must be in the form <startDate>,<id>"));
+
+            assertEquals(0, mockWebServer.getRequestCount(), "Malformed cursor should not reach the backend");
+        }
+
+        @Test
+        @DisplayName("GET /bookings - Bad Request (Cursor Without Id)")
+        void getBookingsByBooker_whenCursorHasNoId_shouldReturnBadRequest() {
+            webTestClient.get().uri(bookingsPath + "?after=2030-01-01T10:00:00")
+                    .header(HEADER_USER_ID, validUserIdHeader).exchange().expectStatus().isBadRequest();
+
+            assertEquals(0, mockWebServer.getRequestCount(), "Malformed cursor should not reach the backend");
+        }
     }
 
     @Nested
@@ -1099,4 +1258,300 @@ class GatewayIntegrationTest {
                                     .isEqualTo("Required header 'X-Sharer-User-Id' is missing"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Response Cache (GET /items/{id}, /users/{id}, /requests/{requestId})")
+    class ResponseCacheTests {
+
+        private final String itemPath = "/items/1";
+        private final String userId = "1";
+
+        @Test
+        @DisplayName("Repeated GET with the same user is served from the cache")
+        void getItemById_whenRepeated_shouldHitCache() throws Exception {
+            String body = "{ \"id\": 1, \"name\": \"Cached Item\" }";
+            enqueueMockResponse(HttpStatus.OK.value(), body);
+
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS")
+                    .expectBody(String.class).isEqualTo(body);
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "HIT")
+                    .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                    .expectBody(String.class).isEqualTo(body);
+
+            takeRequestOrFail();
+            assertEquals(1, mockWebServer.getRequestCount(),
+                    "Only the first GET should reach the backend");
+        }
+
+        @Test
+        @DisplayName("GET with a different user header is not served another user's response")
+        void getItemById_whenDifferentUser_shouldMissCache() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"lastBooking\": {} }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1 }");
+
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk();
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, "2").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS")
+                    .expectBody(String.class).isEqualTo("{ \"id\": 1 }");
+
+            assertEquals(2, mockWebServer.getRequestCount(), "Each user should reach the backend once");
+        }
+
+        @Test
+        @DisplayName("PATCH /items/{id} evicts the cached GET")
+        void updateItem_shouldEvictCachedItem() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"name\": \"Old\" }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"name\": \"New\" }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"name\": \"New\" }");
+
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk();
+            webTestClient.patch().uri(itemPath).header(HEADER_USER_ID, userId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromValue(new UpdateItemDto("New", null, null)))
+                    .exchange().expectStatus().isOk();
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS")
+                    .expectBody(String.class).isEqualTo("{ \"id\": 1, \"name\": \"New\" }");
+
+            assertEquals(3, mockWebServer.getRequestCount(), "GET after PATCH should reach the backend");
+        }
+
+        @Test
+        @DisplayName("POST /bookings evicts cached GETs under /items and keeps other resources cached")
+        void createBooking_shouldEvictItemsSubtreeOnly() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"nextBooking\": null }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1 }");
+            enqueueMockResponse(HttpStatus.CREATED.value(), "{ \"id\": 50 }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"nextBooking\": { \"id\": 50 } }");
+
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange().expectStatus().isOk();
+            webTestClient.get().uri("/users/1").exchange().expectStatus().isOk();
+            webTestClient.post().uri("/bookings").header(HEADER_USER_ID, "2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromValue(new NewBookingDto(1L, LocalDateTime.now().plusDays(1),
+                            LocalDateTime.now().plusDays(2))))
+                    .exchange().expectStatus().isCreated();
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS")
+                    .expectBody(String.class).isEqualTo("{ \"id\": 1, \"nextBooking\": { \"id\": 50 } }");
+            webTestClient.get().uri("/users/1").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "HIT");
+
+            assertEquals(4, mockWebServer.getRequestCount(),
+                    "Only the GET under /items should reach the backend again");
+        }
+
+        @Test
+        @DisplayName("DELETE /users/{id} evicts the cached GET")
+        void deleteUser_shouldEvictCachedUser() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1 }");
+            enqueueMockResponse(HttpStatus.OK.value());
+            enqueueMockResponse(HttpStatus.NOT_FOUND.value(), toJson(new ErrorMessage("User not found",
+                    HttpStatus.NOT_FOUND.value())));
+
+            webTestClient.get().uri("/users/1").exchange().expectStatus().isOk();
+            webTestClient.delete().uri("/users/1").exchange().expectStatus().isOk();
+            webTestClient.get().uri("/users/1").exchange().expectStatus().isNotFound();
+
+            assertEquals(3, mockWebServer.getRequestCount(), "GET after DELETE should reach the backend");
+        }
+
+        @Test
+        @DisplayName("DELETE /users/{id} evicts cached GETs under /items and /requests")
+        void deleteUser_shouldEvictCachedItemsAndRequests() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1 }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 5 }");
+            enqueueMockResponse(HttpStatus.OK.value());
+            enqueueMockResponse(HttpStatus.NOT_FOUND.value(), toJson(new ErrorMessage("Item not found",
+                    HttpStatus.NOT_FOUND.value())));
+            enqueueMockResponse(HttpStatus.NOT_FOUND.value(), toJson(new ErrorMessage("Request not found",
+                    HttpStatus.NOT_FOUND.value())));
+
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, "2").exchange().expectStatus().isOk();
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, "2").exchange().expectStatus().isOk();
+            webTestClient.delete().uri("/users/1").exchange().expectStatus().isOk();
+            webTestClient.get().uri(itemPath).header(HEADER_USER_ID, "2").exchange()
+                    .expectStatus().isNotFound();
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, "2").exchange()
+                    .expectStatus().isNotFound();
+
+            assertEquals(5, mockWebServer.getRequestCount(),
+                    "GETs of the deleted user's items and requests should reach the backend");
+        }
+
+        @Test
+        @DisplayName("DELETE /items/{id} evicts cached GETs under /requests")
+        void deleteItem_shouldEvictCachedRequests() throws Exception {
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 5, \"items\": [{ \"id\": 1 }] }");
+            enqueueMockResponse(HttpStatus.OK.value());
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 5, \"items\": [] }");
+
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, "2").exchange().expectStatus().isOk();
+            webTestClient.delete().uri(itemPath).header(HEADER_USER_ID, userId).exchange().expectStatus().isOk();
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, "2").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "MISS")
+                    .expectBody(String.class).isEqualTo("{ \"id\": 5, \"items\": [] }");
+
+            assertEquals(3, mockWebServer.getRequestCount(), "GET after DELETE should reach the backend");
+        }
+
+        @Test
+        @DisplayName("Error responses are not cached")
+        void getRequestById_whenBackendReturnsError_shouldNotCache() throws Exception {
+            String error = toJson(new ErrorMessage("Request not found", HttpStatus.NOT_FOUND.value()));
+            enqueueMockResponse(HttpStatus.NOT_FOUND.value(), error);
+            enqueueMockResponse(HttpStatus.NOT_FOUND.value(), error);
+
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isNotFound();
+            webTestClient.get().uri("/requests/5").header(HEADER_USER_ID, userId).exchange()
+                    .expectStatus().isNotFound();
+
+            assertEquals(2, mockWebServer.getRequestCount(), "Both failing GETs should reach the backend");
+        }
+    }
+
+    @Nested
+    @DisplayName("Request Coalescing (GET /items/search, /items/{id})")
+    class RequestCoalescingTests {
+
+        private final String searchUri = "/items/search?text=drill";
+
+        private double coalescedCount() {
+            return meterRegistry.counter(RequestCoalescingFilter.REQUESTS_METRIC, "outcome", "coalesced").count();
+        }
+
+        @Test
+        @DisplayName("Concurrent identical searches share one upstream call")
+        void search_whenConcurrentIdenticalRequests_shouldReachBackendOnce() throws Exception {
+            String body = "[{ \"id\": 1, \"name\": \"Drill\" }]";
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK.value())
+                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).setBody(body)
+                    .setHeadersDelay(500, TimeUnit.MILLISECONDS));
+            double coalescedBefore = coalescedCount();
+            int clients = 5;
+
+            List<CompletableFuture<String>> responses = IntStream.range(0, clients)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> webTestClient.get().uri(searchUri)
+                            .header(HEADER_USER_ID, "1").exchange().expectStatus().isOk()
+                            .expectBody(String.class).returnResult().getResponseBody()))
+                    .toList();
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            for (CompletableFuture<String> response : responses) {
+                assertEquals(body, response.get(), "Every waiter should receive the leader's response body");
+            }
+            assertEquals(1, mockWebServer.getRequestCount(), "Only the leader should reach the backend");
+            assertEquals(clients - 1, coalescedCount() - coalescedBefore,
+                    "All but the leader should be counted as coalesced");
+        }
+
+        @Test
+        @DisplayName("GET after a completed write does not join a flight that started before it")
+        void getItemById_whenWriteCompletedDuringFlight_shouldNotJoinOrCacheOldBody() throws Exception {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK.value())
+                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .setBody("{ \"id\": 1, \"name\": \"Old\" }")
+                    .setHeadersDelay(1000, TimeUnit.MILLISECONDS));
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"name\": \"New\" }");
+            enqueueMockResponse(HttpStatus.OK.value(), "{ \"id\": 1, \"name\": \"New\" }");
+
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> webTestClient.get()
+                    .uri("/items/1").header(HEADER_USER_ID, "1").exchange().expectStatus().isOk()
+                    .expectBody(String.class).returnResult().getResponseBody());
+            takeRequestOrFail();
+            webTestClient.patch().uri("/items/1").header(HEADER_USER_ID, "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromValue(new UpdateItemDto("New", null, null)))
+                    .exchange().expectStatus().isOk();
+
+            webTestClient.get().uri("/items/1").header(HEADER_USER_ID, "1").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("{ \"id\": 1, \"name\": \"New\" }");
+            assertEquals("{ \"id\": 1, \"name\": \"Old\" }", leader.get(5, TimeUnit.SECONDS),
+                    "The leader should still receive its own response");
+            webTestClient.get().uri("/items/1").header(HEADER_USER_ID, "1").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(ResponseCacheFilter.CACHE_STATUS_HEADER, "HIT")
+                    .expectBody(String.class).isEqualTo("{ \"id\": 1, \"name\": \"New\" }");
+
+            assertEquals(3, mockWebServer.getRequestCount(),
+                    "The GET after the write should go upstream itself, and only the new body be cached");
+        }
+
+        @Test
+        @DisplayName("Concurrent searches by different users are not coalesced")
+        void search_whenDifferentUsers_shouldReachBackendPerUser() throws Exception {
+            for (int i = 0; i < 2; i++) {
+                mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK.value())
+                        .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).setBody("[]")
+                        .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+            }
+
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> webTestClient.get().uri(searchUri)
+                    .header(HEADER_USER_ID, "1").exchange().expectStatus().isOk());
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> webTestClient.get().uri(searchUri)
+                    .header(HEADER_USER_ID, "2").exchange().expectStatus().isOk());
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, mockWebServer.getRequestCount(), "Each user should get its own upstream call");
+        }
+    }
+
+    @Nested
+    @DisplayName("Body Validation (parse once, forward original bytes)")
+    class BodyValidationTests {
+
+        @Test
+        @DisplayName("POST /users - forwards the client's bytes unchanged")
+        void createUser_whenValid_shouldForwardOriginalBytes() throws Exception {
+            String rawBody = "{\n  \"email\" : \"spaced@example.com\",\n  \"name\" : \"Spaced\"\n}";
+            enqueueMockResponse(HttpStatus.CREATED.value(), "{ \"id\": 1 }");
+
+            webTestClient.post().uri("/users").contentType(MediaType.APPLICATION_JSON).bodyValue(rawBody)
+                    .exchange().expectStatus().isCreated();
+
+            RecordedRequest recordedRequest = takeRequestOrFail();
+            assertEquals(rawBody, recordedRequest.getBody().readUtf8(),
+                    "Backend should receive the exact bytes the client sent");
+        }
+
+        @Test
+        @DisplayName("POST /items - Bad Request (Malformed JSON)")
+        void createItem_whenMalformedJson_shouldReturnBadRequest() {
+            webTestClient.post().uri("/items").header(HEADER_USER_ID, "1")
+                    .contentType(MediaType.APPLICATION_JSON).bodyValue("{ \"name\": ")
+                    .exchange().expectStatus().isBadRequest()
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getError())
+                            .as("Malformed body should be reported as invalid")
+                            .isEqualTo("Request body is missing or invalid"));
+
+            assertEquals(0, mockWebServer.getRequestCount(), "Malformed body should not reach the backend");
+        }
+
+        @Test
+        @DisplayName("POST /users - Payload Too Large (body over the configured limit)")
+        void createUser_whenBodyOverLimit_shouldReturnPayloadTooLarge() {
+            NewUserDto newUser = new NewUserDto("x".repeat(20 * 1024), "big@example.com");
+
+            webTestClient.post().uri("/users").contentType(MediaType.APPLICATION_JSON).bodyValue(toJson(newUser))
+                    .exchange().expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .expectBody(ErrorMessage.class).value(error -> assertThat(error.getResponseCode())
+                            .as("Oversized body should be reported as 413")
+                            .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value()));
+
+            assertEquals(0, mockWebServer.getRequestCount(), "Oversized body should not reach the backend");
+        }
+    }
+}
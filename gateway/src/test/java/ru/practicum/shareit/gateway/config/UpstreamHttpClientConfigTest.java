@@ -0,0 +1,33 @@
+package ru.practicum.shareit.gateway.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+@DisplayName("UpstreamHttpClientConfig Tests")
+class UpstreamHttpClientConfigTest {
+
+    private final UpstreamHttpClientConfig config = new UpstreamHttpClientConfig();
+
+    @Test
+    @DisplayName("should keep HTTP/1.1 with TCP keep-alive by default")
+    void customizer_whenH2cDisabled_shouldUseHttp11() {
+        HttpClient client = config.upstreamHttpClientCustomizer(false, true).customize(HttpClient.create());
+
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+        assertThat(client.configuration().options().get(ChannelOption.SO_KEEPALIVE)).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("should switch to h2c with prior knowledge when enabled")
+    void customizer_whenH2cEnabled_shouldUseH2c() {
+        HttpClient client = config.upstreamHttpClientCustomizer(true, false).customize(HttpClient.create());
+
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.H2C);
+        assertThat(client.configuration().options().get(ChannelOption.SO_KEEPALIVE)).isEqualTo(false);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.gateway.config;
+
+import java.time.Duration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load comparison of the gateway-to-server leg over HTTP/1.1 and h2c. Starts an in-process server speaking both
+ * protocols that answers {@code GET /items/{id}} with a small JSON body after a fixed delay, and drives it with a
+ * client customized exactly like the gateway's upstream client. Run {@link #main} from the test classpath with
+ * optional arguments {@code [requests] [concurrency] [maxConnections] [serverDelayMillis]}.
+ */
+public final class UpstreamProtocolLoadComparison {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}";
+
+    private UpstreamProtocolLoadComparison() {
+    }
+
+    public static void main(String[] args) {
+        int requests = intArg(args, 0, 20_000);
+        int concurrency = intArg(args, 1, 256);
+        int maxConnections = intArg(args, 2, 50);
+        Duration serverDelay = Duration.ofMillis(intArg(args, 3, 5));
+
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/items/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(BODY).delayElement(serverDelay))))
+                .bindNow();
+        try {
+            System.out.printf("requests=%d concurrency=%d maxConnections=%d serverDelay=%s%n", requests,
+                    concurrency, maxConnections, serverDelay);
+            for (boolean h2c : new boolean[]{false, true}) {
+                run(server.port(), h2c, requests / 10, concurrency, maxConnections);
+                double throughput = run(server.port(), h2c, requests, concurrency, maxConnections);
+                System.out.printf("%-8s %10.0f req/s%n", h2c ? "h2c" : "HTTP/1.1", throughput);
+            }
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private static double run(int port, boolean h2c, int requests, int concurrency, int maxConnections) {
+        ConnectionProvider provider = ConnectionProvider.builder(h2c ? "load-h2c" : "load-http11")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = new UpstreamHttpClientConfig().upstreamHttpClientCustomizer(h2c, true)
+                .customize(HttpClient.create(provider).baseUrl("http://localhost:" + port));
+        try {
+            long start = System.nanoTime();
+            Flux.range(0, requests)
+                    .flatMap(i -> client.get().uri("/items/" + (i % 100)).responseContent().aggregate().asString(),
+                            concurrency)
+                    .blockLast();
+            return requests / ((System.nanoTime() - start) / 1_000_000_000d);
+        } finally {
+            provider.disposeLater().block();
+        }
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final long SECOND = 1_000_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMinutes(1), 1000,
+                new RateLimitProperties.Limit(100, 50),
+                Map.of("search_items", new RateLimitProperties.Limit(2, 0.5)));
+        filter = new RateLimitFilter(properties, objectMapper, clock::get);
+    }
+
+    private MockServerWebExchange exchange(String routeId, String userId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/items/search?text=drill");
+        if (userId != null) {
+            request.header(HEADER_USER_ID, userId);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("http://localhost").predicate(e -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("should answer 429 with Retry-After once the route bucket is empty")
+    void filter_whenBucketEmpty_shouldRejectWithRetryAfter() {
+        filter.filter(exchange("search_items", "1"), chain).block();
+        filter.filter(exchange("search_items", "1"), chain).block();
+        MockServerWebExchange rejected = exchange("search_items", "1");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get(), "Only the bucket capacity should be forwarded");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode(),
+                "Third request should be rate limited");
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                "One token at 0.5/s should be available in 2 seconds");
+        assertThat(rejected.getResponse().getBodyAsString().block())
+                .as("Body should use the gateway error format")
+                .contains("\"error\":\"Too many requests, retry after 2 seconds\"")
+                .contains("\"responseCode\":429");
+    }
+
+    @Test
+    @DisplayName("should refill tokens over time")
+    void filter_whenTimePasses_shouldRefillBucket() {
+        filter.filter(exchange("search_items", "1"), chain).block();
+        filter.filter(exchange("search_items", "1"), chain).block();
+        clock.addAndGet(2 * SECOND);
+
+        MockServerWebExchange refilled = exchange("search_items", "1");
+        filter.filter(refilled, chain).block();
+
+        assertEquals(3, forwarded.get(), "A refilled token should let the request through");
+        assertThat(refilled.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("should keep separate buckets per user and per route")
+    void filter_shouldIsolateUsersAndRoutes() {
+        filter.filter(exchange("search_items", "1"), chain).block();
+        filter.filter(exchange("search_items", "1"), chain).block();
+
+        filter.filter(exchange("search_items", "2"), chain).block();
+        filter.filter(exchange("get_item_by_id", "1"), chain).block();
+
+        assertEquals(4, forwarded.get(), "Another user and another route should have their own buckets");
+    }
+
+    @Test
+    @DisplayName("should not limit requests without a user header")
+    void filter_whenNoUserHeader_shouldForward() {
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange("search_items", null), chain).block();
+        }
+
+        assertEquals(5, forwarded.get(), "Requests without a user header are left to header validation");
+    }
+
+    @Test
+    @DisplayName("should share one bucket between spellings of the same numeric id")
+    void filter_whenSameIdSpelledDifferently_shouldShareBucket() {
+        filter.filter(exchange("search_items", "1"), chain).block();
+        filter.filter(exchange("search_items", "+01"), chain).block();
+        MockServerWebExchange rejected = exchange("search_items", "001");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get(), "Leading zeros should not mint a fresh bucket");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("should limit non-numeric user headers by client address")
+    void filter_whenUserHeaderNotNumeric_shouldShareAddressBucket() {
+        filter.filter(exchange("search_items", "abc"), chain).block();
+        filter.filter(exchange("search_items", "def"), chain).block();
+        MockServerWebExchange rejected = exchange("search_items", "ghi");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get(), "Arbitrary header values from one address should share a bucket");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.gateway.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@DisplayName("UpstreamResilienceFilter Tests")
+class UpstreamResilienceFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private UpstreamResilienceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        filter = new UpstreamResilienceFilter(circuitBreakerRegistry, bulkheadRegistry);
+    }
+
+    private MockServerWebExchange exchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/items/search"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("http://localhost").predicate(e -> true).build());
+        return exchange;
+    }
+
+    private GatewayFilterChain respondingWith(HttpStatus status) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+
+    private void assertServiceUnavailable(Mono<Void> result) {
+        StepVerifier.create(result)
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(ResponseStatusException.class)
+                        .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should pass upstream 5xx through while recording them, then open and fail fast")
+    void filter_whenUpstreamKeepsFailing_shouldOpenCircuit() {
+        GatewayFilterChain failing = respondingWith(HttpStatus.INTERNAL_SERVER_ERROR);
+        for (int i = 0; i < 4; i++) {
+            MockServerWebExchange exchange = exchange("search_items");
+            StepVerifier.create(filter.filter(exchange, failing)).verifyComplete();
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode(),
+                    "Upstream status should reach the client unchanged");
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("search_items").getState(),
+                "Four failures out of four calls should open the circuit");
+        assertServiceUnavailable(filter.filter(exchange("search_items"), failing));
+        assertEquals(4, upstreamCalls.get(), "An open circuit should not call upstream");
+    }
+
+    @Test
+    @DisplayName("should let a half-open probe through and close the circuit on success")
+    void filter_whenHalfOpenProbeSucceeds_shouldCloseCircuit() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("search_items");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+
+        StepVerifier.create(filter.filter(exchange("search_items"), respondingWith(HttpStatus.OK)))
+                .verifyComplete();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(),
+                "A successful probe should close the circuit");
+    }
+
+    @Test
+    @DisplayName("should keep circuits separate per route")
+    void filter_whenOneRouteIsOpen_shouldStillServeOtherRoutes() {
+        circuitBreakerRegistry.circuitBreaker("search_items").transitionToForcedOpenState();
+
+        assertServiceUnavailable(filter.filter(exchange("search_items"), respondingWith(HttpStatus.OK)));
+        StepVerifier.create(filter.filter(exchange("create_booking"), respondingWith(HttpStatus.CREATED)))
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get(), "Only the healthy route should reach upstream");
+    }
+
+    @Test
+    @DisplayName("should fail fast when the route's bulkhead is full")
+    void filter_whenBulkheadFull_shouldFailFast() {
+        Sinks.Empty<Void> slowUpstream = Sinks.empty();
+        GatewayFilterChain hanging = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return slowUpstream.asMono();
+        };
+
+        StepVerifier.create(filter.filter(exchange("search_items"), hanging))
+                .then(() -> assertServiceUnavailable(filter.filter(exchange("search_items"), hanging)))
+                .then(slowUpstream::tryEmitEmpty)
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get(), "The rejected request should not reach upstream");
+    }
+
+    @Test
+    @DisplayName("should hold the bulkhead permit until the response has been written")
+    void filter_whenResponseStillStreaming_shouldHoldBulkheadPermit() {
+        ResponseCompletionFilter completionFilter = new ResponseCompletionFilter();
+        Sinks.Empty<Void> bodyWritten = Sinks.empty();
+        MockServerWebExchange streaming = exchange("export_bookings_by_owner");
+        // The upstream answers at once; the body keeps streaming until bodyWritten completes
+        GatewayFilterChain writingBody = exchange -> filter.filter(exchange, respondingWith(HttpStatus.OK))
+                .then(bodyWritten.asMono());
+
+        StepVerifier.create(completionFilter.filter(streaming, writingBody))
+                .then(() -> assertServiceUnavailable(
+                        filter.filter(exchange("export_bookings_by_owner"), respondingWith(HttpStatus.OK))))
+                .then(bodyWritten::tryEmitEmpty)
+                .verifyComplete();
+
+        StepVerifier.create(filter.filter(exchange("export_bookings_by_owner"), respondingWith(HttpStatus.OK)))
+                .verifyComplete();
+        assertEquals(2, upstreamCalls.get(), "Only requests admitted by the bulkhead should reach upstream");
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.gateway.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.common.dto.item.NewItemDto;
+
+/**
+ * Compares the per-request body work of the old {@code modifyRequestBody} validation (decode, validate, re-encode)
+ * with {@link BodyValidationFilter} (decode, validate, forward the original bytes). Run {@link #main} from the test
+ * classpath; {@code -prof gc} additionally shows the allocation saved per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyValidationBenchmark {
+
+    @Param({"64", "2048"})
+    private int descriptionLength;
+
+    private ObjectMapper objectMapper;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        NewItemDto dto = new NewItemDto();
+        dto.setName("Drill");
+        dto.setDescription("d".repeat(descriptionLength));
+        dto.setAvailable(true);
+        body = objectMapper.writeValueAsString(dto).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] decodeValidateReencode() throws Exception {
+        NewItemDto dto = objectMapper.readValue(body, NewItemDto.class);
+        validator.validate(dto);
+        return objectMapper.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] decodeValidateForwardOriginal() throws Exception {
+        NewItemDto dto = objectMapper.readValue(body, NewItemDto.class);
+        validator.validate(dto);
+        return body;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BodyValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.gateway.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares {@code X-Sharer-User-Id} validation throughput for good and bad headers: the former
+ * {@code Long.parseLong} with a thrown {@link ResponseStatusException} against {@link HeaderValidationFilter}, which
+ * scans the digits and writes the 400 itself. Run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderValidationBenchmark {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"42", "not-a-number"})
+    private String userId;
+
+    private GatewayFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new HeaderValidationFilter(new ObjectMapper()).validateUserIdHeader();
+    }
+
+    @Benchmark
+    public Object parseAndThrow() {
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid format for header '" + USER_ID_HEADER + "'");
+        }
+    }
+
+    @Benchmark
+    public boolean scanDigits() {
+        return LongSyntax.isLong(userId);
+    }
+
+    @Benchmark
+    public HttpStatus filterAndWriteResponse() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/items").header(USER_ID_HEADER, userId));
+        filter.filter(exchange, CHAIN).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HeaderValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
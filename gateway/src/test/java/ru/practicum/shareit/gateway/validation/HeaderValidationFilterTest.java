@@ -0,0 +1,71 @@
+package ru.practicum.shareit.gateway.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@DisplayName("HeaderValidationFilter Tests")
+class HeaderValidationFilterTest {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+    private final GatewayFilter filter = new HeaderValidationFilter(new ObjectMapper()).validateUserIdHeader();
+
+    @Test
+    @DisplayName("should forward requests with a numeric header")
+    void validateUserIdHeader_whenNumeric_shouldForward() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/items").header(HEADER_USER_ID, "42"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(1, forwarded.get(), "Valid request should be forwarded");
+        assertNull(exchange.getResponse().getStatusCode(), "Filter should not set a status for valid requests");
+    }
+
+    @Test
+    @DisplayName("should write 400 without forwarding when the header is not a number")
+    void validateUserIdHeader_whenNotNumeric_shouldWriteBadRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/items").header(HEADER_USER_ID, "1e3"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(0, forwarded.get(), "Invalid request should not be forwarded");
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .as("Body should use the gateway error format")
+                .contains("\"error\":\"Invalid format for header 'X-Sharer-User-Id'\"")
+                .contains("\"responseCode\":400");
+    }
+
+    @Test
+    @DisplayName("should write 400 without forwarding when the header is missing")
+    void validateUserIdHeader_whenMissing_shouldWriteBadRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/items"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(0, forwarded.get(), "Invalid request should not be forwarded");
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .contains("\"error\":\"Required header 'X-Sharer-User-Id' is missing\"");
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.gateway.validation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("LongSyntax Tests")
+class LongSyntaxTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1", "-1", "+42", "007", "9223372036854775807", "-9223372036854775808",
+            "00000000000000000000009223372036854775807"})
+    @DisplayName("should accept everything Long.parseLong accepts")
+    void isLong_whenParsable_shouldReturnTrue(String value) {
+        assertTrue(LongSyntax.isLong(value), value + " should be accepted");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", "abc", "1a", " 1", "1 ", "1.0", "--1", "9223372036854775808",
+            "-9223372036854775809", "99999999999999999999"})
+    @DisplayName("should reject non-numeric and out-of-range values")
+    void isLong_whenNotParsable_shouldReturnFalse(String value) {
+        assertFalse(LongSyntax.isLong(value), "'" + value + "' should be rejected");
+    }
+}
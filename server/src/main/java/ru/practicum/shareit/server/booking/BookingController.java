@@ -4,6 +4,8 @@ import java.net.URI;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -26,6 +28,7 @@ import ru.practicum.shareit.common.enums.BookingState;
 public class BookingController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @PostMapping
@@ -37,6 +40,13 @@ public class BookingController {
                 .body(savedBooking);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingDto>> saveBookings(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                         @RequestBody List<NewBookingDto> bookings) {
+        log.info("Processing request to create {} new bookings...", bookings.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.saveBookings(bookings, userId));
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingDto> approveBooking(@RequestHeader(USER_ID_HEADER) Long userId,
                                                      @PathVariable Long bookingId, @RequestParam Boolean approved) {
@@ -55,9 +65,16 @@ public class BookingController {
             @RequestHeader(USER_ID_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") BookingState state,
             @RequestParam(name = "from", required = false) Integer from,
-            @RequestParam(name = "size", required = false) Integer size) {
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         log.info("Processing request to fetch {} bookings by booker with id: {}", state.name().toLowerCase(), userId);
-        return ResponseEntity.ok(bookingService.getBookingsByBooker(userId, state, from, size));
+        if (after != null) {
+            Slice<BookingDto> bookings = bookingService.getBookingsByBookerAfter(userId, state,
+                    BookingCursor.parse(after), size);
+            return withNextCursor(bookings.getContent(), bookings.hasNext());
+        }
+        List<BookingDto> bookings = bookingService.getBookingsByBooker(userId, state, from, size);
+        return withNextCursor(bookings, isFullOffsetPage(bookings, from, size));
     }
 
     @GetMapping("/owner")
@@ -65,8 +82,30 @@ public class BookingController {
             @RequestHeader(USER_ID_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") BookingState state,
             @RequestParam(name = "from", required = false) Integer from,
-            @RequestParam(name = "size", required = false) Integer size) {
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         log.info("Processing request to fetch {} bookings by item owner with id: {}", state.name().toLowerCase(), userId);
-        return ResponseEntity.ok(bookingService.getBookingsByOwner(userId, state, from, size));
+        if (after != null) {
+            Slice<BookingDto> bookings = bookingService.getBookingsByOwnerAfter(userId, state,
+                    BookingCursor.parse(after), size);
+            return withNextCursor(bookings.getContent(), bookings.hasNext());
+        }
+        List<BookingDto> bookings = bookingService.getBookingsByOwner(userId, state, from, size);
+        return withNextCursor(bookings, isFullOffsetPage(bookings, from, size));
+    }
+
+    // A full offset page may have a successor; the cursor lets the client continue without offsets
+    private boolean isFullOffsetPage(List<BookingDto> bookings, Integer from, Integer size) {
+        return from != null && from >= 0 && size != null && size > 0 && bookings.size() == size;
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, boolean hasNext) {
+        if (!hasNext || bookings.isEmpty()) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDto last = bookings.getLast();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new BookingCursor(last.getStart(), last.getId()).toToken())
+                .body(bookings);
     }
 }
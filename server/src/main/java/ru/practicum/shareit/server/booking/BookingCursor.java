@@ -0,0 +1,31 @@
+package ru.practicum.shareit.server.booking;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import ru.practicum.shareit.server.exception.BookingBadRequestException;
+
+/**
+ * Seek position in a booking list ordered by start date and id, both descending. Travels as
+ * {@code <startDate>,<id>} in the {@code after} query parameter and the next-cursor header.
+ */
+public record BookingCursor(LocalDateTime startDate, Long id) {
+
+    private static final String SEPARATOR = ",";
+
+    public static BookingCursor parse(String token) {
+        int separator = token.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new BookingBadRequestException("Booking cursor must be in the form <startDate>,<id>");
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(token.substring(0, separator).trim()),
+                    Long.parseLong(token.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BookingBadRequestException("Booking cursor must be in the form <startDate>,<id>");
+        }
+    }
+
+    public String toToken() {
+        return startDate + SEPARATOR + id;
+    }
+}
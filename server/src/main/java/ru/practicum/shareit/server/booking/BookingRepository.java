@@ -1,52 +1,140 @@
 package ru.practicum.shareit.server.booking;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.common.dto.booking.BookingShortDto;
+import ru.practicum.shareit.common.enums.BookingStatus;
 
 @Repository
 @SuppressWarnings("unused")
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Name of the exclusion constraint in schema.sql that forbids overlapping active bookings of an item
+    String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    // Items of the owner resolved through idx_items_owner_id first, so bookings are then read by item_id
+    String OWNER_ITEMS = "b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) ";
+
+    // Listings return a Slice: one extra row tells whether a next page exists, so no count query is issued
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId")
+    Slice<Booking> findByBookerId(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.startDate <= :now AND b.endDate >= :now")
+    Slice<Booking> findCurrentByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.endDate < :now")
+    Slice<Booking> findPastByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.startDate > :now")
+    Slice<Booking> findFutureByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.status = :status")
+    Slice<Booking> findByBookerIdAndStatus(@Param("bookerId") Long bookerId, @Param("status") BookingStatus status,
+                                           Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS)
+    Slice<Booking> findByItemOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE " + OWNER_ITEMS + "AND b.startDate <= :now AND b.endDate >= :now")
+    Slice<Booking> findCurrentByItemOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.endDate < :now")
+    Slice<Booking> findPastByItemOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.startDate > :now")
+    Slice<Booking> findFutureByItemOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.status = :status")
+    Slice<Booking> findByItemOwnerIdAndStatus(@Param("ownerId") Long ownerId, @Param("status") BookingStatus status,
+                                              Pageable pageable);
+
+    // Seek past the cursor row in (startDate DESC, id DESC) order instead of skipping an offset; the leading
+    // startDate bound is implied by the OR but gives the planner a range it can seek the start_date index with
+    String KEYSET_AFTER = "AND b.startDate <= :afterStart " +
+            "AND (b.startDate < :afterStart OR (b.startDate = :afterStart AND b.id < :afterId)) ";
+    String KEYSET_ORDER = "ORDER BY b.startDate DESC, b.id DESC";
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId " + KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAfter(@Param("bookerId") Long bookerId,
+                                       @Param("afterStart") LocalDateTime afterStart,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = :bookerId " +
-            "AND (" +
-            "   (:stateName = 'ALL') OR " +
-            "   (:stateName = 'CURRENT' AND :now BETWEEN b.startDate AND b.endDate) OR " +
-            "   (:stateName = 'PAST' AND b.endDate < :now) OR " +
-            "   (:stateName = 'FUTURE' AND b.startDate > :now) OR " +
-            "   (:stateName = 'WAITING' AND b.status = ru.practicum.shareit.common.enums.BookingStatus.WAITING) OR " +
-            "   (:stateName = 'REJECTED' AND b.status = ru.practicum.shareit.common.enums.BookingStatus.REJECTED)" +
-            ") ")
-    Page<Booking> findBookingsByBookerAndState(
-            @Param("bookerId") Long bookerId,
-            @Param("stateName") String stateName,
-            @Param("now") LocalDateTime now,
-            Pageable pageable
-    );
+            "WHERE b.booker.id = :bookerId AND b.startDate <= :now AND b.endDate >= :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findCurrentByBookerIdAfter(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.endDate < :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findPastByBookerIdAfter(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                           @Param("afterStart") LocalDateTime afterStart,
+                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.startDate > :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findFutureByBookerIdAfter(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                             @Param("afterStart") LocalDateTime afterStart,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.booker.id = :bookerId AND b.status = :status " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findByBookerIdAndStatusAfter(@Param("bookerId") Long bookerId,
+                                                @Param("status") BookingStatus status,
+                                                @Param("afterStart") LocalDateTime afterStart,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                          @Param("afterStart") LocalDateTime afterStart,
+                                          @Param("afterId") Long afterId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
-            "AND (" +
-            "   (:stateName = 'ALL') OR " +
-            "   (:stateName = 'CURRENT' AND :now BETWEEN b.startDate AND b.endDate) OR " +
-            "   (:stateName = 'PAST' AND b.endDate < :now) OR " +
-            "   (:stateName = 'FUTURE' AND b.startDate > :now) OR " +
-            "   (:stateName = 'WAITING' AND b.status = ru.practicum.shareit.common.enums.BookingStatus.WAITING) OR " +
-            "   (:stateName = 'REJECTED' AND b.status = ru.practicum.shareit.common.enums.BookingStatus.REJECTED)" +
-            ") ")
-    Page<Booking> findBookingsByItemOwnerAndState(
-            @Param("ownerId") Long ownerId,
-            @Param("stateName") String stateName,
-            @Param("now") LocalDateTime now,
-            Pageable pageable
-    );
+            "WHERE " + OWNER_ITEMS + "AND b.startDate <= :now AND b.endDate >= :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findCurrentByItemOwnerIdAfter(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                 @Param("afterStart") LocalDateTime afterStart,
+                                                 @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.endDate < :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findPastByItemOwnerIdAfter(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.startDate > :now " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findFutureByItemOwnerIdAfter(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                                @Param("afterStart") LocalDateTime afterStart,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE " + OWNER_ITEMS + "AND b.status = :status " +
+            KEYSET_AFTER + KEYSET_ORDER)
+    Slice<Booking> findByItemOwnerIdAndStatusAfter(@Param("ownerId") Long ownerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("afterStart") LocalDateTime afterStart,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
 
     @Query("SELECT new ru.practicum.shareit.common.dto.booking.BookingShortDto(b.id, b.booker.id, b.item.id, b.startDate, b.endDate) " +
             "FROM Booking b " +
@@ -56,11 +144,44 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ORDER BY b.item.id, b.startDate DESC")
     List<BookingShortDto> findPastAndCurrentApprovedBookingsShortForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
 
-    @Query("SELECT new ru.practicum.shareit.common.dto.booking.BookingShortDto(b.id, b.booker.id, b.item.id, b.startDate, b.endDate) " +
+    // Forward-only cursor over an owner's whole history. It must be consumed inside a read-only transaction: only
+    // then does the PostgreSQL driver fetch EXPORT_FETCH_SIZE rows at a time instead of the entire result
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE " + OWNER_ITEMS + KEYSET_ORDER)
+    Stream<Booking> streamByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    // At most one last and one next approved booking per item, each found by a single index seek
+    @Query(value = "SELECT lb.id AS \"id\", lb.booker_id AS \"bookerId\", lb.item_id AS \"itemId\", " +
+            "lb.start_date AS \"startDate\", lb.end_date AS \"endDate\" " +
+            "FROM items i " +
+            "CROSS JOIN LATERAL (" +
+            "   (SELECT * FROM bookings b " +
+            "   WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date <= :now " +
+            "   ORDER BY b.start_date DESC LIMIT 1) " +
+            "   UNION ALL " +
+            "   (SELECT * FROM bookings b " +
+            "   WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > :now " +
+            "   ORDER BY b.start_date ASC LIMIT 1)" +
+            ") lb " +
+            "WHERE i.id IN (:itemIds)", nativeQuery = true)
+    List<BookingShortView> findLastAndNextApprovedBookingsForItems(@Param("itemIds") List<Long> itemIds,
+                                                                   @Param("now") LocalDateTime now);
+
+    // Items whose bookings go with the booker when a user is deleted (ON DELETE CASCADE)
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.booker.id = :bookerId")
+    List<Long> findItemIdsByBookerId(@Param("bookerId") Long bookerId);
+
+    // Waiting and approved bookings still running at :now, i.e. the ones that can block a new period
+    @Query("SELECT b.id AS id, b.booker.id AS bookerId, b.item.id AS itemId, " +
+            "b.startDate AS startDate, b.endDate AS endDate " +
             "FROM Booking b " +
-            "WHERE b.item.id IN :itemIds " +
-            "AND b.status = ru.practicum.shareit.common.enums.BookingStatus.APPROVED " +
-            "AND b.startDate > :now " +
-            "ORDER BY b.startDate ASC")
-    List<BookingShortDto> findNextApprovedBookingsShortForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN (ru.practicum.shareit.common.enums.BookingStatus.WAITING, " +
+            "ru.practicum.shareit.common.enums.BookingStatus.APPROVED) " +
+            "AND b.endDate > :now " +
+            "ORDER BY b.startDate")
+    List<BookingShortView> findActiveBookingsForItemEndingAfter(@Param("itemId") Long itemId,
+                                                                @Param("now") LocalDateTime now);
 }
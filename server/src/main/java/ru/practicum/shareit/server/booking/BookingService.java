@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.booking;
 
 import java.util.List;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.common.enums.BookingState;
 import ru.practicum.shareit.common.dto.booking.BookingDto;
 import ru.practicum.shareit.common.dto.booking.NewBookingDto;
@@ -11,6 +12,8 @@ public interface BookingService {
 
     BookingDto saveBooking(NewBookingDto booking, Long userId);
 
+    List<BookingDto> saveBookings(List<NewBookingDto> bookings, Long userId);
+
     BookingDto getById(Long id, Long userId);
 
     BookingDto approveBooking(Long bookingId, Long userId, Boolean approved);
@@ -20,4 +23,8 @@ public interface BookingService {
     List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state, Integer from, Integer size);
 
     List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size);
+
+    Slice<BookingDto> getBookingsByBookerAfter(Long bookerId, BookingState state, BookingCursor after, Integer size);
+
+    Slice<BookingDto> getBookingsByOwnerAfter(Long ownerId, BookingState state, BookingCursor after, Integer size);
 }
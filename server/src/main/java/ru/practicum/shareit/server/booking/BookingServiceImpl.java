@@ -1,23 +1,37 @@
 package ru.practicum.shareit.server.booking;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.dto.booking.BookingDto;
 import ru.practicum.shareit.common.dto.booking.NewBookingDto;
 import ru.practicum.shareit.common.enums.BookingState;
 import ru.practicum.shareit.common.enums.BookingStatus;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.server.booking.mapper.BookingMapper;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummaryUpdater;
 import ru.practicum.shareit.server.exception.*;
 import ru.practicum.shareit.server.item.Item;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @Service
@@ -26,10 +40,19 @@ import ru.practicum.shareit.server.user.UserRepository;
 @SuppressWarnings("unused")
 public class BookingServiceImpl implements BookingService {
 
+    // PostgreSQL exclusion_violation
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryUpdater itemBookingSummaryUpdater;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Value("${shareit.bookings.max-page-size:100}")
+    private int maxSeekPageSize;
 
     @Override
     public List<BookingDto> getAllBookings() {
@@ -50,36 +73,76 @@ public class BookingServiceImpl implements BookingService {
             return new NotFoundException(
                     "Item with id " + booking.getItemId() + " not found");
         });
-        if (item.getOwner().getId().equals(userId)) {
-            log.warn("User with id {} is the owner of item with id {}", userId, booking.getItemId());
-            throw new BookingBadRequestException(
-                    "User with id " + userId + " is the owner of item with id " + booking.getItemId());
-        }
-        if (!item.getAvailable()) {
-            log.warn("Item with id {} is not available", booking.getItemId());
-            throw new BookingBadRequestException(
-                    "Item with id " + booking.getItemId() + " is not available");
-        }
-        if (booking.getStart().isBefore(LocalDateTime.now())) {
-            log.warn("Booking start time {} is in the past", booking.getStart());
-            throw new BookingBadRequestException("Booking start time cannot be in the past");
-        }
-        if (!booking.getEnd().isAfter(booking.getStart())) {
-            log.warn("Booking end time {} is not after start time {}", booking.getEnd(),
-                    booking.getStart());
-            throw new BookingBadRequestException("Booking end time must be after start time");
-        }
+        validateNewBooking(booking, item, userId);
         Booking newBooking = bookingMapper.mapToBooking(booking);
         newBooking.setBooker(booker);
         newBooking.setItem(item);
-        Booking savedBooking = bookingRepository.save(newBooking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(newBooking);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request won the race past the check above; the exclusion constraint rejected this one
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            log.warn("Concurrent booking of item with id {} for {} - {} rejected", item.getId(),
+                    booking.getStart(), booking.getEnd());
+            throw overlapConflict(item.getId());
+        }
+        itemAvailabilityIndex.invalidate(item.getId());
         log.debug("Saved new booking: {}", savedBooking);
         return bookingMapper.mapToDto(savedBooking);
     }
 
+    @Override
+    public List<BookingDto> saveBookings(List<NewBookingDto> bookings, Long userId) {
+        User booker = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("User with id {} not found", userId);
+            return new NotFoundException("User with id " + userId + " not found");
+        });
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        // One lookup for every booked item instead of one per booking
+        Set<Long> itemIds = bookings.stream().map(NewBookingDto::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Booking> newBookings = new ArrayList<>(bookings.size());
+        for (NewBookingDto booking : bookings) {
+            Item item = items.get(booking.getItemId());
+            if (item == null) {
+                log.warn("Item with id {} not found", booking.getItemId());
+                throw new NotFoundException("Item with id " + booking.getItemId() + " not found");
+            }
+            validateNewBooking(booking, item, userId);
+            Booking newBooking = bookingMapper.mapToBooking(booking);
+            newBooking.setBooker(booker);
+            newBooking.setItem(item);
+            newBookings.add(newBooking);
+        }
+        rejectOverlapsWithinBatch(bookings);
+
+        List<Booking> savedBookings;
+        try {
+            // One transaction for the whole batch; sequence ids let Hibernate send the inserts as JDBC batches
+            savedBookings = bookingRepository.saveAllAndFlush(newBookings);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            log.warn("Concurrent booking rejected one of {} bookings by user with id {}", bookings.size(), userId);
+            throw new BookingConflictException("One of the items is already booked for the requested period");
+        }
+        itemIds.forEach(itemAvailabilityIndex::invalidate);
+        log.debug("Saved {} new bookings for user with id {}", savedBookings.size(), userId);
+        return savedBookings.stream().map(bookingMapper::mapToDto).toList();
+    }
+
     @Override
     public BookingDto getById(Long userId, Long id) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException("User with id " + userId + " not found");
         }
@@ -96,6 +159,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional
     public BookingDto approveBooking(Long bookingId, Long userId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
             log.warn("Booking with id {} not found for {}", bookingId, approved ? "approval" : "rejection");
@@ -108,15 +172,32 @@ public class BookingServiceImpl implements BookingService {
                     "User with id " + userId + " is not the owner of item in booking with id "
                             + bookingId);
         }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            log.warn("Booking with id {} is already {} and cannot be {}", bookingId, booking.getStatus(),
+                    approved ? "approved" : "rejected");
+            throw new BookingBadRequestException(
+                    "Booking with id " + bookingId + " is not waiting for approval");
+        }
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        bookingRepository.save(booking);
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            log.warn("Booking with id {} overlaps another booking of its item", bookingId);
+            throw overlapConflict(booking.getItem().getId());
+        }
+        itemAvailabilityIndex.invalidate(booking.getItem().getId());
+        itemBookingSummaryUpdater.refresh(booking.getItem().getId());
         log.debug("{} booking: {}", approved ? "Approved" : "Rejected", booking);
         return bookingMapper.mapToDto(booking);
     }
 
     @Override
+    @Transactional
     public void delete(Long id, Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException(
                     "User with id " + userId + " not found");
@@ -132,17 +213,21 @@ public class BookingServiceImpl implements BookingService {
         }
         log.debug("Deleting booking with id {} by user with id {}", id, userId);
         bookingRepository.deleteById(id);
+        itemAvailabilityIndex.invalidate(booking.getItem().getId());
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            itemBookingSummaryUpdater.refresh(booking.getItem().getId());
+        }
     }
 
     @Override
     public List<BookingDto> getBookingsByBooker(Long bookerId, BookingState state, Integer from, Integer size) {
-        if (userRepository.findById(bookerId).isEmpty()) {
+        if (!userExistenceCache.exists(bookerId)) {
             log.warn("User with id {} not found", bookerId);
             throw new NotFoundException(
                     "User with id " + bookerId + " not found");
         }
         Pageable pageable = getPageableWithDefaultSort(from, size);
-        return bookingRepository.findBookingsByBookerAndState(bookerId, state.name(), LocalDateTime.now(), pageable)
+        return findBookerBookings(bookerId, state, LocalDateTime.now(), pageable)
                 .stream()
                 .map(bookingMapper::mapToDto)
                 .collect(Collectors.toList());
@@ -150,23 +235,176 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDto> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size) {
-        if (userRepository.findById(ownerId).isEmpty()) {
+        if (!userExistenceCache.exists(ownerId)) {
             log.warn("User with id {} not found", ownerId);
             throw new NotFoundException(
                     "User with id " + ownerId + " not found");
         }
         Pageable pageable = getPageableWithDefaultSort(from, size);
-        return bookingRepository.findBookingsByItemOwnerAndState(ownerId, state.name(), LocalDateTime.now(), pageable)
+        return findOwnerBookings(ownerId, state, LocalDateTime.now(), pageable)
                 .stream()
                 .map(bookingMapper::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Slice<BookingDto> getBookingsByBookerAfter(Long bookerId, BookingState state, BookingCursor after,
+                                                      Integer size) {
+        if (!userExistenceCache.exists(bookerId)) {
+            log.warn("User with id {} not found", bookerId);
+            throw new NotFoundException(
+                    "User with id " + bookerId + " not found");
+        }
+        return findBookerBookingsAfter(bookerId, state, LocalDateTime.now(), after, getSeekPageable(size))
+                .map(bookingMapper::mapToDto);
+    }
+
+    @Override
+    public Slice<BookingDto> getBookingsByOwnerAfter(Long ownerId, BookingState state, BookingCursor after,
+                                                     Integer size) {
+        if (!userExistenceCache.exists(ownerId)) {
+            log.warn("User with id {} not found", ownerId);
+            throw new NotFoundException(
+                    "User with id " + ownerId + " not found");
+        }
+        return findOwnerBookingsAfter(ownerId, state, LocalDateTime.now(), after, getSeekPageable(size))
+                .map(bookingMapper::mapToDto);
+    }
+
+    private Slice<Booking> findBookerBookings(Long bookerId, BookingState state, LocalDateTime now,
+                                              Pageable pageable) {
+        return switch (state) {
+            case ALL -> bookingRepository.findByBookerId(bookerId, pageable);
+            case CURRENT -> bookingRepository.findCurrentByBookerId(bookerId, now, pageable);
+            case PAST -> bookingRepository.findPastByBookerId(bookerId, now, pageable);
+            case FUTURE -> bookingRepository.findFutureByBookerId(bookerId, now, pageable);
+            case WAITING -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
+        };
+    }
+
+    private Slice<Booking> findOwnerBookings(Long ownerId, BookingState state, LocalDateTime now,
+                                             Pageable pageable) {
+        return switch (state) {
+            case ALL -> bookingRepository.findByItemOwnerId(ownerId, pageable);
+            case CURRENT -> bookingRepository.findCurrentByItemOwnerId(ownerId, now, pageable);
+            case PAST -> bookingRepository.findPastByItemOwnerId(ownerId, now, pageable);
+            case FUTURE -> bookingRepository.findFutureByItemOwnerId(ownerId, now, pageable);
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageable);
+            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageable);
+        };
+    }
+
+    private Slice<Booking> findBookerBookingsAfter(Long bookerId, BookingState state, LocalDateTime now,
+                                                   BookingCursor after, Pageable pageable) {
+        LocalDateTime afterStart = after.startDate();
+        Long afterId = after.id();
+        return switch (state) {
+            case ALL -> bookingRepository.findByBookerIdAfter(bookerId, afterStart, afterId, pageable);
+            case CURRENT -> bookingRepository.findCurrentByBookerIdAfter(bookerId, now, afterStart, afterId,
+                    pageable);
+            case PAST -> bookingRepository.findPastByBookerIdAfter(bookerId, now, afterStart, afterId, pageable);
+            case FUTURE -> bookingRepository.findFutureByBookerIdAfter(bookerId, now, afterStart, afterId,
+                    pageable);
+            case WAITING -> bookingRepository.findByBookerIdAndStatusAfter(bookerId, BookingStatus.WAITING,
+                    afterStart, afterId, pageable);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatusAfter(bookerId, BookingStatus.REJECTED,
+                    afterStart, afterId, pageable);
+        };
+    }
+
+    private Slice<Booking> findOwnerBookingsAfter(Long ownerId, BookingState state, LocalDateTime now,
+                                                  BookingCursor after, Pageable pageable) {
+        LocalDateTime afterStart = after.startDate();
+        Long afterId = after.id();
+        return switch (state) {
+            case ALL -> bookingRepository.findByItemOwnerIdAfter(ownerId, afterStart, afterId, pageable);
+            case CURRENT -> bookingRepository.findCurrentByItemOwnerIdAfter(ownerId, now, afterStart, afterId,
+                    pageable);
+            case PAST -> bookingRepository.findPastByItemOwnerIdAfter(ownerId, now, afterStart, afterId,
+                    pageable);
+            case FUTURE -> bookingRepository.findFutureByItemOwnerIdAfter(ownerId, now, afterStart, afterId,
+                    pageable);
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusAfter(ownerId, BookingStatus.WAITING,
+                    afterStart, afterId, pageable);
+            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusAfter(ownerId, BookingStatus.REJECTED,
+                    afterStart, afterId, pageable);
+        };
+    }
+
+    private void validateNewBooking(NewBookingDto booking, Item item, Long userId) {
+        if (item.getOwner().getId().equals(userId)) {
+            log.warn("User with id {} is the owner of item with id {}", userId, item.getId());
+            throw new BookingBadRequestException(
+                    "User with id " + userId + " is the owner of item with id " + item.getId());
+        }
+        if (!item.getAvailable()) {
+            log.warn("Item with id {} is not available", item.getId());
+            throw new BookingBadRequestException(
+                    "Item with id " + item.getId() + " is not available");
+        }
+        if (booking.getStart().isBefore(LocalDateTime.now())) {
+            log.warn("Booking start time {} is in the past", booking.getStart());
+            throw new BookingBadRequestException("Booking start time cannot be in the past");
+        }
+        if (!booking.getEnd().isAfter(booking.getStart())) {
+            log.warn("Booking end time {} is not after start time {}", booking.getEnd(),
+                    booking.getStart());
+            throw new BookingBadRequestException("Booking end time must be after start time");
+        }
+        if (!itemAvailabilityIndex.isFree(item.getId(), booking.getStart(), booking.getEnd())) {
+            log.warn("Booking {} - {} overlaps an existing booking of item with id {}", booking.getStart(),
+                    booking.getEnd(), item.getId());
+            throw overlapConflict(item.getId());
+        }
+    }
+
+    // The availability index only knows committed bookings, so the batch is also checked against itself
+    private void rejectOverlapsWithinBatch(List<NewBookingDto> bookings) {
+        Map<Long, List<NewBookingDto>> byItem = bookings.stream()
+                .collect(Collectors.groupingBy(NewBookingDto::getItemId));
+        for (Map.Entry<Long, List<NewBookingDto>> entry : byItem.entrySet()) {
+            List<NewBookingDto> sorted = entry.getValue().stream()
+                    .sorted(Comparator.comparing(NewBookingDto::getStart))
+                    .toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                if (sorted.get(i).getStart().isBefore(sorted.get(i - 1).getEnd())) {
+                    log.warn("Batch books item with id {} twice for overlapping periods", entry.getKey());
+                    throw overlapConflict(entry.getKey());
+                }
+            }
+        }
+    }
+
+    private BookingConflictException overlapConflict(Long itemId) {
+        return new BookingConflictException(
+                "Item with id " + itemId + " is already booked for the requested period");
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return BookingRepository.NO_OVERLAP_CONSTRAINT.equals(violation.getConstraintName());
+            }
+            // bookings_no_overlap is the only exclusion constraint on the table
+            if (cause instanceof SQLException sqlException) {
+                return EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+
     private Pageable getPageableWithDefaultSort(Integer from, Integer size) {
-        Sort defaultSort = Sort.by("startDate").descending();
+        // id breaks start date ties so an offset page can be continued with a cursor
+        Sort defaultSort = Sort.by("startDate").descending().and(Sort.by("id").descending());
         if (from == null || size == null || from < 0 || size <= 0) {
             return Pageable.unpaged();
         }
         return PageRequest.of(from / size, size, defaultSort);
     }
+
+    private Pageable getSeekPageable(Integer size) {
+        int pageSize = size == null || size <= 0 ? maxSeekPageSize : Math.min(size, maxSeekPageSize);
+        return PageRequest.of(0, pageSize);
+    }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.server.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a booking row returned by native queries in {@link BookingRepository}.
+ */
+public interface BookingShortView {
+
+    Long getId();
+
+    Long getBookerId();
+
+    Long getItemId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
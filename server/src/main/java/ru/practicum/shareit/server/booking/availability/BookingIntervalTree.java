@@ -0,0 +1,130 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable augmented interval tree over the booked periods of one item. Periods are sorted by
+ * start and laid out as an implicit balanced tree over that array, each node carrying the latest
+ * end in its subtree, so overlap queries cost O(log n + k). Rebuilt rather than mutated: the
+ * owning {@link ItemAvailabilityIndex} drops the whole tree on any booking write.
+ */
+class BookingIntervalTree {
+
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+
+    BookingIntervalTree(List<TimeWindow> periods) {
+        List<TimeWindow> sorted = new ArrayList<>(periods);
+        sorted.sort(Comparator.comparing(TimeWindow::start));
+        int size = sorted.size();
+        starts = new LocalDateTime[size];
+        ends = new LocalDateTime[size];
+        maxEnds = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = sorted.get(i).start();
+            ends[i] = sorted.get(i).end();
+        }
+        buildMaxEnds(0, size - 1);
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    boolean overlapsAny(LocalDateTime from, LocalDateTime to) {
+        return findFirstOverlap(0, starts.length - 1, from, to) >= 0;
+    }
+
+    /**
+     * Booked periods overlapping {@code [from, to)}, ordered by start.
+     */
+    List<TimeWindow> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<TimeWindow> result = new ArrayList<>();
+        collectOverlapping(0, starts.length - 1, from, to, result);
+        return result;
+    }
+
+    /**
+     * Gaps between booked periods inside {@code [from, to)}, ordered by start.
+     */
+    List<TimeWindow> findFree(LocalDateTime from, LocalDateTime to) {
+        List<TimeWindow> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeWindow busy : findOverlapping(from, to)) {
+            if (busy.start().isAfter(cursor)) {
+                free.add(new TimeWindow(cursor, busy.start()));
+            }
+            if (busy.end().isAfter(cursor)) {
+                cursor = busy.end();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeWindow(cursor, to));
+        }
+        return free;
+    }
+
+    private LocalDateTime buildMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = ends[mid];
+        LocalDateTime left = buildMaxEnds(lo, mid - 1);
+        LocalDateTime right = buildMaxEnds(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private int findFirstOverlap(int lo, int hi, LocalDateTime from, LocalDateTime to) {
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (!maxEnds[mid].isAfter(from)) {
+                // nothing in this subtree ends after the requested start
+                return -1;
+            }
+            int left = findFirstOverlap(lo, mid - 1, from, to);
+            if (left >= 0) {
+                return left;
+            }
+            if (!starts[mid].isBefore(to)) {
+                // this node and its right subtree all start at or after the requested end
+                return -1;
+            }
+            if (ends[mid].isAfter(from)) {
+                return mid;
+            }
+            lo = mid + 1;
+        }
+        return -1;
+    }
+
+    private void collectOverlapping(int lo, int hi, LocalDateTime from, LocalDateTime to,
+                                    List<TimeWindow> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (!maxEnds[mid].isAfter(from)) {
+            return;
+        }
+        collectOverlapping(lo, mid - 1, from, to, result);
+        if (!starts[mid].isBefore(to)) {
+            return;
+        }
+        if (ends[mid].isAfter(from)) {
+            result.add(new TimeWindow(starts[mid], ends[mid]));
+        }
+        collectOverlapping(mid + 1, hi, from, to, result);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.BookingRepository;
+
+/**
+ * Per-item {@link BookingIntervalTree} of waiting and approved bookings, built on first use from
+ * {@link BookingRepository} and dropped whenever a booking of the item is written. Only bookings
+ * still running at build time are loaded; periods that end later stay correct as time passes.
+ * Bookings removed by a cascading user or item delete are dropped by the deleting service. The
+ * index is local to this instance and bounded by size and idle time; the database constraint
+ * remains the source of truth.
+ *
+ * <p>Trees are loaded outside any monitor: a {@code computeIfAbsent} loader would hold a map bin lock
+ * across the query and pin the carrier of a virtual thread. Concurrent callers for the same item wait
+ * on the loader's future instead.
+ */
+@Component
+@Slf4j
+public class ItemAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final ConcurrentMap<Long, CompletableFuture<BookingIntervalTree>> trees;
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${shareit.availability-index.max-size:10000}") long maxSize,
+                                 @Value("${shareit.availability-index.expire-after-access:30m}")
+                                 Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .<Long, CompletableFuture<BookingIntervalTree>>build()
+                .asMap();
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return !tree(itemId).overlapsAny(start, end);
+    }
+
+    public List<TimeWindow> findFreeWindows(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return tree(itemId).findFree(from, to);
+    }
+
+    public void invalidate(Long itemId) {
+        drop(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a tree rebuilt before the write commits still misses it, so drop the item again once it ends
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(itemId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long itemId) {
+        // also drops a build still in progress, so a tree loaded before the write never serves later queries
+        if (trees.remove(itemId) != null) {
+            log.debug("Dropped availability index for item with id {}", itemId);
+        }
+    }
+
+    private BookingIntervalTree tree(Long itemId) {
+        CompletableFuture<BookingIntervalTree> pending = new CompletableFuture<>();
+        CompletableFuture<BookingIntervalTree> existing = trees.putIfAbsent(itemId, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            BookingIntervalTree tree = load(itemId);
+            pending.complete(tree);
+            return tree;
+        } catch (RuntimeException e) {
+            trees.remove(itemId, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static BookingIntervalTree await(CompletableFuture<BookingIntervalTree> build) {
+        try {
+            return build.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        List<TimeWindow> periods = bookingRepository
+                .findActiveBookingsForItemEndingAfter(itemId, LocalDateTime.now()).stream()
+                .map(booking -> new TimeWindow(booking.getStartDate(), booking.getEndDate()))
+                .toList();
+        BookingIntervalTree tree = new BookingIntervalTree(periods);
+        log.debug("Built availability index for item with id {} from {} bookings", itemId, tree.size());
+        return tree;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * Half-open period {@code [start, end)}, the same bounds the bookings_no_overlap constraint uses.
+ */
+public record TimeWindow(LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.server.booking.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings")
+@Slf4j
+@SuppressWarnings("unused")
+public class BookingExportController {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final BookingExportService bookingExportService;
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Processing request to export bookings of items owned by user with ID: {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookingExportService.exportOwnerBookings(userId));
+    }
+}
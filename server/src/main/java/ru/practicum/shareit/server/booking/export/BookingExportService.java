@@ -0,0 +1,98 @@
+package ru.practicum.shareit.server.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.dto.booking.BookingDto;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.mapper.BookingMapper;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.user.UserExistenceCache;
+
+/**
+ * Streams every booking of an owner's items as newline-delimited JSON, newest first. Rows come from a forward-only
+ * database cursor and are written as they are read; every {@code shareit.booking-export.flush-every} rows the
+ * output is flushed and the persistence context cleared, so memory stays flat however long the history is.
+ */
+@Service
+@Slf4j
+public class BookingExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final BookingRepository bookingRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BookingMapper bookingMapper;
+    private final ObjectWriter bookingWriter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushEvery;
+
+    public BookingExportService(BookingRepository bookingRepository, UserExistenceCache userExistenceCache,
+                                BookingMapper bookingMapper, ObjectMapper objectMapper, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${shareit.booking-export.flush-every:500}") int flushEvery) {
+        this.bookingRepository = bookingRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.bookingMapper = bookingMapper;
+        this.bookingWriter = objectMapper.writerFor(BookingDto.class);
+        this.entityManager = entityManager;
+        // The cursor only streams inside a transaction; read-only also skips dirty checking of the rows
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Checks the owner up front, so an unknown user is still answered with 404, and returns the body that streams
+     * the export once the response has started.
+     */
+    public StreamingResponseBody exportOwnerBookings(Long ownerId) {
+        if (!userExistenceCache.exists(ownerId)) {
+            log.warn("User with id {} not found", ownerId);
+            throw new NotFoundException("User with id " + ownerId + " not found");
+        }
+        return out -> {
+            try {
+                long exported = readOnlyTransaction.execute(status -> writeBookings(ownerId, out));
+                log.info("Exported {} bookings for owner with id {}", exported, ownerId);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private long writeBookings(Long ownerId, OutputStream out) {
+        long exported = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamByItemOwnerId(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                out.write(bookingWriter.writeValueAsBytes(bookingMapper.mapToDto(iterator.next())));
+                out.write(NEWLINE);
+                if (++exported % flushEvery == 0) {
+                    out.flush();
+                    entityManager.clear();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // The client went away or the connection broke; closing the stream releases the cursor
+            log.warn("Booking export for owner with id {} aborted after {} rows: {}", ownerId, exported,
+                    e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        return exported;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.server.booking.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Denormalized last/next approved booking of an item. Rows are written only through the
+ * native upserts in {@link ItemBookingSummaryRepository}; a missing row means the item has
+ * never had an approved booking.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ItemBookingSummary {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStartDate;
+
+    @Column(name = "last_end_date")
+    private LocalDateTime lastEndDate;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStartDate;
+
+    @Column(name = "next_end_date")
+    private LocalDateTime nextEndDate;
+
+    /**
+     * Mirrors {@link ItemBookingSummaryRepository#STALE}: the next booking has already started, or
+     * a referenced booking was deleted behind the summary's back (e.g. by a cascading user delete).
+     */
+    public boolean isStale(LocalDateTime now) {
+        return (nextStartDate != null && !nextStartDate.isAfter(now))
+                || (lastBookingId == null && lastStartDate != null)
+                || (nextBookingId == null && nextStartDate != null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ItemBookingSummary summary = (ItemBookingSummary) o;
+        return itemId != null && Objects.equals(itemId, summary.getItemId());
+    }
+
+    @Override
+    public int hashCode() {
+        return itemId != null ? Objects.hash(itemId) : getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ItemBookingSummary{" + "itemId=" + itemId + ", lastBookingId=" + lastBookingId +
+                ", nextBookingId=" + nextBookingId + '}';
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.server.booking.summary;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@SuppressWarnings("unused")
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    // Recomputes last/next approved booking per item with one index seek in each direction
+    String RECOMPUTE = "INSERT INTO item_booking_summary (item_id, " +
+            "last_booking_id, last_booker_id, last_start_date, last_end_date, " +
+            "next_booking_id, next_booker_id, next_start_date, next_end_date) " +
+            "SELECT i.id, lb.id, lb.booker_id, lb.start_date, lb.end_date, " +
+            "nb.id, nb.booker_id, nb.start_date, nb.end_date " +
+            "FROM items i " +
+            "LEFT JOIN LATERAL (SELECT * FROM bookings b " +
+            "   WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date <= :now " +
+            "   ORDER BY b.start_date DESC LIMIT 1) lb ON true " +
+            "LEFT JOIN LATERAL (SELECT * FROM bookings b " +
+            "   WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > :now " +
+            "   ORDER BY b.start_date ASC LIMIT 1) nb ON true ";
+
+    String UPSERT = "ON CONFLICT (item_id) DO UPDATE SET " +
+            "last_booking_id = EXCLUDED.last_booking_id, last_booker_id = EXCLUDED.last_booker_id, " +
+            "last_start_date = EXCLUDED.last_start_date, last_end_date = EXCLUDED.last_end_date, " +
+            "next_booking_id = EXCLUDED.next_booking_id, next_booker_id = EXCLUDED.next_booker_id, " +
+            "next_start_date = EXCLUDED.next_start_date, next_end_date = EXCLUDED.next_end_date";
+
+    String STALE = "s.next_start_date <= :now " +
+            "OR (s.last_booking_id IS NULL AND s.last_start_date IS NOT NULL) " +
+            "OR (s.next_booking_id IS NULL AND s.next_start_date IS NOT NULL)";
+
+    // Declares the only table written, otherwise Hibernate evicts every second-level cache region on each run
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "item_booking_summary"))
+    @Query(value = RECOMPUTE + "WHERE i.id IN (:itemIds) " + UPSERT, nativeQuery = true)
+    int refresh(@Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
+    // Serializes summary refreshes of one item until the surrounding transaction ends
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:itemId)", nativeQuery = true)
+    int lockItem(@Param("itemId") long itemId);
+
+    // Skips items a booking write is refreshing right now; it recomputes them from newer data anyway
+    @Query(value = "SELECT s.item_id FROM item_booking_summary s WHERE (" + STALE + ") " +
+            "AND pg_try_advisory_xact_lock(s.item_id)", nativeQuery = true)
+    List<Long> lockStaleItemIds(@Param("now") LocalDateTime now);
+}
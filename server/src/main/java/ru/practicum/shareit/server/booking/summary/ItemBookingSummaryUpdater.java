@@ -0,0 +1,49 @@
+package ru.practicum.shareit.server.booking.summary;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps {@link ItemBookingSummary} rows in step with approved bookings: booking writes refresh
+ * their item right away, and a periodic pass rolls summaries forward once a next booking starts.
+ * Every refresh holds a per-item advisory lock until its transaction ends, so concurrent writes
+ * to one item recompute its summary one after another, each from the bookings the previous one committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingSummaryUpdater {
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Recomputes the summary of {@code itemId} inside the transaction that wrote its bookings, so the
+     * lock is released only once that write is committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Long itemId) {
+        // The recompute declares only the summary table, so pending booking changes are not flushed for it
+        entityManager.flush();
+        summaryRepository.lockItem(itemId);
+        summaryRepository.refresh(List.of(itemId), LocalDateTime.now());
+        log.debug("Refreshed booking summary for item with id {}", itemId);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-forward-interval-ms:60000}")
+    @Transactional
+    public void rollForward() {
+        List<Long> staleItemIds = summaryRepository.lockStaleItemIds(LocalDateTime.now());
+        if (!staleItemIds.isEmpty()) {
+            summaryRepository.refresh(staleItemIds, LocalDateTime.now());
+            log.debug("Rolled forward booking summaries for {} items", staleItemIds.size());
+        }
+    }
+}
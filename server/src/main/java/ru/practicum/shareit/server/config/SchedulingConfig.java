@@ -0,0 +1,10 @@
+package ru.practicum.shareit.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@SuppressWarnings("unused")
+public class SchedulingConfig {
+}
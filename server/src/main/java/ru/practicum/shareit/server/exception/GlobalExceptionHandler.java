@@ -20,8 +20,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(404).body(new ErrorMessage(e.getMessage(), 404));
     }
 
-    @ExceptionHandler({EmailAlreadyExistsException.class})
-    public ResponseEntity<ErrorMessage> handleEmailAlreadyExists(final RuntimeException e) {
+    @ExceptionHandler({EmailAlreadyExistsException.class, BookingConflictException.class})
+    public ResponseEntity<ErrorMessage> handleConflict(final RuntimeException e) {
         log.warn("Encountered {} while processing request: returning 409 Conflict",
                 e.getClass().getSimpleName());
         return ResponseEntity.status(409).body(new ErrorMessage(e.getMessage(), 409));
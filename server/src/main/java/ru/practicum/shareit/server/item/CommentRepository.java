@@ -1,10 +1,18 @@
 package ru.practicum.shareit.server.item;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @SuppressWarnings("unused")
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("SELECT c.id AS id, c.text AS text, c.item.id AS itemId, a.name AS authorName, c.created AS created " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id IN :itemIds")
+    List<CommentView> findAllByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
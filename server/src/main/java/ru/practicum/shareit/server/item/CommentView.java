@@ -0,0 +1,19 @@
+package ru.practicum.shareit.server.item;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a comment with its author's name, so listing comments needs no entity loads.
+ */
+public interface CommentView {
+
+    Long getId();
+
+    String getText();
+
+    Long getItemId();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.server.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.common.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -33,9 +37,12 @@ public class ItemController {
 
     @GetMapping
     public ResponseEntity<List<ItemWithBookingInfoDto>> getUserItems(
-            @RequestHeader(USER_ID_HEADER) Long userId) {
-        log.info("Processing request to fetch items for user with ID: {}", userId);
-        return ResponseEntity.ok(itemService.getAllItemsByOwnerWithBookingInfo(userId));
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", required = false) Integer size) {
+        log.info("Processing request to fetch items for user with ID: {}, after: {}, size: {}",
+                userId, after, size);
+        return ResponseEntity.ok(itemService.getAllItemsByOwnerWithBookingInfo(userId, after, size));
     }
 
     @GetMapping("/{id}")
@@ -45,6 +52,15 @@ public class ItemController {
         return ResponseEntity.ok(itemService.getItemByIdWithBookingInfo(id, userId));
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<AvailabilityWindowDto>> getAvailability(
+            @RequestHeader(USER_ID_HEADER) Long userId, @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Processing request to fetch availability of item with ID: {} from {} to {}", id, from, to);
+        return ResponseEntity.ok(itemService.getItemAvailability(id, userId, from, to));
+    }
+
     @PostMapping
     public ResponseEntity<ItemDto> saveItem(@RequestHeader(USER_ID_HEADER) Long userId,
                                             @RequestBody NewItemDto newItemDto) {
@@ -54,6 +70,13 @@ public class ItemController {
                 .body(savedItem);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemDto>> saveItems(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @RequestBody List<NewItemDto> newItemDtos) {
+        log.info("Processing request to save {} new items...", newItemDtos.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(itemService.saveItems(newItemDtos, userId));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ItemDto> update(@RequestHeader(USER_ID_HEADER) Long userId,
                                           @PathVariable Long id, @RequestBody UpdateItemDto updatedItemDto) {
@@ -63,9 +86,13 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<List<ItemDto>> searchItems(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                     @RequestParam String text) {
-        log.info("Processing request to search items by query: {}", text);
-        return ResponseEntity.ok(itemService.searchItems(text, userId));
+                                                     @RequestParam String text,
+                                                     @RequestParam(name = "from", required = false) Integer from,
+                                                     @RequestParam(name = "size", required = false) Integer size,
+                                                     @RequestParam(name = "after", required = false) Long after) {
+        log.info("Processing request to search items by query: {}, from: {}, size: {}, after: {}",
+                text, from, size, after);
+        return ResponseEntity.ok(itemService.searchItems(text, userId, from, size, after));
     }
 
     @DeleteMapping("/{id}")
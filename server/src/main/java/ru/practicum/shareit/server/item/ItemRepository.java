@@ -1,8 +1,13 @@
 package ru.practicum.shareit.server.item;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,11 +15,45 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    String SEARCH_MATCH = "(LOWER(i.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
+            "LOWER(i.description) LIKE LOWER(CONCAT('%', :searchText, '%'))) " +
+            "AND i.available = true ";
+
+    // Name matches rank above description-only matches
+    String SEARCH_RANK = "CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :searchText, '%')) THEN 0 ELSE 1 END";
+
+    // Rank of the cursor item; a vanished cursor restarts from the name matches rather than skipping them
+    String CURSOR_RANK = "COALESCE((SELECT CASE WHEN LOWER(c.name) LIKE LOWER(CONCAT('%', :searchText, '%')) " +
+            "THEN 0 ELSE 1 END FROM Item c WHERE c.id = :afterId), 0)";
+
+    String ITEMS_BY_OWNER_REGION = "items-by-owner";
+
+    // Cached as ids and resolved from the item region; any write to items invalidates the results
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ITEMS_BY_OWNER_REGION)})
     List<Item> findByOwnerId(long ownerId);
 
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Items answering requests of the user; their request_id is set to null when the user is deleted
+    @Query("SELECT i.id FROM Item i WHERE i.request.requestor.id = :requestorId")
+    List<Long> findIdsByRequestRequestorId(@Param("requestorId") Long requestorId);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(long ownerId, long id, Limit limit);
+
     @Query("SELECT i FROM Item i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
-            "LOWER(i.description) LIKE LOWER(CONCAT('%', :searchText, '%'))) " +
-            "AND i.available = true")
-    List<Item> search(@Param("searchText") String text);
+            "WHERE " + SEARCH_MATCH +
+            "ORDER BY " + SEARCH_RANK + ", i.id")
+    List<Item> search(@Param("searchText") String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE " + SEARCH_MATCH +
+            "AND (" + SEARCH_RANK + " > " + CURSOR_RANK + " OR " +
+            "(" + SEARCH_RANK + " = " + CURSOR_RANK + " AND i.id > :afterId)) " +
+            "ORDER BY " + SEARCH_RANK + ", i.id")
+    List<Item> searchAfter(@Param("searchText") String text, @Param("afterId") Long afterId,
+                           Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.server.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import ru.practicum.shareit.common.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -12,21 +14,26 @@ public interface ItemService {
 
     List<ItemDto> getAllItems();
 
-    List<ItemWithBookingInfoDto> getAllItemsByOwnerWithBookingInfo(Long ownerId);
+    List<ItemWithBookingInfoDto> getAllItemsByOwnerWithBookingInfo(Long ownerId, Long after, Integer size);
 
     ItemDto saveItem(NewItemDto item, Long userId);
 
+    List<ItemDto> saveItems(List<NewItemDto> items, Long userId);
+
     ItemDto getItemById(Long id);
 
     ItemWithBookingInfoDto getItemByIdWithBookingInfo(Long itemId, Long userId);
 
+    List<AvailabilityWindowDto> getItemAvailability(Long itemId, Long userId, LocalDateTime from,
+                                                    LocalDateTime to);
+
     ItemDto update(UpdateItemDto item, Long userId, Long itemId);
 
     List<ItemDto> getItemsByUserId(Long userId);
 
     void delete(Long id, Long userId);
 
-    List<ItemDto> searchItems(String query, Long userId);
+    List<ItemDto> searchItems(String query, Long userId, Integer from, Integer size, Long after);
 
     CommentDto saveComment(NewCommentDto comment, Long itemId, Long userId);
 }
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.server.item;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.common.dto.booking.BookingShortDto;
+import ru.practicum.shareit.common.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -18,15 +25,22 @@ import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.common.dto.item.NewItemDto;
 import ru.practicum.shareit.common.dto.item.UpdateItemDto;
 import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.BookingShortView;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummary;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummaryRepository;
 import ru.practicum.shareit.server.exception.AccessDeniedException;
 import ru.practicum.shareit.server.exception.BookingBadRequestException;
 import ru.practicum.shareit.server.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.mapper.CommentMapper;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.item.search.ItemSearchIndexer;
 import ru.practicum.shareit.server.request.ItemRequest;
 import ru.practicum.shareit.server.request.ItemRequestRepository;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @Service
@@ -37,11 +51,22 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchIndexer itemSearchIndexer;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Value("${shareit.item-search.max-page-size:100}")
+    private int maxSearchPageSize;
+
+    @Value("${shareit.owner-items.max-page-size:100}")
+    private int maxOwnerPageSize;
 
     private record LastNextBookingPair(BookingShortDto lastBooking, BookingShortDto nextBooking) {}
 
@@ -51,24 +76,43 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyMap();
         }
 
-        List<BookingShortDto> pastAndCurrentBookings =
-                bookingRepository.findPastAndCurrentApprovedBookingsShortForItems(
-                        itemIds, now);
-        List<BookingShortDto> nextBookings =
-                bookingRepository.findNextApprovedBookingsShortForItems(
-                        itemIds, now);
-
-        Map<Long, BookingShortDto> lastBookingsMap = pastAndCurrentBookings.stream()
-                .collect(Collectors.groupingBy(
-                        BookingShortDto::getItemId, Collectors.collectingAndThen(Collectors.toList(),
-                                list -> list.isEmpty() ? null : list.getFirst())
-                ));
-
-        Map<Long, BookingShortDto> nextBookingsMap = nextBookings.stream()
-                .collect(Collectors.groupingBy(
-                        BookingShortDto::getItemId, Collectors.collectingAndThen(Collectors.toList(),
-                                list -> list.isEmpty() ? null : list.getFirst())
-                ));
+        Map<Long, LastNextBookingPair> result = new HashMap<>();
+        List<Long> staleItemIds = new ArrayList<>();
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findAllById(itemIds)) {
+            if (summary.isStale(now)) {
+                staleItemIds.add(summary.getItemId());
+                continue;
+            }
+            BookingShortDto last = summary.getLastBookingId() == null ? null : new BookingShortDto(
+                    summary.getLastBookingId(), summary.getLastBookerId(), summary.getItemId(),
+                    summary.getLastStartDate(), summary.getLastEndDate());
+            BookingShortDto next = summary.getNextBookingId() == null ? null : new BookingShortDto(
+                    summary.getNextBookingId(), summary.getNextBookerId(), summary.getItemId(),
+                    summary.getNextStartDate(), summary.getNextEndDate());
+            result.put(summary.getItemId(), new LastNextBookingPair(last, next));
+        }
+
+        // Summaries the scheduler hasn't rolled forward yet are resolved from bookings directly
+        if (!staleItemIds.isEmpty()) {
+            log.debug("Resolving bookings directly for {} items with stale summaries", staleItemIds.size());
+            result.putAll(getLastAndNextBookingsFromBookings(staleItemIds, now));
+        }
+        return result;
+    }
+
+    private Map<Long, LastNextBookingPair> getLastAndNextBookingsFromBookings(List<Long> itemIds,
+                                                                              LocalDateTime now) {
+        Map<Long, BookingShortDto> lastBookingsMap = new HashMap<>();
+        Map<Long, BookingShortDto> nextBookingsMap = new HashMap<>();
+        for (BookingShortView booking : bookingRepository.findLastAndNextApprovedBookingsForItems(itemIds, now)) {
+            BookingShortDto dto = new BookingShortDto(booking.getId(), booking.getBookerId(),
+                    booking.getItemId(), booking.getStartDate(), booking.getEndDate());
+            if (dto.getStart().isAfter(now)) {
+                nextBookingsMap.put(dto.getItemId(), dto);
+            } else {
+                lastBookingsMap.put(dto.getItemId(), dto);
+            }
+        }
 
         Map<Long, LastNextBookingPair> result = new HashMap<>();
         for (Long itemId : itemIds) {
@@ -79,6 +123,13 @@ public class ItemServiceImpl implements ItemService {
         return result;
     }
 
+    // One query for all listed items, with author names projected instead of loaded per comment
+    private Map<Long, Set<CommentDto>> getCommentsForItems(List<Long> itemIds) {
+        return commentRepository.findAllByItemIds(itemIds).stream()
+                .map(commentMapper::mapToDto)
+                .collect(Collectors.groupingBy(CommentDto::getItemId, Collectors.toSet()));
+    }
+
     @Override
     public List<ItemDto> getAllItems() {
         List<ItemDto> items = itemRepository.findAll().stream().map(itemMapper::mapToDto).toList();
@@ -88,13 +139,17 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemWithBookingInfoDto> getAllItemsByOwnerWithBookingInfo(Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+    public List<ItemWithBookingInfoDto> getAllItemsByOwnerWithBookingInfo(Long userId, Long after,
+                                                                          Integer size) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException("User with id " + userId + " not found");
         }
 
-        List<Item> items = itemRepository.findByOwnerId(userId);
+        int pageSize = size == null || size <= 0 ? maxOwnerPageSize : Math.min(size, maxOwnerPageSize);
+        long afterId = after == null || after < 0 ? 0 : after;
+        List<Item> items = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, afterId,
+                Limit.of(pageSize));
         if (items.isEmpty()) {
             return Collections.emptyList();
         }
@@ -103,11 +158,13 @@ public class ItemServiceImpl implements ItemService {
         LocalDateTime now = LocalDateTime.now();
         Map<Long, LastNextBookingPair> bookingInfoMap = getLastAndNextBookingsForItems(itemIds,
                 now);
+        Map<Long, Set<CommentDto>> commentsMap = getCommentsForItems(itemIds);
 
         log.debug("Fetched {} items with booking info for user with id {}", items.size(), userId);
 
         return items.stream().map(item -> {
-            ItemWithBookingInfoDto dto = itemMapper.mapToItemWithBookingInfoDto(item);
+            ItemWithBookingInfoDto dto = itemMapper.mapToItemWithBookingInfoDto(item,
+                    commentsMap.getOrDefault(item.getId(), Collections.emptySet()));
             LastNextBookingPair bookingPair = bookingInfoMap.getOrDefault(item.getId(),
                     new LastNextBookingPair(null, null));
             dto.setLastBooking(bookingPair.lastBooking());
@@ -140,10 +197,53 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        itemSearchIndexer.index(savedItem);
         log.debug("Saved new item: {}", savedItem);
         return itemMapper.mapToDto(savedItem);
     }
 
+    @Override
+    public List<ItemDto> saveItems(List<NewItemDto> newItemDtos, Long userId) {
+        User owner = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("User with id {} not found", userId);
+            return new NotFoundException(
+                    "User with id " + userId + " not found");
+        });
+        if (newItemDtos.isEmpty()) {
+            return List.of();
+        }
+
+        // One lookup for every request the batch links to instead of one per item
+        Set<Long> requestIds = newItemDtos.stream()
+                .map(NewItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>(newItemDtos.size());
+        for (NewItemDto newItemDto : newItemDtos) {
+            Item item = itemMapper.mapToItem(newItemDto);
+            item.setOwner(owner);
+            if (newItemDto.getRequestId() != null) {
+                ItemRequest request = requests.get(newItemDto.getRequestId());
+                if (request == null) {
+                    log.warn("ItemRequest with id {} not found when saving items", newItemDto.getRequestId());
+                    throw new ItemRequestNotFoundException(
+                            "ItemRequest with id " + newItemDto.getRequestId() + " not found");
+                }
+                item.setRequest(request);
+            }
+            items.add(item);
+        }
+
+        // One transaction for the whole batch; sequence ids let Hibernate send the inserts as JDBC batches
+        List<Item> savedItems = itemRepository.saveAllAndFlush(items);
+        itemSearchIndexer.indexAll(savedItems);
+        log.debug("Saved {} new items for user with id {}", savedItems.size(), userId);
+        return savedItems.stream().map(itemMapper::mapToDto).toList();
+    }
+
     @Override
     public ItemDto getItemById(Long id) {
         return itemMapper.mapToDto(itemRepository.findById(id).orElseThrow(() -> {
@@ -156,7 +256,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional(readOnly = true)
     public ItemWithBookingInfoDto getItemByIdWithBookingInfo(Long itemId, Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException(
                     "User with id " + userId + " not found");
@@ -166,7 +266,8 @@ public class ItemServiceImpl implements ItemService {
             return new NotFoundException("Item with id " + itemId + " not found");
         });
 
-        ItemWithBookingInfoDto itemDto = itemMapper.mapToItemWithBookingInfoDto(item);
+        ItemWithBookingInfoDto itemDto = itemMapper.mapToItemWithBookingInfoDto(item,
+                getCommentsForItems(List.of(itemId)).getOrDefault(itemId, Collections.emptySet()));
 
         if (item.getOwner().getId().equals(userId)) {
             log.debug("User {} is owner of item {}. Fetching booking info.", userId, itemId);
@@ -183,6 +284,32 @@ public class ItemServiceImpl implements ItemService {
         return itemDto;
     }
 
+    @Override
+    public List<AvailabilityWindowDto> getItemAvailability(Long itemId, Long userId, LocalDateTime from,
+                                                           LocalDateTime to) {
+        if (!userExistenceCache.exists(userId)) {
+            log.warn("User with id {} not found", userId);
+            throw new NotFoundException("User with id " + userId + " not found");
+        }
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> {
+            log.warn("Item with id {} not found when requesting availability", itemId);
+            return new NotFoundException("Item with id " + itemId + " not found");
+        });
+        if (!to.isAfter(from)) {
+            log.warn("Availability period end {} is not after start {}", to, from);
+            throw new BookingBadRequestException("Availability period end must be after its start");
+        }
+        // only periods that can still be booked are reported
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        if (!item.getAvailable() || !to.isAfter(start)) {
+            return Collections.emptyList();
+        }
+        return itemAvailabilityIndex.findFreeWindows(itemId, start, to).stream()
+                .map(window -> new AvailabilityWindowDto(window.start(), window.end()))
+                .toList();
+    }
+
     @Override
     public ItemDto update(UpdateItemDto updateItemDto, Long userId, Long itemId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> {
@@ -197,13 +324,14 @@ public class ItemServiceImpl implements ItemService {
         }
         Item updatedItem = itemMapper.updateItemFields(updateItemDto, item);
         itemRepository.save(updatedItem);
+        itemSearchIndexer.index(updatedItem);
         log.debug("Updated item: {}", updatedItem);
         return itemMapper.mapToDto(updatedItem);
     }
 
     @Override
     public List<ItemDto> getItemsByUserId(Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException(
                     "User with id " + userId + " not found");
@@ -216,7 +344,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public void delete(Long id, Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException(
                     "User with id " + userId + " not found");
@@ -233,11 +361,14 @@ public class ItemServiceImpl implements ItemService {
         }
         log.debug("Deleting item with id {} by user with id {}", id, userId);
         itemRepository.deleteById(id);
+        itemSearchIndexer.remove(id);
+        // the item's bookings were removed by ON DELETE CASCADE
+        itemAvailabilityIndex.invalidate(id);
     }
 
     @Override
-    public List<ItemDto> searchItems(String query, Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+    public List<ItemDto> searchItems(String query, Long userId, Integer from, Integer size, Long after) {
+        if (!userExistenceCache.exists(userId)) {
             log.warn("User with id {} not found", userId);
             throw new NotFoundException(
                     "User with id " + userId + " not found");
@@ -247,7 +378,10 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
         // Shouldn't we filter out user's own items when searching?..
-        List<ItemDto> items = itemRepository.search(query).stream().map(itemMapper::mapToDto)
+        int pageSize = size == null || size <= 0 ? maxSearchPageSize : Math.min(size, maxSearchPageSize);
+        int offset = from == null || from < 0 ? 0 : from;
+        List<ItemDto> items = itemSearchEngine.search(query, after, offset, pageSize).stream()
+                .map(itemMapper::mapToDto)
                 .toList();
         log.debug("Found {} items by query: {}", items.size(), query);
         return items;
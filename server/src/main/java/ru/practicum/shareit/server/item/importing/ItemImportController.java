@@ -0,0 +1,33 @@
+package ru.practicum.shareit.server.item.importing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/items")
+@Slf4j
+@SuppressWarnings("unused")
+public class ItemImportController {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ItemImportService itemImportService;
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                             HttpServletRequest request) throws IOException {
+        log.info("Processing request to import items for user with ID: {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(itemImportService.importItems(userId, request.getInputStream()));
+    }
+}
@@ -0,0 +1,310 @@
+package ru.practicum.shareit.server.item.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.dto.item.ItemImportResultDto;
+import ru.practicum.shareit.common.dto.item.NewItemDto;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.search.ItemSearchIndexer;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserRepository;
+
+/**
+ * Imports items from newline-delimited JSON, one {@code NewItemDto} per line. Lines are read, validated and saved
+ * in chunks of {@code shareit.item-import.chunk-size}, each in its own transaction, and one
+ * {@link ItemImportResultDto} per non-blank line is written back as soon as its chunk is done, so memory use does
+ * not grow with the size of the import. Lines longer than {@code shareit.item-import.max-line-length} characters
+ * are skipped without being buffered and reported as failed. A rejected line never fails the lines around it: when
+ * a chunk cannot be saved, its items are saved again one at a time so only the offending lines are reported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemMapper itemMapper;
+    private final ItemSearchIndexer itemSearchIndexer;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${shareit.item-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${shareit.item-import.max-line-length:65536}")
+    private int maxLineLength;
+
+    /**
+     * Checks the owner up front, so an unknown user is still answered with 404, and returns the body that streams
+     * the import once the response has started.
+     */
+    public StreamingResponseBody importItems(Long userId, InputStream ndjson) {
+        User owner = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("User with id {} not found", userId);
+            return new NotFoundException("User with id " + userId + " not found");
+        });
+        return results -> importItems(owner, ndjson, results);
+    }
+
+    void importItems(User owner, InputStream ndjson, OutputStream results) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8),
+                maxLineLength);
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long imported = 0;
+        long total = 0;
+        while (reader.next()) {
+            lineNumber++;
+            String line = reader.isTooLong() ? null : reader.line();
+            if (line != null && line.isBlank()) {
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                imported += writeChunk(owner, chunk, results);
+                total += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(owner, chunk, results);
+            total += chunk.size();
+        }
+        log.info("Imported {} of {} items for user with id {}", imported, total, owner.getId());
+    }
+
+    private long writeChunk(User owner, List<ImportLine> chunk, OutputStream results) throws IOException {
+        ItemImportResultDto[] outcomes = new ItemImportResultDto[chunk.size()];
+        NewItemDto[] dtos = new NewItemDto[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportLine line = chunk.get(i);
+            if (line.json() == null) {
+                outcomes[i] = ItemImportResultDto.failed(line.number(),
+                        "Line is longer than " + maxLineLength + " characters");
+                continue;
+            }
+            try {
+                dtos[i] = parse(line.json());
+            } catch (InvalidLineException e) {
+                outcomes[i] = ItemImportResultDto.failed(line.number(), e.getMessage());
+            }
+        }
+
+        // One lookup for every request the chunk links to instead of one per item
+        Set<Long> requestIds = Arrays.stream(dtos)
+                .filter(Objects::nonNull)
+                .map(NewItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            NewItemDto dto = dtos[i];
+            if (dto == null) {
+                continue;
+            }
+            Item item = itemMapper.mapToItem(dto);
+            item.setOwner(owner);
+            if (dto.getRequestId() != null) {
+                ItemRequest request = requests.get(dto.getRequestId());
+                if (request == null) {
+                    outcomes[i] = ItemImportResultDto.failed(chunk.get(i).number(),
+                            "ItemRequest with id " + dto.getRequestId() + " not found");
+                    continue;
+                }
+                item.setRequest(request);
+            }
+            items.add(item);
+            positions.add(i);
+        }
+
+        long saved = saveAll(items, positions, chunk, outcomes);
+        for (ItemImportResultDto outcome : outcomes) {
+            results.write(objectMapper.writeValueAsBytes(outcome));
+            results.write(NEWLINE);
+        }
+        results.flush();
+        return saved;
+    }
+
+    private long saveAll(List<Item> items, List<Integer> positions, List<ImportLine> chunk,
+                         ItemImportResultDto[] outcomes) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        try {
+            // One transaction per chunk; sequence ids let Hibernate send the inserts as JDBC batches
+            List<Item> savedItems = itemRepository.saveAllAndFlush(items);
+            itemSearchIndexer.indexAll(savedItems);
+            for (int i = 0; i < savedItems.size(); i++) {
+                Item savedItem = savedItems.get(i);
+                int position = positions.get(i);
+                outcomes[position] = ItemImportResultDto.created(chunk.get(position).number(), savedItem.getId());
+            }
+            return savedItems.size();
+        } catch (DataAccessException e) {
+            log.warn("Could not save a chunk of {} imported items, saving them one by one: {}", items.size(),
+                    e.getMessage());
+            entityManager.clear();
+            return saveEach(items, positions, chunk, outcomes);
+        } finally {
+            // The session may outlive the chunk (open-in-view), so saved items must not pile up in it
+            entityManager.clear();
+        }
+    }
+
+    // Each item in its own transaction, so only the lines that violate a constraint are reported as failed
+    private long saveEach(List<Item> items, List<Integer> positions, List<ImportLine> chunk,
+                          ItemImportResultDto[] outcomes) {
+        long saved = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            long lineNumber = chunk.get(positions.get(i)).number();
+            // The rolled back chunk left a sequence id on the item, which would make it look already persisted
+            item.setId(null);
+            try {
+                Item savedItem = itemRepository.saveAndFlush(item);
+                itemSearchIndexer.index(savedItem);
+                outcomes[positions.get(i)] = ItemImportResultDto.created(lineNumber, savedItem.getId());
+                saved++;
+            } catch (DataAccessException e) {
+                log.warn("Could not save imported item on line {}: {}", lineNumber, e.getMessage());
+                outcomes[positions.get(i)] = ItemImportResultDto.failed(lineNumber, "Item could not be saved");
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
+    private NewItemDto parse(String json) {
+        NewItemDto dto;
+        try {
+            dto = objectMapper.readValue(json, NewItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidLineException("Line is not a valid JSON item");
+        }
+        if (dto == null) {
+            throw new InvalidLineException("Line is not a valid JSON item");
+        }
+        Set<ConstraintViolation<NewItemDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new InvalidLineException("Validation failed: " + violations.iterator().next().getMessage());
+        }
+        return dto;
+    }
+
+    // json is null for a line that was too long to be read
+    private record ImportLine(long number, String json) {
+    }
+
+    /**
+     * Splits a character stream into lines like {@link java.io.BufferedReader#readLine()}, but keeps at most
+     * {@code maxLength} characters of a line and discards the rest up to the next newline.
+     */
+    static final class BoundedLineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean overflowed;
+
+        BoundedLineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Reads the next line, returning {@code false} once the input is exhausted.
+         */
+        boolean next() throws IOException {
+            line.setLength(0);
+            overflowed = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        stripCarriageReturn();
+                        return read;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                // One character past the limit is kept, so a trailing '\r' can still be told from an overflow
+                int count = Math.min(position - start, maxLength + 1 - line.length());
+                overflowed |= count < position - start;
+                line.append(buffer, start, count);
+                if (position < limit) {
+                    position++;
+                    stripCarriageReturn();
+                    return true;
+                }
+            }
+        }
+
+        String line() {
+            return line.toString();
+        }
+
+        boolean isTooLong() {
+            return overflowed || line.length() > maxLength;
+        }
+
+        private void stripCarriageReturn() {
+            if (!overflowed && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+        }
+    }
+
+    private static final class InvalidLineException extends RuntimeException {
+
+        InvalidLineException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
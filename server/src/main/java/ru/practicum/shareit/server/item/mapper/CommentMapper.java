@@ -3,11 +3,14 @@ package ru.practicum.shareit.server.item.mapper;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.server.item.Comment;
+import ru.practicum.shareit.server.item.CommentView;
 
 public interface CommentMapper {
 
     CommentDto mapToDto(Comment comment);
 
+    CommentDto mapToDto(CommentView comment);
+
     Comment mapToComment(NewCommentDto newCommentDto);
 
 }
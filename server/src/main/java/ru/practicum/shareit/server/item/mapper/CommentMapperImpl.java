@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.server.item.Comment;
+import ru.practicum.shareit.server.item.CommentView;
 
 @Component
 @SuppressWarnings("unused")
@@ -15,6 +16,12 @@ public class CommentMapperImpl implements CommentMapper {
                 comment.getAuthor().getName(), comment.getCreated().toString());
     }
 
+    @Override
+    public CommentDto mapToDto(CommentView comment) {
+        return new CommentDto(comment.getId(), comment.getText(), comment.getItemId(),
+                comment.getAuthorName(), comment.getCreated().toString());
+    }
+
     @Override
     public Comment mapToComment(NewCommentDto newCommentDto) {
         Comment comment = new Comment();
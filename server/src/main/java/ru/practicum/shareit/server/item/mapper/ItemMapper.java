@@ -1,5 +1,7 @@
 package ru.practicum.shareit.server.item.mapper;
 
+import java.util.Set;
+import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemShortDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -11,7 +13,7 @@ public interface ItemMapper {
 
     ItemDto mapToDto(Item item);
 
-    ItemWithBookingInfoDto mapToItemWithBookingInfoDto(Item item);
+    ItemWithBookingInfoDto mapToItemWithBookingInfoDto(Item item, Set<CommentDto> comments);
 
     Item mapToItem(NewItemDto newItemDto);
 
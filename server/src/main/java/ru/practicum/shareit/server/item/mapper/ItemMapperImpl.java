@@ -1,8 +1,8 @@
 package ru.practicum.shareit.server.item.mapper;
 
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.Set;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemShortDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -11,27 +11,18 @@ import ru.practicum.shareit.common.dto.item.UpdateItemDto;
 import ru.practicum.shareit.server.item.Item;
 
 @Component
-@RequiredArgsConstructor
 @SuppressWarnings("unused")
 public class ItemMapperImpl implements ItemMapper {
 
-    private final CommentMapper commentMapper;
-
     @Override
     public ItemDto mapToDto(Item item) {
         return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
     }
 
     @Override
-    public ItemWithBookingInfoDto mapToItemWithBookingInfoDto(Item item) {
-        ItemWithBookingInfoDto dto = new ItemWithBookingInfoDto(item.getId(), item.getName(),
-                item.getDescription(), item.getAvailable(), null, null, null);
-
-        if (item.getComments() != null) {
-            dto.setComments(
-                    item.getComments().stream().map(commentMapper::mapToDto).collect(Collectors.toSet()));
-        }
-        return dto;
+    public ItemWithBookingInfoDto mapToItemWithBookingInfoDto(Item item, Set<CommentDto> comments) {
+        return new ItemWithBookingInfoDto(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), comments, null, null);
     }
 
     @Override
@@ -0,0 +1,317 @@
+package ru.practicum.shareit.server.item.search;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+
+/**
+ * Trigram inverted index over available items, held in memory. Candidates are found by
+ * intersecting the posting lists of the query trigrams and then verified against the indexed
+ * text, so results match the SQL engine's substring semantics and ordering. Only the best hits up to
+ * the requested page are kept while scanning, and only that page is hydrated from {@link ItemRepository}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "in-memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final int loadBatchSize;
+
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record IndexedItem(String name, String description, Set<String> grams) {}
+
+    private record Hit(long id, boolean nameMatch) {}
+
+    private static final Comparator<Hit> HIT_ORDER =
+            Comparator.comparing((Hit hit) -> !hit.nameMatch()).thenComparingLong(Hit::id);
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.item-search.load-batch-size:5000}") int loadBatchSize) {
+        this.itemRepository = itemRepository;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    @PostConstruct
+    void load() {
+        long afterId = 0;
+        int loaded = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(afterId,
+                    Limit.of(loadBatchSize));
+            update(batch, List.of());
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().getId();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Built in-memory item search index: {} items, {} trigrams", loaded, postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Long afterId, int from, int size) {
+        String query = normalize(text);
+        Hit after = afterId != null ? cursorKey(afterId, query) : null;
+        Set<Long> skipped = new HashSet<>();
+        while (true) {
+            List<Long> ids;
+            lock.readLock().lock();
+            try {
+                ids = findPage(query, after, from, size, skipped);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, Item> itemsById = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            List<Item> page = ids.stream()
+                    .map(itemsById::get)
+                    .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                    .toList();
+            if (page.size() == ids.size()) {
+                return page;
+            }
+            // Items removed or hidden behind the index's back (e.g. by a cascading user delete) must not take up
+            // a place on the page, so they are left out and the page is searched again
+            for (Long id : ids) {
+                Item item = itemsById.get(id);
+                if (item == null) {
+                    remove(id);
+                } else if (!Boolean.TRUE.equals(item.getAvailable())) {
+                    skipped.add(id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        update(List.of(item), List.of());
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        update(List.of(), List.of(itemId));
+    }
+
+    @Override
+    public void update(Collection<Item> indexed, Collection<Long> removed) {
+        Map<Long, IndexedItem> changed = new HashMap<>();
+        for (Item item : indexed) {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                changed.put(item.getId(), document(item));
+            } else {
+                changed.put(item.getId(), null);
+            }
+        }
+        removed.forEach(id -> changed.put(id, null));
+
+        // Posting changes are grouped per trigram, so each list is rewritten at most once per batch
+        Map<String, List<Long>> additions = new HashMap<>();
+        Map<String, List<Long>> removals = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            changed.forEach((id, document) -> {
+                IndexedItem previous = document != null ? documents.put(id, document) : documents.remove(id);
+                Set<String> grams = document != null ? document.grams() : Set.of();
+                if (previous != null) {
+                    for (String gram : previous.grams()) {
+                        if (!grams.contains(gram)) {
+                            removals.computeIfAbsent(gram, g -> new ArrayList<>()).add(id);
+                        }
+                    }
+                }
+                for (String gram : grams) {
+                    if (previous == null || !previous.grams().contains(gram)) {
+                        additions.computeIfAbsent(gram, g -> new ArrayList<>()).add(id);
+                    }
+                }
+            });
+            removals.forEach(this::removePostings);
+            additions.forEach((gram, ids) ->
+                    postings.computeIfAbsent(gram, g -> new PostingList()).addAll(sorted(ids)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static IndexedItem document(Item item) {
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        Set<String> grams = new HashSet<>();
+        addGrams(name, grams);
+        addGrams(description, grams);
+        return new IndexedItem(name, description, grams);
+    }
+
+    // Keeps only the best from + size hits (or size hits after the cursor) instead of sorting every match
+    private List<Long> findPage(String query, Hit after, int from, int size, Set<Long> skipped) {
+        int skip = after != null ? 0 : from / size * size;
+        TopHits top = new TopHits((int) Math.min((long) skip + size, Integer.MAX_VALUE), after, skipped);
+        if (query.length() < GRAM) {
+            documents.forEach((id, document) -> collect(id, document, query, top));
+        } else {
+            for (long id : candidates(query)) {
+                collect(id, documents.get(id), query, top);
+            }
+        }
+        return top.page(skip);
+    }
+
+    // Same rule as the SQL keyset query: the cursor is ranked by its current name whether or not it is still
+    // available, and counts as a name match only once the item is gone. Unavailable items are not indexed, so
+    // their name is read from the repository (served by the item cache).
+    private Hit cursorKey(long afterId, String query) {
+        IndexedItem cursor;
+        lock.readLock().lock();
+        try {
+            cursor = documents.get(afterId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean nameMatch = cursor != null ? cursor.name().contains(query)
+                : itemRepository.findById(afterId).map(item -> normalize(item.getName()).contains(query)).orElse(true);
+        return new Hit(afterId, nameMatch);
+    }
+
+    private long[] candidates(String query) {
+        Set<String> grams = new HashSet<>();
+        addGrams(query, grams);
+        List<PostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] result = lists.getFirst().toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i).toArray());
+        }
+        return result;
+    }
+
+    private static void collect(long id, IndexedItem document, String query, TopHits top) {
+        if (document.name().contains(query)) {
+            top.offer(new Hit(id, true));
+        } else if (document.description().contains(query)) {
+            top.offer(new Hit(id, false));
+        }
+    }
+
+    private void removePostings(String gram, List<Long> ids) {
+        PostingList list = postings.get(gram);
+        if (list != null) {
+            list.removeAll(sorted(ids));
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static long[] sorted(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bounded max-heap of the best {@code limit} hits ranked after {@code after}, so a page costs
+     * O(matches * log(limit)) time and O(limit) memory however many items match.
+     */
+    private static final class TopHits {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int limit;
+        private final Hit after;
+        private final Set<Long> skipped;
+        private final PriorityQueue<Hit> heap;
+
+        TopHits(int limit, Hit after, Set<Long> skipped) {
+            this.limit = limit;
+            this.after = after;
+            this.skipped = skipped;
+            this.heap = new PriorityQueue<>(Math.min(limit, INITIAL_CAPACITY), HIT_ORDER.reversed());
+        }
+
+        void offer(Hit hit) {
+            if ((after != null && HIT_ORDER.compare(hit, after) <= 0) || skipped.contains(hit.id())) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (HIT_ORDER.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<Long> page(int skip) {
+            if (heap.size() <= skip) {
+                return List.of();
+            }
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(HIT_ORDER);
+            return hits.subList(skip, hits.size()).stream().map(Hit::id).toList();
+        }
+    }
+}
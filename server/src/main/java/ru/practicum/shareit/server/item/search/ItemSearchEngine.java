@@ -0,0 +1,34 @@
+package ru.practicum.shareit.server.item.search;
+
+import java.util.Collection;
+import java.util.List;
+import ru.practicum.shareit.server.item.Item;
+
+/**
+ * Resolves free-text item searches. Implementations are selected with the
+ * {@code shareit.item-search.engine} property and are notified about item writes so
+ * that any state they keep outside the database stays in sync. Writes reach them through
+ * {@link ItemSearchIndexer}, once the transaction that made them has committed.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Returns one page of available items whose name or description contains the given text
+     * (case-insensitive), name matches first, then by id. When {@code afterId} is set the page
+     * starts right after that item (keyset mode) and {@code from} is ignored.
+     */
+    List<Item> search(String text, Long afterId, int from, int size);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+
+    /**
+     * Applies the item writes of one transaction together. Engines that keep state may merge the
+     * whole batch in one pass; by default the writes are applied one by one.
+     */
+    default void update(Collection<Item> indexed, Collection<Long> removed) {
+        indexed.forEach(this::index);
+        removed.forEach(this::remove);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.server.item.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.item.Item;
+
+/**
+ * Publishes item writes to the {@link ItemSearchEngine}. Inside a transaction the writes are buffered
+ * and handed over as one batch after commit, so a rolled back write never becomes searchable and the
+ * engine merges a whole transaction at once; outside a transaction they are applied right away.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndexer {
+
+    private final ItemSearchEngine itemSearchEngine;
+
+    public void index(Item item) {
+        indexAll(List.of(item));
+    }
+
+    public void indexAll(Collection<Item> items) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            itemSearchEngine.update(items, List.of());
+            return;
+        }
+        items.forEach(item -> pending.writes.put(item.getId(), item));
+    }
+
+    public void remove(Long itemId) {
+        PendingWrites pending = pendingWrites();
+        if (pending == null) {
+            itemSearchEngine.update(List.of(), List.of(itemId));
+            return;
+        }
+        // A null entry marks the item as removed; a later index in the same transaction replaces it
+        pending.writes.put(itemId, null);
+    }
+
+    private PendingWrites pendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingWrites pending = (PendingWrites) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private final class PendingWrites implements TransactionSynchronization {
+
+        private final Map<Long, Item> writes = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            List<Item> indexed = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            writes.forEach((id, item) -> {
+                if (item != null) {
+                    indexed.add(item);
+                } else {
+                    removed.add(id);
+                }
+            });
+            itemSearchEngine.update(indexed, removed);
+            log.debug("Published {} indexed and {} removed items to the search engine", indexed.size(),
+                    removed.size());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ItemSearchIndexer.this);
+        }
+    }
+}
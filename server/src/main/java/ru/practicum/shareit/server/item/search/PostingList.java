@@ -0,0 +1,141 @@
+package ru.practicum.shareit.server.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of item ids stored as delta-encoded varints. Ids are assigned in increasing
+ * order, so the common case of indexing a new item is an append to the tail of the buffer.
+ * Other changes rewrite the buffer, so callers hand them over in sorted batches.
+ * Not thread-safe: callers guard access.
+ */
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int size;
+    private long last;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(long id) {
+        addAll(new long[]{id});
+    }
+
+    void remove(long id) {
+        removeAll(new long[]{id});
+    }
+
+    /**
+     * Adds a sorted batch of ids. Ids above the current tail are appended; otherwise the batch is merged
+     * with the list in one pass, so a batch costs O(n + k) instead of O(n) per out-of-order id.
+     */
+    void addAll(long[] sortedIds) {
+        if (sortedIds.length == 0) {
+            return;
+        }
+        if (size == 0 || sortedIds[0] > last) {
+            for (long id : sortedIds) {
+                if (size == 0 || id > last) {
+                    append(id - last);
+                    last = id;
+                    size++;
+                }
+            }
+            return;
+        }
+        long[] ids = toArray();
+        long[] merged = new long[ids.length + sortedIds.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < ids.length || j < sortedIds.length) {
+            long next;
+            if (j == sortedIds.length || (i < ids.length && ids[i] <= sortedIds[j])) {
+                next = ids[i++];
+            } else {
+                next = sortedIds[j++];
+            }
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        if (n != ids.length) {
+            rebuild(Arrays.copyOf(merged, n));
+        }
+    }
+
+    /**
+     * Removes a sorted batch of ids in one pass over the list; ids that are not present are ignored.
+     */
+    void removeAll(long[] sortedIds) {
+        if (size == 0 || sortedIds.length == 0 || sortedIds[0] > last) {
+            return;
+        }
+        long[] ids = toArray();
+        long[] kept = new long[ids.length];
+        int j = 0;
+        int n = 0;
+        for (long id : ids) {
+            while (j < sortedIds.length && sortedIds[j] < id) {
+                j++;
+            }
+            if (j == sortedIds.length || sortedIds[j] != id) {
+                kept[n++] = id;
+            }
+        }
+        if (n != ids.length) {
+            rebuild(Arrays.copyOf(kept, n));
+        }
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        long current = 0;
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += delta;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    private void rebuild(long[] ids) {
+        data = new byte[Math.max(INITIAL_CAPACITY, ids.length * 2)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (long id : ids) {
+            append(id - last);
+            last = id;
+            size++;
+        }
+    }
+
+    private void append(long delta) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        long value = delta;
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.server.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+
+/**
+ * Default engine: delegates to the trigram-indexed queries in {@link ItemRepository}.
+ * PostgreSQL maintains the indexes itself, so item writes need no extra work here.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Long afterId, int from, int size) {
+        if (afterId != null) {
+            return itemRepository.searchAfter(text, afterId, PageRequest.of(0, size));
+        }
+        return itemRepository.search(text, PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+}
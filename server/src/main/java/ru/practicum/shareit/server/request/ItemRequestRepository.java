@@ -1,8 +1,8 @@
 package ru.practicum.shareit.server.request;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,8 +15,14 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     @Query("SELECT ir FROM ItemRequest ir LEFT JOIN FETCH ir.items WHERE ir.requestor.id = :requestorId ORDER BY ir.created DESC")
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(@Param("requestorId") Long requestorId);
 
-    @Query("SELECT ir FROM ItemRequest ir LEFT JOIN FETCH ir.items WHERE ir.requestor.id <> :userId")
-    Page<ItemRequest> findAllByRequestorIdNot(@Param("userId") Long userId, Pageable pageable);
+    @Query("SELECT ir.id FROM ItemRequest ir WHERE ir.requestor.id = :requestorId")
+    List<Long> findIdsByRequestorId(@Param("requestorId") Long requestorId);
+
+    @Query("SELECT ir.id FROM ItemRequest ir WHERE ir.requestor.id <> :userId")
+    List<Long> findIdsByRequestorIdNot(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT DISTINCT ir FROM ItemRequest ir LEFT JOIN FETCH ir.items WHERE ir.id IN :ids")
+    List<ItemRequest> findAllByIdInFetchingItems(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT ir FROM ItemRequest ir LEFT JOIN FETCH ir.items WHERE ir.id = :id")
     Optional<ItemRequest> findByIdFetchingItems(@Param("id") Long id);
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.server.request;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +18,7 @@ import ru.practicum.shareit.server.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @Service
@@ -24,6 +28,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final ItemRequestMapper itemRequestMapper;
 
     @Override
@@ -44,7 +49,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getOwnRequests(Long userId) {
         log.debug("Fetching own item requests for user {}", userId);
-        findUserOrThrow(userId);
+        requireUserExists(userId);
 
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
 
@@ -58,12 +63,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
         log.debug("Fetching all item requests (excluding user {}) with pagination from={}, size={}", userId, from, size);
-        findUserOrThrow(userId);
+        requireUserExists(userId);
 
         Pageable pageable = createPageable(from, size);
 
-        List<ItemRequestDto> requests = itemRequestRepository.findAllByRequestorIdNot(userId, pageable)
-                .stream()
+        // Page over bare ids first so LIMIT/OFFSET run in SQL, then fetch items for just that page
+        List<Long> ids = itemRequestRepository.findIdsByRequestorIdNot(userId, pageable);
+        if (ids.isEmpty()) {
+            log.info("Found 0 requests on page for user {}", userId);
+            return List.of();
+        }
+        Map<Long, ItemRequest> requestsById = itemRequestRepository.findAllByIdInFetchingItems(ids).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<ItemRequestDto> requests = ids.stream()
+                .map(requestsById::get)
+                .filter(Objects::nonNull)
                 .map(itemRequestMapper::mapToDto)
                 .collect(Collectors.toList());
 
@@ -75,7 +90,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(Long requestId, Long userId) {
         log.debug("Fetching item request {} for user {}", requestId, userId);
-        findUserOrThrow(userId);
+        requireUserExists(userId);
 
         ItemRequest request = itemRequestRepository.findByIdFetchingItems(requestId)
                 .orElseThrow(() -> {
@@ -87,6 +102,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestMapper.mapToDto(request);
     }
 
+    private void requireUserExists(Long userId) {
+        if (!userExistenceCache.exists(userId)) {
+            log.warn("User with id {} not found", userId);
+            throw new NotFoundException("User with id " + userId + " not found");
+        }
+    }
+
     private User findUserOrThrow(Long userId) {
         return userRepository.findById(userId).orElseThrow(() -> {
             log.warn("User with id {} not found", userId);
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.server.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers "does this user exist" for services that only need the check, not the {@link User} entity. Positive
+ * answers from {@link UserRepository#existsById} are kept in a bounded cache; misses are never cached, so a user
+ * created after a failed lookup is seen immediately. {@link UserServiceImpl} evicts on delete.
+ *
+ * <p>The repository is queried outside any cache lock, so a lookup can overlap a delete. Every invalidation bumps a
+ * version, and a positive answer is stored only if no invalidation happened since its query started.
+ */
+@Component
+@Slf4j
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> existingUsers;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${shareit.user-existence.max-size:100000}") long maxSize,
+                              @Value("${shareit.user-existence.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.existingUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        if (existingUsers.getIfPresent(userId) != null) {
+            return true;
+        }
+        long version = invalidations.get();
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            // Checked under the entry's lock: an invalidate that bumped the version after this check removes the
+            // entry once the lock is released, so a deleted user is never left cached either way
+            existingUsers.asMap().compute(userId, (id, cached) ->
+                    invalidations.get() == version ? Boolean.TRUE : cached);
+        }
+        return exists;
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        existingUsers.invalidate(userId);
+        log.trace("Evicted user with id {} from the existence cache", userId);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.server.user;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,8 +9,14 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.common.dto.user.NewUserDto;
 import ru.practicum.shareit.common.dto.user.UpdateUserDto;
 import ru.practicum.shareit.common.dto.user.UserDto;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.server.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
 
 @Service
@@ -19,6 +27,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -68,6 +82,21 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(Long id) {
         log.debug("Deleting user with id {}", id);
+        // ON DELETE CASCADE takes the user's bookings and owned items (with their bookings) along, so the
+        // affected ids are collected first and the local caches cleaned up once the delete has committed
+        List<Long> ownedItemIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(id);
+        // The cascade also removes the user's requests and sets request_id to null on the items answering them,
+        // none of which passes through Hibernate, so their second-level cache entries are evicted by hand
+        List<Long> requestIds = itemRequestRepository.findIdsByRequestorId(id);
+        List<Long> answeringItemIds = itemRepository.findIdsByRequestRequestorId(id);
         userRepository.deleteById(id);
+        userExistenceCache.invalidate(id);
+        ownedItemIds.forEach(itemAvailabilityIndex::invalidate);
+        bookedItemIds.forEach(itemAvailabilityIndex::invalidate);
+        Cache cache = entityManagerFactory.getCache();
+        ownedItemIds.forEach(itemId -> cache.evict(Item.class, itemId));
+        answeringItemIds.forEach(itemId -> cache.evict(Item.class, itemId));
+        requestIds.forEach(requestId -> cache.evict(ItemRequest.class, requestId));
     }
 }
\ No newline at end of file
@@ -3,15 +3,32 @@ DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS item_booking_summary CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Hibernate reserves ids 50 at a time (pooled optimizer), so the increment must match allocationSize; the column
+-- defaults draw from the same sequences and never collide with a reserved block
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                     id BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
                                      email VARCHAR(255) UNIQUE NOT NULL,
                                      name VARCHAR(255) NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-                                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                        id BIGINT DEFAULT nextval('requests_seq') PRIMARY KEY,
                                         description TEXT NOT NULL,
                                         requestor_id BIGINT NOT NULL,
                                         created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -19,7 +36,7 @@ CREATE TABLE IF NOT EXISTS requests (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-                                     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                     id BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
                                      name VARCHAR(255) NOT NULL,
                                      description TEXT NOT NULL,
                                      owner_id BIGINT NOT NULL,
@@ -29,6 +46,15 @@ CREATE TABLE IF NOT EXISTS items (
                                      FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE SET NULL
 );
 
+-- Owner listing walks this index with an id cursor
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
+-- Trigram indexes back the case-insensitive substring search; only available items are searchable
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (LOWER(name) gin_trgm_ops)
+    WHERE available = true;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (LOWER(description) gin_trgm_ops)
+    WHERE available = true;
+
 DROP TYPE IF EXISTS bookingstatus CASCADE;
 CREATE TYPE bookingstatus AS ENUM (
     'WAITING',
@@ -37,22 +63,59 @@ CREATE TYPE bookingstatus AS ENUM (
     );
 
 CREATE TABLE IF NOT EXISTS bookings (
-                                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                        id BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
                                         start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
                                         end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
                                         item_id BIGINT NOT NULL,
                                         booker_id BIGINT NOT NULL,
                                         status bookingstatus NOT NULL,
                                         FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-                                        FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
+                                        FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE,
+                                        -- Waiting and approved bookings of an item may not overlap
+                                        CONSTRAINT bookings_no_overlap EXCLUDE USING gist (
+                                            item_id WITH =,
+                                            tsrange(start_date, end_date, '[)') WITH &&
+                                        ) WHERE (status IN ('WAITING', 'APPROVED'))
 );
 
+-- Booker and owner listings seek by booker or item and read (start_date, id) newest first, also past a cursor
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+-- WAITING and REJECTED listings; status follows the seek column since it has only three values
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC, id DESC);
+
+-- Backs the last/next booking lookup: one seek per item in either direction of start_date
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_approved ON bookings (item_id, start_date)
+    WHERE status = 'APPROVED';
+
 CREATE TABLE IF NOT EXISTS comments (
-                                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                                        id BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
                                         text TEXT NOT NULL,
                                         item_id BIGINT NOT NULL,
                                         author_id BIGINT NOT NULL,
                                         created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
                                         FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
                                         FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Denormalized last/next approved booking per item, refreshed on booking writes and rolled forward periodically
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+                                                    item_id BIGINT PRIMARY KEY,
+                                                    last_booking_id BIGINT,
+                                                    last_booker_id BIGINT,
+                                                    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+                                                    last_end_date TIMESTAMP WITHOUT TIME ZONE,
+                                                    next_booking_id BIGINT,
+                                                    next_booker_id BIGINT,
+                                                    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+                                                    next_end_date TIMESTAMP WITHOUT TIME ZONE,
+                                                    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+                                                    FOREIGN KEY (last_booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
+                                                    FOREIGN KEY (next_booking_id) REFERENCES bookings(id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_start ON item_booking_summary (next_start_date);
+-- Keep ON DELETE SET NULL from scanning the summary table on every booking delete
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_last_booking ON item_booking_summary (last_booking_id);
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_booking ON item_booking_summary (next_booking_id);
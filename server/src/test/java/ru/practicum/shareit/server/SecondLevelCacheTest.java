@@ -0,0 +1,209 @@
+package ru.practicum.shareit.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
+import ru.practicum.shareit.server.user.UserRepository;
+import ru.practicum.shareit.server.user.UserServiceImpl;
+import ru.practicum.shareit.server.user.mapper.UserMapper;
+
+/**
+ * Runs with the second-level cache settings of the main configuration. The cache is enabled only here: the JCache
+ * provider shares one cache manager per JVM, so other test contexts, each with its own database, would read each
+ * other's entities.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider="
+                + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=classpath:hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create-warn",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-Level Cache Tests")
+@Testcontainers
+class SecondLevelCacheTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> database = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16"));
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", database::getJdbcUrl);
+        registry.add("spring.datasource.username", database::getUsername);
+        registry.add("spring.datasource.password", database::getPassword);
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private UserExistenceCache userExistenceCache;
+
+    @MockitoBean
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+
+        owner = saveUser("Owner", "owner@example.com");
+        saveItem("Drill");
+        saveItem("Saw");
+
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private User saveUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private Item saveItem(String name) {
+        return saveItem(name, owner, null);
+    }
+
+    private Item saveItem(String name, User itemOwner, ItemRequest request) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name + " description");
+        item.setAvailable(true);
+        item.setOwner(itemOwner);
+        item.setRequest(request);
+        return itemRepository.save(item);
+    }
+
+    @Test
+    @DisplayName("findById should hit the database once and the user region afterwards")
+    void findById_whenLoadedTwice_shouldBeServedFromCache() {
+        userRepository.findById(owner.getId());
+        userRepository.findById(owner.getId());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(User.CACHE_REGION);
+        assertThat("First load should miss the cache", region.getMissCount(), is(1L));
+        assertThat("Second load should hit the cache", region.getHitCount(), is(1L));
+    }
+
+    @Test
+    @DisplayName("an update should replace the cached user")
+    void findById_afterUpdate_shouldReturnNewState() {
+        User cached = userRepository.findById(owner.getId()).orElseThrow();
+        cached.setName("Renamed");
+        userRepository.save(cached);
+
+        assertThat(userRepository.findById(owner.getId()).orElseThrow().getName(), is("Renamed"));
+    }
+
+    @Test
+    @DisplayName("findByOwnerId should be served from the query cache until items change")
+    void findByOwnerId_shouldUseQueryCacheAndInvalidateOnInsert() {
+        assertThat(itemRepository.findByOwnerId(owner.getId()), hasSize(2));
+        assertThat(itemRepository.findByOwnerId(owner.getId()), hasSize(2));
+
+        CacheRegionStatistics region = statistics.getQueryRegionStatistics(ItemRepository.ITEMS_BY_OWNER_REGION);
+        assertThat("Repeated query should hit the query cache", region.getHitCount(), is(1L));
+
+        saveItem("Hammer");
+
+        assertThat("Insert into items should invalidate cached results",
+                itemRepository.findByOwnerId(owner.getId()), hasSize(3));
+    }
+
+    @Test
+    @DisplayName("deleting a user should evict the items and requests the database cascade removed or changed")
+    void delete_whenUserHasItemsAndRequests_shouldEvictCascadedEntities() {
+        User requestor = saveUser("Requestor", "requestor@example.com");
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Need a ladder");
+        request.setRequestor(requestor);
+        request.setCreated(LocalDateTime.now());
+        request = itemRequestRepository.save(request);
+        Item answer = saveItem("Ladder", owner, request);
+        Item requestorItem = saveItem("Bike", requestor, null);
+        itemRepository.findById(answer.getId());
+        itemRepository.findById(requestorItem.getId());
+        itemRequestRepository.findById(request.getId());
+
+        Cache cache = sessionFactory.getCache();
+        assertThat("The answering item should be cached before the delete",
+                cache.containsEntity(Item.class, answer.getId()), is(true));
+
+        userService.delete(requestor.getId());
+
+        assertThat("Items of the deleted user should be evicted",
+                cache.containsEntity(Item.class, requestorItem.getId()), is(false));
+        assertThat("Requests of the deleted user should be evicted",
+                cache.containsEntity(ItemRequest.class, request.getId()), is(false));
+        assertThat("Items of the deleted user should no longer be found",
+                itemRepository.findById(requestorItem.getId()).isPresent(), is(false));
+        assertThat("An item answering a deleted request should lose the link set to null by the database",
+                itemRepository.findById(answer.getId()).orElseThrow().getRequest(), nullValue());
+    }
+}
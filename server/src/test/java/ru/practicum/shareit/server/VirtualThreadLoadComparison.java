@@ -0,0 +1,160 @@
+package ru.practicum.shareit.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Load comparison of the server with platform and virtual request threads. Starts PostgreSQL in a container, boots
+ * the application once per mode, seeds an owner with items, then drives {@code GET /items} and {@code POST /bookings}
+ * at a fixed concurrency and prints throughput and failures. Run {@link #main} from the test classpath with optional
+ * arguments {@code [requests] [concurrency] [items]}; Docker must be available.
+ */
+public final class VirtualThreadLoadComparison {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private VirtualThreadLoadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = intArg(args, 0, 20_000);
+        int concurrency = intArg(args, 1, 1_000);
+        int items = intArg(args, 2, 200);
+
+        try (PostgreSQLContainer<?> database = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"))) {
+            database.start();
+            System.out.printf("requests=%d concurrency=%d items=%d%n", requests, concurrency, items);
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(database, virtualThreads)) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    new Run(port, virtualThreads ? "virtual" : "platform", requests, concurrency, items).execute();
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(PostgreSQLContainer<?> database, boolean virtualThreads) {
+        return new SpringApplicationBuilder(ShareitServerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + database.getJdbcUrl(),
+                        "spring.datasource.username=" + database.getUsername(),
+                        "spring.datasource.password=" + database.getPassword(),
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.ru.practicum.shareit.server=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN")
+                .run();
+    }
+
+    private static int intArg(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private static final class Run {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        private final String baseUrl;
+        private final String mode;
+        private final int requests;
+        private final int concurrency;
+        private final int items;
+
+        Run(int port, String mode, int requests, int concurrency, int items) {
+            this.baseUrl = "http://localhost:" + port;
+            this.mode = mode;
+            this.requests = requests;
+            this.concurrency = concurrency;
+            this.items = items;
+        }
+
+        void execute() throws Exception {
+            long ownerId = createUser("owner");
+            long bookerId = createUser("booker");
+            List<Long> itemIds = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                itemIds.add(post("/items", ownerId,
+                        "{\"name\":\"Item " + i + "\",\"description\":\"Load item\",\"available\":true}"));
+            }
+            // each booking gets its own hour, so concurrent requests never conflict on availability
+            LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+
+            measure("GET /items", i -> request("/items?size=20", ownerId).GET().build());
+            measure("POST /bookings", i -> request("/bookings", bookerId)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"itemId\":" + itemIds.get(i % items)
+                            + ",\"start\":\"" + base.plusHours(i) + "\",\"end\":\""
+                            + base.plusHours(i).plusMinutes(30) + "\"}"))
+                    .build());
+        }
+
+        private void measure(String name, IntFunction<HttpRequest> requestFactory) throws Exception {
+            Semaphore permits = new Semaphore(concurrency);
+            AtomicInteger failures = new AtomicInteger();
+            List<Future<?>> pending = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < requests; i++) {
+                    HttpRequest request = requestFactory.apply(i);
+                    permits.acquire();
+                    pending.add(executor.submit(() -> {
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+            System.out.printf("%-8s %-15s %10.0f req/s %6d failed%n", mode, name, pending.size() / seconds,
+                    failures.get());
+        }
+
+        private long createUser(String name) throws Exception {
+            return post("/users", null, "{\"name\":\"" + name + "\",\"email\":\"" + name + "-" + mode
+                    + "@example.com\"}");
+        }
+
+        private long post(String path, Long userId, String body) throws Exception {
+            HttpRequest request = request(path, userId).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            String response = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            return OBJECT_MAPPER.readTree(response).get("id").asLong();
+        }
+
+        private HttpRequest.Builder request(String path, Long userId) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json");
+            return userId != null ? builder.header(USER_ID_HEADER, String.valueOf(userId)) : builder;
+        }
+    }
+}
@@ -3,8 +3,10 @@ package ru.practicum.shareit.server.booking;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.refEq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +27,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -93,6 +97,22 @@ class BookingControllerTest {
         verify(bookingService).saveBooking(refEq(newBookingDto), eq(bookerId));
     }
 
+    @Test
+    @DisplayName("POST /bookings/batch - Success")
+    void saveBookings_whenValid_shouldReturnCreatedAndBookingDtos() throws Exception {
+        when(bookingService.saveBookings(anyList(), eq(bookerId))).thenReturn(List.of(bookingDto1));
+
+        mockMvc.perform(post("/bookings/batch").header(userIdHeaderName, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newBookingDto))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(booking1Id.intValue())));
+
+        verify(bookingService).saveBookings(anyList(), eq(bookerId));
+    }
+
     @Test
     @DisplayName("POST /bookings - Failure (Booker Not Found)")
     void saveBooking_whenBookerNotFound_shouldReturnNotFound() throws Exception {
@@ -320,12 +340,62 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(booking1Id.intValue())));
+                .andExpect(jsonPath("$[0].id", is(booking1Id.intValue())))
+                .andExpect(header().string("X-Next-Cursor", start + "," + booking1Id));
 
         verify(bookingService).getBookingsByBooker(eq(bookerId), eq(BookingState.WAITING), eq(from),
                 eq(size));
     }
 
+    @Test
+    @DisplayName("GET /bookings?after={cursor} - Success (Last Page)")
+    void getBookingsByBooker_whenCursorGiven_shouldSeekAndOmitNextCursorOnLastPage() throws Exception {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(bookingService.getBookingsByBookerAfter(bookerId, BookingState.ALL,
+                new BookingCursor(cursorStart, 50L), 2)).thenReturn(new SliceImpl<>(List.of(bookingDto1)));
+
+        mockMvc.perform(get("/bookings")
+                        .header(userIdHeaderName, bookerId)
+                        .param("after", "2030-01-01T10:00:00,50")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(booking1Id.intValue())))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        verify(bookingService, never()).getBookingsByBooker(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner?after={cursor} - Success (More Pages)")
+    void getBookingsByOwner_whenCursorGivenAndMoreRows_shouldReturnNextCursor() throws Exception {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(bookingService.getBookingsByOwnerAfter(ownerId, BookingState.FUTURE,
+                new BookingCursor(cursorStart, 50L), 2)).thenReturn(
+                new SliceImpl<>(List.of(bookingDto2, bookingDto1), PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(userIdHeaderName, ownerId)
+                        .param("state", "FUTURE")
+                        .param("after", "2030-01-01T10:00:00,50")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string("X-Next-Cursor", start + "," + booking1Id));
+    }
+
+    @Test
+    @DisplayName("GET /bookings?after={cursor} - Failure (Malformed Cursor)")
+    void getBookingsByBooker_whenCursorMalformed_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header(userIdHeaderName, bookerId)
+                        .param("after", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Booking cursor must be in the form <startDate>,<id>")));
+
+        verify(bookingService, never()).getBookingsByBookerAfter(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("GET /bookings - Failure (Booker Not Found)")
     void getBookingsByBooker_whenUserNotFound_shouldReturnNotFound() throws Exception {
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.server.booking;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.exception.BookingBadRequestException;
+
+@DisplayName("BookingCursor Tests")
+class BookingCursorTest {
+
+    @Test
+    @DisplayName("should survive a round trip through its token")
+    void parse_whenTokenFromToToken_shouldRestoreCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 15, 30, 123_000_000), 42L);
+
+        assertThat("Parsed cursor should equal the original", BookingCursor.parse(cursor.toToken()),
+                equalTo(cursor));
+    }
+
+    @Test
+    @DisplayName("should reject tokens without an id or with a malformed date")
+    void parse_whenTokenMalformed_shouldThrowBadRequest() {
+        assertThrows(BookingBadRequestException.class, () -> BookingCursor.parse("2030-01-01T10:00:00"),
+                "Token without an id should be rejected");
+        assertThrows(BookingBadRequestException.class, () -> BookingCursor.parse("tomorrow,42"),
+                "Token with a malformed date should be rejected");
+        assertThrows(BookingBadRequestException.class, () -> BookingCursor.parse("2030-01-01T10:00:00,x"),
+                "Token with a non-numeric id should be rejected");
+    }
+}
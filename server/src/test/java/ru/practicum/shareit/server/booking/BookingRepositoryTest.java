@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,9 +15,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -152,26 +154,23 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (ALL) should return all bookings for booker1")
+    @DisplayName("findByBookerId should return all bookings for booker1")
     void findByBooker_StateALL_shouldReturnAllBooker1Bookings() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("startDate").descending());
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "ALL", now, pageable);
+        Slice<Booking> result = bookingRepository.findByBookerId(booker1.getId(), pageable);
 
         assertThat("Result content size should be 4 for ALL state for booker1", result.getContent(),
                 hasSize(4));
         assertThat("Result content should contain all bookings for booker1", result.getContent(),
                 containsInAnyOrder(booking1Past, booking2Current, booking3Future, booking4Rejected));
-        assertThat("Total elements should be 4 for ALL state for booker1",
-                result.getTotalElements(), equalTo(4L));
+        assertThat("No further page should follow for ALL state for booker1", result.hasNext(), is(false));
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (CURRENT) should return current booking")
+    @DisplayName("findCurrentByBookerId should return current booking")
     void findByBooker_StateCURRENT_shouldReturnCurrentBooking() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "CURRENT", now, pageable);
+        Slice<Booking> result = bookingRepository.findCurrentByBookerId(booker1.getId(), now, pageable);
 
         assertThat("Result content size should be 1 for CURRENT state for booker1",
                 result.getContent(), hasSize(1));
@@ -180,11 +179,10 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (PAST) should return past booking")
+    @DisplayName("findPastByBookerId should return past booking")
     void findByBooker_StatePAST_shouldReturnPastBooking() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "PAST", now, pageable);
+        Slice<Booking> result = bookingRepository.findPastByBookerId(booker1.getId(), now, pageable);
 
         assertThat("Result content size should be 1 for PAST state for booker1",
                 result.getContent(), hasSize(1));
@@ -193,11 +191,10 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (FUTURE) should return future bookings")
+    @DisplayName("findFutureByBookerId should return future bookings")
     void findByBooker_StateFUTURE_shouldReturnFutureBookings() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("startDate").descending());
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "FUTURE", now, pageable);
+        Slice<Booking> result = bookingRepository.findFutureByBookerId(booker1.getId(), now, pageable);
 
         assertThat("Result content size should be 2 for FUTURE state for booker1",
                 result.getContent(), hasSize(2));
@@ -207,11 +204,11 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (WAITING) should return waiting booking")
+    @DisplayName("findByBookerIdAndStatus (WAITING) should return waiting booking")
     void findByBooker_StateWAITING_shouldReturnWaitingBooking() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "WAITING", now, pageable);
+        Slice<Booking> result = bookingRepository.findByBookerIdAndStatus(booker1.getId(),
+                BookingStatus.WAITING, pageable);
 
         assertThat("Result content size should be 1 for WAITING state for booker1",
                 result.getContent(), hasSize(1));
@@ -220,11 +217,11 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState (REJECTED) should return rejected booking")
+    @DisplayName("findByBookerIdAndStatus (REJECTED) should return rejected booking")
     void findByBooker_StateREJECTED_shouldReturnRejectedBooking() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "REJECTED", now, pageable);
+        Slice<Booking> result = bookingRepository.findByBookerIdAndStatus(booker1.getId(),
+                BookingStatus.REJECTED, pageable);
 
         assertThat("Result content size should be 1 for REJECTED state for booker1",
                 result.getContent(), hasSize(1));
@@ -233,11 +230,10 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByBookerAndState should apply pagination")
+    @DisplayName("findByBookerId should apply pagination")
     void findByBooker_StateALL_WithPagination_shouldReturnPaginated() {
         Pageable pageable = PageRequest.of(0, 2, Sort.by("startDate").descending());
-        Page<Booking> result = bookingRepository.findBookingsByBookerAndState(booker1.getId(),
-                "ALL", now, pageable);
+        Slice<Booking> result = bookingRepository.findByBookerId(booker1.getId(), pageable);
 
         assertThat("Result content size should be 2 for paginated result (page 0, size 2)",
                 result.getContent(), hasSize(2));
@@ -247,19 +243,67 @@ class BookingRepositoryTest {
         assertThat(
                 "Second element in paginated result should be booking3Future based on descending sort",
                 result.getContent().get(1).getStatus(), equalTo(BookingStatus.WAITING));
-        assertThat("Total pages should be 2 for 4 elements with page size 2",
-                result.getTotalPages(), equalTo(2));
-        assertThat("Total elements should be 4 for ALL state for booker1",
-                result.getTotalElements(), equalTo(4L));
+        assertThat("A next page should follow for 4 elements with page size 2", result.hasNext(), is(true));
+
+        Slice<Booking> last = bookingRepository.findByBookerId(booker1.getId(), result.nextPageable());
+
+        assertThat("Last page should hold the remaining 2 bookings", last.getContent(), hasSize(2));
+        assertThat("No page should follow the last one", last.hasNext(), is(false));
     }
 
     @Test
-    @DisplayName("findBookingsByItemOwnerAndState (ALL) should return all bookings for owner's "
+    @DisplayName("findByBookerIdAfter should continue strictly after the cursor booking")
+    void findByBookerIdAfter_shouldSeekPastCursorInStartOrder() {
+        Slice<Booking> firstSlice = bookingRepository.findByBookerIdAfter(booker1.getId(),
+                booking4Rejected.getStartDate(), booking4Rejected.getId(), PageRequest.of(0, 2));
+
+        assertThat("Slice should hold the next two bookings by descending start", firstSlice.getContent(),
+                contains(booking3Future, booking2Current));
+        assertTrue(firstSlice.hasNext(), "booking1Past should still follow");
+
+        Slice<Booking> lastSlice = bookingRepository.findByBookerIdAfter(booker1.getId(),
+                booking2Current.getStartDate(), booking2Current.getId(), PageRequest.of(0, 2));
+
+        assertThat("Last slice should hold only booking1Past", lastSlice.getContent(),
+                contains(booking1Past));
+        assertFalse(lastSlice.hasNext(), "Nothing should follow the last booking");
+    }
+
+    @Test
+    @DisplayName("findByBookerIdAfter should break start date ties by id")
+    void findByBookerIdAfter_whenStartDatesTie_shouldOrderById() {
+        Booking sameStart = new Booking();
+        sameStart.setBooker(booker1);
+        sameStart.setItem(item1);
+        sameStart.setStartDate(booking3Future.getStartDate());
+        sameStart.setEndDate(booking3Future.getEndDate());
+        sameStart.setStatus(BookingStatus.REJECTED);
+        sameStart = entityManager.persistAndFlush(sameStart);
+
+        Slice<Booking> result = bookingRepository.findByBookerIdAfter(booker1.getId(),
+                sameStart.getStartDate(), sameStart.getId(), PageRequest.of(0, 1));
+
+        assertThat("Booking with the same start and a lower id should come next", result.getContent(),
+                contains(booking3Future));
+    }
+
+    @Test
+    @DisplayName("findFutureByItemOwnerIdAfter should seek within the owner's future bookings")
+    void findFutureByItemOwnerIdAfter_shouldSeekPastCursor() {
+        Slice<Booking> result = bookingRepository.findFutureByItemOwnerIdAfter(owner.getId(), now,
+                booking5OtherUser.getStartDate(), booking5OtherUser.getId(), PageRequest.of(0, 10));
+
+        assertThat("Future bookings after booking5OtherUser should follow by descending start",
+                result.getContent(), contains(booking4Rejected, booking3Future));
+        assertFalse(result.hasNext(), "No further future bookings should exist");
+    }
+
+    @Test
+    @DisplayName("findByItemOwnerId should return all bookings for owner's "
             + "items")
     void findByOwner_StateALL_shouldReturnAllOwnerItemBookings() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("startDate").descending());
-        Page<Booking> result = bookingRepository.findBookingsByItemOwnerAndState(owner.getId(),
-                "ALL", now, pageable);
+        Slice<Booking> result = bookingRepository.findByItemOwnerId(owner.getId(), pageable);
 
         assertThat("Result content size should be 5 for ALL state for owner", result.getContent(),
                 hasSize(5));
@@ -267,17 +311,26 @@ class BookingRepositoryTest {
                 result.getContent(),
                 containsInAnyOrder(booking1Past, booking2Current, booking3Future, booking4Rejected,
                         booking5OtherUser));
-        assertThat("Total elements should be 5 for ALL state for owner", result.getTotalElements(),
-                equalTo(5L));
+        assertThat("No further page should follow for ALL state for owner", result.hasNext(), is(false));
+    }
+
+    @Test
+    @DisplayName("streamByItemOwnerId should stream every booking of owner's items, newest first")
+    void streamByItemOwnerId_shouldStreamOwnerItemBookingsNewestFirst() {
+        try (Stream<Booking> result = bookingRepository.streamByItemOwnerId(owner.getId())) {
+            assertThat("Stream should contain all bookings for owner's items in start date order",
+                    result.toList(),
+                    contains(booking5OtherUser, booking4Rejected, booking3Future, booking2Current, booking1Past));
+        }
     }
 
     @Test
-    @DisplayName("findBookingsByItemOwnerAndState (WAITING) should return waiting bookings for "
+    @DisplayName("findByItemOwnerIdAndStatus (WAITING) should return waiting bookings for "
             + "owner's items")
     void findByOwner_StateWAITING_shouldReturnWaitingBooking() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByItemOwnerAndState(owner.getId(),
-                "WAITING", now, pageable);
+        Slice<Booking> result = bookingRepository.findByItemOwnerIdAndStatus(owner.getId(),
+                BookingStatus.WAITING, pageable);
 
         assertThat("Result content size should be 1 for WAITING state for owner",
                 result.getContent(), hasSize(1));
@@ -286,12 +339,11 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByItemOwnerAndState (FUTURE) should return future bookings for "
+    @DisplayName("findFutureByItemOwnerId should return future bookings for "
             + "owner's items")
     void findByOwner_StateFUTURE_shouldReturnFutureBookings() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("startDate").descending());
-        Page<Booking> result = bookingRepository.findBookingsByItemOwnerAndState(owner.getId(),
-                "FUTURE", now, pageable);
+        Slice<Booking> result = bookingRepository.findFutureByItemOwnerId(owner.getId(), now, pageable);
 
         assertThat("Result content size should be 3 for FUTURE state for owner",
                 result.getContent(), hasSize(3));
@@ -303,11 +355,31 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findBookingsByItemOwnerAndState for owner of item2 (booker1)")
+    @DisplayName("findCurrentByItemOwnerId should return the running booking of owner's items")
+    void findByOwner_StateCURRENT_shouldReturnCurrentBooking() {
+        Slice<Booking> result = bookingRepository.findCurrentByItemOwnerId(owner.getId(), now,
+                Pageable.unpaged());
+
+        assertThat("Result content should contain only booking2Current for owner", result.getContent(),
+                contains(booking2Current));
+    }
+
+    @Test
+    @DisplayName("findPastByItemOwnerId should return finished bookings of owner's items")
+    void findByOwner_StatePAST_shouldReturnPastBooking() {
+        Slice<Booking> result = bookingRepository.findPastByItemOwnerId(owner.getId(), now,
+                Pageable.unpaged());
+
+        assertThat("Result content should contain only booking1Past for owner", result.getContent(),
+                contains(booking1Past));
+    }
+
+    @Test
+    @DisplayName("findByItemOwnerIdAndStatus for owner of item2 (booker1)")
     void findByOwner_OwnerIsBooker1_StateWAITING_shouldReturnBooking6() {
         Pageable pageable = Pageable.unpaged();
-        Page<Booking> result = bookingRepository.findBookingsByItemOwnerAndState(booker1.getId(),
-                "WAITING", now, pageable);
+        Slice<Booking> result = bookingRepository.findByItemOwnerIdAndStatus(booker1.getId(),
+                BookingStatus.WAITING, pageable);
 
         assertThat(
                 "Result content size should be 1 for WAITING state for booker1 (as owner of item2)",
@@ -375,72 +447,95 @@ class BookingRepositoryTest {
     }
 
     @Test
-    @DisplayName("findNextApprovedBookingsShortForItems should return future approved")
-    void findNextApproved_shouldReturnCorrectDtos() {
-        List<BookingShortDto> result = bookingRepository.findNextApprovedBookingsShortForItems(
+    @DisplayName("findLastAndNextApprovedBookingsForItems should return one last and one next booking")
+    void findLastAndNext_shouldReturnLatestStartedAndEarliestUpcoming() {
+        List<BookingShortView> result = bookingRepository.findLastAndNextApprovedBookingsForItems(
                 List.of(item1.getId()), now);
 
-        assertThat("Should return 1 next approved booking for item1", result, hasSize(1));
-        assertThat("The next approved booking should be booking5OtherUser",
-                result.getFirst().getId(), equalTo(booking5OtherUser.getId()));
-        BookingShortDto dto = result.getFirst();
-        assertThat("Booker ID in DTO should match booker2's ID", dto.getBookerId(),
-                equalTo(booker2.getId()));
-        assertThat("Item ID in DTO should match item1's ID", dto.getItemId(),
-                equalTo(item1.getId()));
-        assertThat("Start date in DTO should match booking5OtherUser's start date", dto.getStart(),
+        assertThat("Should return exactly the last and the next approved booking for item1",
+                result.stream().map(BookingShortView::getId).toList(),
+                containsInAnyOrder(booking2Current.getId(), booking5OtherUser.getId()));
+        BookingShortView next = result.stream()
+                .filter(view -> view.getId().equals(booking5OtherUser.getId())).findFirst().orElseThrow();
+        assertThat("Booker ID should match booker2's ID", next.getBookerId(), equalTo(booker2.getId()));
+        assertThat("Item ID should match item1's ID", next.getItemId(), equalTo(item1.getId()));
+        assertThat("Start date should match booking5OtherUser's start date", next.getStartDate(),
                 equalTo(booking5OtherUser.getStartDate()));
-        assertThat("End date in DTO should match booking5OtherUser's end date", dto.getEnd(),
+        assertThat("End date should match booking5OtherUser's end date", next.getEndDate(),
                 equalTo(booking5OtherUser.getEndDate()));
     }
 
     @Test
-    @DisplayName("findNextApprovedBookingsShortForItems should ignore past/current/non-approved")
-    void findNextApproved_shouldIgnorePastCurrentNonApproved() {
-        List<BookingShortDto> result = bookingRepository.findNextApprovedBookingsShortForItems(
+    @DisplayName("findLastAndNextApprovedBookingsForItems should pick the nearest upcoming booking")
+    void findLastAndNext_whenSeveralUpcoming_shouldReturnEarliest() {
+        Booking anotherFutureApproved = new Booking();
+        anotherFutureApproved.setBooker(booker1);
+        anotherFutureApproved.setItem(item1);
+        anotherFutureApproved.setStartDate(now.plusDays(10));
+        anotherFutureApproved.setEndDate(now.plusDays(11));
+        anotherFutureApproved.setStatus(BookingStatus.APPROVED);
+        entityManager.persistAndFlush(anotherFutureApproved);
+
+        List<BookingShortView> result = bookingRepository.findLastAndNextApprovedBookingsForItems(
                 List.of(item1.getId()), now);
 
-        assertThat("Should return only the 1 next approved booking", result, hasSize(1));
-        assertTrue(result.stream().noneMatch(dto -> dto.getId().equals(booking1Past.getId())),
-                "Result should not contain the past booking");
-        assertTrue(result.stream().noneMatch(dto -> dto.getId().equals(booking2Current.getId())),
-                "Result should not contain the current booking");
-        assertTrue(result.stream().noneMatch(dto -> dto.getId().equals(booking3Future.getId())),
-                "Result should not contain the waiting future booking");
-        assertTrue(result.stream().noneMatch(dto -> dto.getId().equals(booking4Rejected.getId())),
-                "Result should not contain the rejected future booking");
+        assertThat("Only the earliest upcoming booking should be returned as next",
+                result.stream().map(BookingShortView::getId).toList(),
+                containsInAnyOrder(booking2Current.getId(), booking5OtherUser.getId()));
     }
 
     @Test
-    @DisplayName("findNextApprovedBookingsShortForItems handles multiple items")
-    void findNextApproved_whenMultipleItems_shouldReturnCorrectDtos() {
-        List<BookingShortDto> result = bookingRepository.findNextApprovedBookingsShortForItems(
+    @DisplayName("findLastAndNextApprovedBookingsForItems should skip items without approved bookings")
+    void findLastAndNext_whenMultipleItems_shouldReturnRowsOnlyForBookedItems() {
+        List<BookingShortView> result = bookingRepository.findLastAndNextApprovedBookingsForItems(
                 List.of(item1.getId(), item2.getId()), now);
 
-        assertThat("Should return 1 next approved booking across multiple items", result,
-                hasSize(1));
-        assertThat("The next approved booking should be booking5OtherUser (from item1)",
-                result.getFirst().getId(), equalTo(booking5OtherUser.getId()));
+        assertThat("Should return 2 rows, both for item1", result, hasSize(2));
+        assertTrue(result.stream().allMatch(view -> view.getItemId().equals(item1.getId())),
+                "item2 has only a waiting booking and should yield no rows");
     }
 
     @Test
-    @DisplayName("findNextApprovedBookingsShortForItems ordering check")
-    void findNextApproved_shouldOrderByStartDateAsc() {
-        Booking anotherFutureApproved = new Booking();
-        anotherFutureApproved.setBooker(booker1);
-        anotherFutureApproved.setItem(item1);
-        anotherFutureApproved.setStartDate(now.plusDays(10));
-        anotherFutureApproved.setEndDate(now.plusDays(11));
-        anotherFutureApproved.setStatus(BookingStatus.APPROVED);
-        entityManager.persistAndFlush(anotherFutureApproved);
+    @DisplayName("findActiveBookingsForItemEndingAfter should return running waiting and approved bookings")
+    void findActiveBookings_shouldSkipFinishedAndRejectedInStartOrder() {
+        List<BookingShortView> result = bookingRepository.findActiveBookingsForItemEndingAfter(
+                item1.getId(), now);
+
+        assertThat("Finished and rejected bookings should be skipped, the rest ordered by start",
+                result.stream().map(BookingShortView::getId).toList(),
+                contains(booking2Current.getId(), booking3Future.getId(), booking5OtherUser.getId()));
+    }
 
-        List<BookingShortDto> result = bookingRepository.findNextApprovedBookingsShortForItems(
-                List.of(item1.getId()), now);
+    @Test
+    @DisplayName("findActiveBookingsForItemEndingAfter should return nothing for an item without bookings")
+    void findActiveBookings_whenItemHasNoBookings_shouldReturnEmptyList() {
+        Item unbookedItem = new Item();
+        unbookedItem.setName("Tent");
+        unbookedItem.setDescription("Two-person tent");
+        unbookedItem.setAvailable(true);
+        unbookedItem.setOwner(owner);
+        unbookedItem = entityManager.persistAndFlush(unbookedItem);
+
+        assertThat("Item without bookings should have no active bookings",
+                bookingRepository.findActiveBookingsForItemEndingAfter(unbookedItem.getId(), now),
+                is(empty()));
+    }
 
-        assertThat("Should return 2 next approved bookings", result, hasSize(2));
-        assertThat("First booking should be booking5OtherUser (start date +5 days)",
-                result.get(0).getId(), equalTo(booking5OtherUser.getId()));
-        assertThat("Second booking should be anotherFutureApproved (start date +10 days)",
-                result.get(1).getId(), equalTo(anotherFutureApproved.getId()));
+    @Test
+    @DisplayName("bookings_no_overlap should reject an overlapping active booking of the same item")
+    void save_whenOverlappingActiveBooking_shouldViolateExclusionConstraint() {
+        Booking overlapping = new Booking();
+        overlapping.setBooker(booker2);
+        overlapping.setItem(item1);
+        overlapping.setStartDate(now.plusDays(5).plusHours(6));
+        overlapping.setEndDate(now.plusDays(7));
+        overlapping.setStatus(BookingStatus.WAITING);
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.saveAndFlush(overlapping),
+                "Overlapping booking5OtherUser (APPROVED) should be rejected by the database");
+        assertThat("Violation should name the exclusion constraint",
+                exception.getMostSpecificCause().getMessage(),
+                containsString(BookingRepository.NO_OVERLAP_CONSTRAINT));
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.booking;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
@@ -8,21 +9,24 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -33,20 +37,25 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.common.dto.booking.BookingDto;
 import ru.practicum.shareit.common.dto.booking.NewBookingDto;
 import ru.practicum.shareit.common.enums.BookingState;
 import ru.practicum.shareit.common.enums.BookingStatus;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.server.booking.mapper.BookingMapper;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummaryUpdater;
 import ru.practicum.shareit.server.exception.*;
 import ru.practicum.shareit.server.item.Item;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,9 +80,15 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private ItemBookingSummaryUpdater itemBookingSummaryUpdater;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private User owner;
@@ -92,6 +107,12 @@ class BookingServiceImplTest {
     private LocalDateTime startValid;
     private LocalDateTime endValid;
 
+    private static DataIntegrityViolationException overlapViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("conflicting key value violates exclusion constraint",
+                        new SQLException("violation", "23P01"), BookingRepository.NO_OVERLAP_CONSTRAINT));
+    }
+
     @BeforeEach
     void setUp() {
         now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
@@ -214,6 +235,8 @@ class BookingServiceImplTest {
             when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
             when(itemRepository.findById(newBookingDtoValid.getItemId())).thenReturn(
                     Optional.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(true);
             when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(mappedBooking);
             when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
             when(bookingMapper.mapToDto(savedBooking)).thenReturn(bookingDtoWaiting);
@@ -234,6 +257,7 @@ class BookingServiceImplTest {
             assertThat("Saved booking should have WAITING status", capturedBooking.getStatus(),
                     equalTo(BookingStatus.WAITING));
             verify(bookingMapper).mapToDto(savedBooking);
+            verify(itemAvailabilityIndex).invalidate(itemAvailableId);
         }
 
         @Test
@@ -334,6 +358,163 @@ class BookingServiceImplTest {
             verify(itemRepository).findById(itemAvailableId);
             verifyNoInteractions(bookingMapper, bookingRepository);
         }
+
+        @Test
+        @DisplayName("should throw BookingConflictException when period overlaps an active booking")
+        void saveBooking_whenPeriodOverlaps_shouldThrowBookingConflictException() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findById(itemAvailableId)).thenReturn(Optional.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(false);
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.saveBooking(newBookingDtoValid, bookerId),
+                    "Should throw BookingConflictException when the item is already booked");
+
+            verify(bookingRepository, never()).save(any(Booking.class));
+            verifyNoInteractions(bookingMapper);
+        }
+
+        @Test
+        @DisplayName("should throw BookingConflictException when a concurrent booking wins the race")
+        void saveBooking_whenExclusionConstraintViolated_shouldThrowBookingConflictException() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findById(itemAvailableId)).thenReturn(Optional.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(true);
+            when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(new Booking());
+            when(bookingRepository.save(any(Booking.class))).thenThrow(overlapViolation());
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.saveBooking(newBookingDtoValid, bookerId),
+                    "Should translate the exclusion constraint violation into a conflict");
+
+            verify(bookingMapper, never()).mapToDto(any(Booking.class));
+            verify(itemAvailabilityIndex, never()).invalidate(anyLong());
+        }
+
+        @Test
+        @DisplayName("should detect the overlap by SQLSTATE when no constraint name was extracted")
+        void saveBooking_whenExclusionViolationWithoutConstraintName_shouldThrowBookingConflictException() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findById(itemAvailableId)).thenReturn(Optional.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(true);
+            when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(new Booking());
+            when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                    "could not execute statement", new SQLException("violation", "23P01")));
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.saveBooking(newBookingDtoValid, bookerId),
+                    "Should translate an exclusion violation into a conflict");
+        }
+
+        @Test
+        @DisplayName("should rethrow integrity violations unrelated to overlapping bookings")
+        void saveBooking_whenOtherIntegrityViolation_shouldRethrow() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findById(itemAvailableId)).thenReturn(Optional.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(true);
+            when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(new Booking());
+            when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                    "could not execute statement", new ConstraintViolationException(
+                    "violates foreign key constraint", new SQLException("violation", "23503"),
+                    "bookings_item_id_fkey")));
+
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> bookingService.saveBooking(newBookingDtoValid, bookerId),
+                    "Should not report unrelated integrity violations as conflicts");
+        }
+    }
+
+    @Nested
+    @DisplayName("saveBookings Tests")
+    class SaveBookingsTests {
+
+        @Test
+        @DisplayName("should save all bookings in one call and invalidate each booked item once")
+        void saveBookings_whenValidRequest_shouldSaveAllAndReturnDtos() {
+            NewBookingDto later = new NewBookingDto(itemAvailableId, endValid, endValid.plusDays(1));
+            Booking first = new Booking();
+            Booking second = new Booking();
+            BookingDto secondDto = new BookingDto(bookingWaitingId + 1, null, null, later.getStart(),
+                    later.getEnd(), BookingStatus.WAITING.toString());
+
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findAllById(Set.of(itemAvailableId))).thenReturn(List.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(eq(itemAvailableId), any(LocalDateTime.class),
+                    any(LocalDateTime.class))).thenReturn(true);
+            when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(first);
+            when(bookingMapper.mapToBooking(later)).thenReturn(second);
+            when(bookingRepository.saveAllAndFlush(List.of(first, second))).thenReturn(List.of(first, second));
+            when(bookingMapper.mapToDto(first)).thenReturn(bookingDtoWaiting);
+            when(bookingMapper.mapToDto(second)).thenReturn(secondDto);
+
+            List<BookingDto> result = bookingService.saveBookings(List.of(newBookingDtoValid, later), bookerId);
+
+            assertThat("Should return the saved bookings in request order", result,
+                    contains(bookingDtoWaiting, secondDto));
+            assertThat("Saved bookings should have the booker set", second.getBooker(), equalTo(booker));
+            assertThat("Saved bookings should have the item set", second.getItem(), equalTo(itemAvailable));
+            verify(itemRepository, never()).findById(anyLong());
+            verify(itemAvailabilityIndex).invalidate(itemAvailableId);
+        }
+
+        @Test
+        @DisplayName("should return empty list for an empty batch")
+        void saveBookings_whenEmpty_shouldReturnEmptyList() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+
+            assertThat("Should return an empty list", bookingService.saveBookings(List.of(), bookerId),
+                    is(empty()));
+            verifyNoInteractions(itemRepository, bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should throw NotFoundException and save nothing when an item is missing")
+        void saveBookings_whenItemNotFound_shouldThrowNotFoundException() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findAllById(Set.of(itemAvailableId))).thenReturn(List.of());
+
+            assertThrows(NotFoundException.class,
+                    () -> bookingService.saveBookings(List.of(newBookingDtoValid), bookerId),
+                    "Should throw NotFoundException when a booked item does not exist");
+            verifyNoInteractions(bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should throw BookingConflictException when the batch books an item twice for overlapping periods")
+        void saveBookings_whenBatchOverlapsItself_shouldThrowBookingConflictException() {
+            NewBookingDto overlapping = new NewBookingDto(itemAvailableId, startValid.plusHours(1),
+                    endValid.plusHours(1));
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findAllById(Set.of(itemAvailableId))).thenReturn(List.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(eq(itemAvailableId), any(LocalDateTime.class),
+                    any(LocalDateTime.class))).thenReturn(true);
+            when(bookingMapper.mapToBooking(any(NewBookingDto.class))).thenReturn(new Booking());
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.saveBookings(List.of(overlapping, newBookingDtoValid), bookerId),
+                    "Should reject overlapping periods for the same item within one batch");
+            verifyNoInteractions(bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should map an exclusion constraint violation to BookingConflictException")
+        void saveBookings_whenConcurrentBookingWins_shouldThrowBookingConflictException() {
+            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(itemRepository.findAllById(Set.of(itemAvailableId))).thenReturn(List.of(itemAvailable));
+            when(itemAvailabilityIndex.isFree(itemAvailableId, newBookingDtoValid.getStart(),
+                    newBookingDtoValid.getEnd())).thenReturn(true);
+            when(bookingMapper.mapToBooking(newBookingDtoValid)).thenReturn(new Booking());
+            when(bookingRepository.saveAllAndFlush(any())).thenThrow(overlapViolation());
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.saveBookings(List.of(newBookingDtoValid), bookerId),
+                    "Should report a lost race as a conflict");
+            verify(itemAvailabilityIndex, never()).invalidate(anyLong());
+        }
     }
 
     @Nested
@@ -343,7 +524,7 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("should return BookingDto when requested by Booker")
         void getById_whenRequestedByBooker_shouldReturnDto() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(
                     Optional.of(bookingWaiting));
             when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
@@ -352,7 +533,7 @@ class BookingServiceImplTest {
 
             assertThat("Should return the booking DTO when requested by the booker", result,
                     equalTo(bookingDtoWaiting));
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verify(bookingMapper).mapToDto(bookingWaiting);
         }
@@ -360,7 +541,7 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("should return BookingDto when requested by Owner")
         void getById_whenRequestedByOwner_shouldReturnDto() {
-            when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+            when(userExistenceCache.exists(ownerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(
                     Optional.of(bookingWaiting));
             when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
@@ -369,7 +550,7 @@ class BookingServiceImplTest {
 
             assertThat("Should return the booking DTO when requested by the owner", result,
                     equalTo(bookingDtoWaiting));
-            verify(userRepository).findById(ownerId);
+            verify(userExistenceCache).exists(ownerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verify(bookingMapper).mapToDto(bookingWaiting);
         }
@@ -377,27 +558,27 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when requesting user not found")
         void getById_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(bookerId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                     () -> bookingService.getById(bookerId, bookingWaitingId),
                     "Should throw NotFoundException when requesting user is not found");
 
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verifyNoInteractions(bookingRepository, bookingMapper);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when booking not found")
         void getById_whenBookingNotFound_shouldThrowBookingNotFoundException() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
                     () -> bookingService.getById(bookerId, bookingWaitingId),
                     "Should throw NotFoundException when booking is not found");
 
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verifyNoInteractions(bookingMapper);
         }
@@ -407,8 +588,7 @@ class BookingServiceImplTest {
         void getById_whenUserNotBookerOrOwner_shouldThrowAccessDeniedException() {
             User unrelatedUser = new User();
             unrelatedUser.setId(3L);
-            when(userRepository.findById(unrelatedUser.getId())).thenReturn(
-                    Optional.of(unrelatedUser));
+            when(userExistenceCache.exists(unrelatedUser.getId())).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(
                     Optional.of(bookingWaiting));
 
@@ -416,7 +596,7 @@ class BookingServiceImplTest {
                     () -> bookingService.getById(unrelatedUser.getId(), bookingWaitingId),
                     "Should throw AccessDeniedException when user is not the booker or owner");
 
-            verify(userRepository).findById(unrelatedUser.getId());
+            verify(userExistenceCache).exists(unrelatedUser.getId());
             verify(bookingRepository).findById(bookingWaitingId);
             verifyNoInteractions(bookingMapper);
         }
@@ -438,11 +618,12 @@ class BookingServiceImplTest {
             assertThat("Booking status should be APPROVED after owner approves", result.getStatus(),
                     equalTo(BookingStatus.APPROVED.toString()));
             verify(bookingRepository).findById(bookingWaitingId);
-            verify(bookingRepository).save(bookingArgumentCaptor.capture());
+            verify(bookingRepository).saveAndFlush(bookingArgumentCaptor.capture());
             Booking savedBooking = bookingArgumentCaptor.getValue();
             assertThat("Saved booking status in repository should be APPROVED",
                     savedBooking.getStatus(), equalTo(BookingStatus.APPROVED));
             verify(bookingMapper).mapToDto(savedBooking);
+            verify(itemBookingSummaryUpdater).refresh(itemAvailableId);
         }
 
         @Test
@@ -459,11 +640,13 @@ class BookingServiceImplTest {
             assertThat("Booking status should be REJECTED after owner rejects", result.getStatus(),
                     equalTo(BookingStatus.REJECTED.toString()));
             verify(bookingRepository).findById(bookingWaitingId);
-            verify(bookingRepository).save(bookingArgumentCaptor.capture());
+            verify(bookingRepository).saveAndFlush(bookingArgumentCaptor.capture());
             Booking savedBooking = bookingArgumentCaptor.getValue();
             assertThat("Saved booking status in repository should be REJECTED",
                     savedBooking.getStatus(), equalTo(BookingStatus.REJECTED));
             verify(bookingMapper).mapToDto(savedBooking);
+            verify(itemBookingSummaryUpdater).refresh(itemAvailableId);
+            verify(itemAvailabilityIndex).invalidate(itemAvailableId);
         }
 
         @Test
@@ -477,7 +660,7 @@ class BookingServiceImplTest {
 
             verify(bookingRepository).findById(bookingWaitingId);
             verifyNoInteractions(bookingMapper);
-            verify(bookingRepository, never()).save(any());
+            verify(bookingRepository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -491,8 +674,36 @@ class BookingServiceImplTest {
                     "Should throw AccessDeniedException when user is not the owner of the item");
 
             verify(bookingRepository).findById(bookingWaitingId);
-            verifyNoInteractions(bookingMapper);
-            verify(bookingRepository, never()).save(any());
+            verifyNoInteractions(bookingMapper, itemBookingSummaryUpdater);
+            verify(bookingRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("should throw BookingBadRequestException when booking is no longer waiting")
+        void approveBooking_whenBookingNotWaiting_shouldThrowBookingBadRequestException() {
+            when(bookingRepository.findById(bookingApprovedId)).thenReturn(Optional.of(bookingApproved));
+
+            assertThrows(BookingBadRequestException.class,
+                    () -> bookingService.approveBooking(bookingApprovedId, ownerId, false),
+                    "Should not change the status of a booking that was already decided");
+
+            assertThat("Status of the decided booking should stay APPROVED", bookingApproved.getStatus(),
+                    equalTo(BookingStatus.APPROVED));
+            verifyNoInteractions(bookingMapper, itemBookingSummaryUpdater, itemAvailabilityIndex);
+            verify(bookingRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("should throw BookingConflictException when approval overlaps another booking")
+        void approveBooking_whenExclusionConstraintViolated_shouldThrowBookingConflictException() {
+            when(bookingRepository.findById(bookingWaitingId)).thenReturn(Optional.of(bookingWaiting));
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(overlapViolation());
+
+            assertThrows(BookingConflictException.class,
+                    () -> bookingService.approveBooking(bookingWaitingId, ownerId, true),
+                    "Should translate the exclusion constraint violation into a conflict");
+
+            verifyNoInteractions(bookingMapper, itemBookingSummaryUpdater, itemAvailabilityIndex);
         }
     }
 
@@ -503,42 +714,57 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("should delete booking when user is booker")
         void delete_whenUserIsBooker_shouldDeleteBooking() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(
                     Optional.of(bookingWaiting));
 
             assertDoesNotThrow(() -> bookingService.delete(bookingWaitingId, bookerId),
                     "Should not throw an exception when booker deletes their booking");
 
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verify(bookingRepository).deleteById(bookingWaitingId);
+            verifyNoInteractions(itemBookingSummaryUpdater);
+            verify(itemAvailabilityIndex).invalidate(itemAvailableId);
+        }
+
+        @Test
+        @DisplayName("should refresh item booking summary when deleting an approved booking")
+        void delete_whenBookingApproved_shouldRefreshSummary() {
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
+            when(bookingRepository.findById(bookingApprovedId)).thenReturn(
+                    Optional.of(bookingApproved));
+
+            bookingService.delete(bookingApprovedId, bookerId);
+
+            verify(bookingRepository).deleteById(bookingApprovedId);
+            verify(itemBookingSummaryUpdater).refresh(itemAvailableId);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when user not found")
         void delete_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(bookerId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                     () -> bookingService.delete(bookingWaitingId, bookerId),
                     "Should throw NotFoundException when user is not found");
 
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verifyNoInteractions(bookingRepository);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when booking not found")
         void delete_whenBookingNotFound_shouldThrowBookingNotFoundException() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
                     () -> bookingService.delete(bookingWaitingId, bookerId),
                     "Should throw NotFoundException when booking is not found");
 
-            verify(userRepository).findById(bookerId);
+            verify(userExistenceCache).exists(bookerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verify(bookingRepository, never()).deleteById(anyLong());
         }
@@ -546,7 +772,7 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("should throw AccessDeniedException when user is not booker")
         void delete_whenUserIsNotBooker_shouldThrowAccessDeniedException() {
-            when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+            when(userExistenceCache.exists(ownerId)).thenReturn(true);
             when(bookingRepository.findById(bookingWaitingId)).thenReturn(
                     Optional.of(bookingWaiting));
 
@@ -554,7 +780,7 @@ class BookingServiceImplTest {
                     () -> bookingService.delete(bookingWaitingId, ownerId),
                     "Should throw AccessDeniedException when user is not the booker");
 
-            verify(userRepository).findById(ownerId);
+            verify(userExistenceCache).exists(ownerId);
             verify(bookingRepository).findById(bookingWaitingId);
             verify(bookingRepository, never()).deleteById(anyLong());
         }
@@ -566,16 +792,16 @@ class BookingServiceImplTest {
 
         private final int from = 0;
         private final int size = 10;
-        private final Sort defaultSort = Sort.by("startDate").descending();
+        private final Sort defaultSort = Sort.by("startDate").descending().and(Sort.by("id").descending());
+        private final BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 50L);
 
         @Test
         @DisplayName("getBookingsByBooker should call repository with correct parameters")
         void getBookingsByBooker_shouldCallRepositoryCorrectly() {
-            Page<Booking> page = new PageImpl<>(List.of(bookingWaiting),
-                    PageRequest.of(0, size, defaultSort), 1);
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-            when(bookingRepository.findBookingsByBookerAndState(eq(bookerId),
-                    eq(BookingState.WAITING.name()), any(LocalDateTime.class),
+            Slice<Booking> page = new SliceImpl<>(List.of(bookingWaiting),
+                    PageRequest.of(0, size, defaultSort), false);
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
+            when(bookingRepository.findByBookerIdAndStatus(eq(bookerId), eq(BookingStatus.WAITING),
                     any(Pageable.class))).thenReturn(page);
             when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
 
@@ -585,9 +811,8 @@ class BookingServiceImplTest {
             assertThat("Should return a list with one booking DTO", result, hasSize(1));
             assertThat("The returned booking DTO should be the expected one", result.getFirst(),
                     equalTo(bookingDtoWaiting));
-            verify(userRepository).findById(bookerId);
-            verify(bookingRepository).findBookingsByBookerAndState(eq(bookerId),
-                    eq(BookingState.WAITING.name()), timeArgumentCaptor.capture(),
+            verify(userExistenceCache).exists(bookerId);
+            verify(bookingRepository).findByBookerIdAndStatus(eq(bookerId), eq(BookingStatus.WAITING),
                     pageableArgumentCaptor.capture());
             Pageable capturedPageable = pageableArgumentCaptor.getValue();
             assertThat("Captured page number should be correct", capturedPageable.getPageNumber(),
@@ -602,11 +827,10 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("getBookingsByOwner should call repository with correct parameters")
         void getBookingsByOwner_shouldCallRepositoryCorrectly() {
-            Page<Booking> page = new PageImpl<>(List.of(bookingWaiting),
-                    PageRequest.of(0, size, defaultSort), 1);
-            when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-            when(bookingRepository.findBookingsByItemOwnerAndState(eq(ownerId),
-                    eq(BookingState.WAITING.name()), any(LocalDateTime.class),
+            Slice<Booking> page = new SliceImpl<>(List.of(bookingWaiting),
+                    PageRequest.of(0, size, defaultSort), false);
+            when(userExistenceCache.exists(ownerId)).thenReturn(true);
+            when(bookingRepository.findByItemOwnerIdAndStatus(eq(ownerId), eq(BookingStatus.WAITING),
                     any(Pageable.class))).thenReturn(page);
             when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
 
@@ -616,9 +840,8 @@ class BookingServiceImplTest {
             assertThat("Should return a list with one booking DTO", result, hasSize(1));
             assertThat("The returned booking DTO should be the expected one", result.getFirst(),
                     equalTo(bookingDtoWaiting));
-            verify(userRepository).findById(ownerId);
-            verify(bookingRepository).findBookingsByItemOwnerAndState(eq(ownerId),
-                    eq(BookingState.WAITING.name()), timeArgumentCaptor.capture(),
+            verify(userExistenceCache).exists(ownerId);
+            verify(bookingRepository).findByItemOwnerIdAndStatus(eq(ownerId), eq(BookingStatus.WAITING),
                     pageableArgumentCaptor.capture());
             Pageable capturedPageable = pageableArgumentCaptor.getValue();
             assertThat("Captured page number should be correct", capturedPageable.getPageNumber(),
@@ -630,33 +853,99 @@ class BookingServiceImplTest {
             verify(bookingMapper).mapToDto(bookingWaiting);
         }
 
+        @Test
+        @DisplayName("getBookingsByOwner should dispatch time-based states to their own queries")
+        void getBookingsByOwner_whenTimeBasedState_shouldUseMatchingQuery() {
+            when(userExistenceCache.exists(ownerId)).thenReturn(true);
+            when(bookingRepository.findCurrentByItemOwnerId(eq(ownerId), any(LocalDateTime.class),
+                    any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+            when(bookingRepository.findPastByItemOwnerId(eq(ownerId), any(LocalDateTime.class),
+                    any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+            when(bookingRepository.findFutureByItemOwnerId(eq(ownerId), any(LocalDateTime.class),
+                    any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+            LocalDateTime before = LocalDateTime.now();
+
+            bookingService.getBookingsByOwner(ownerId, BookingState.CURRENT, from, size);
+            bookingService.getBookingsByOwner(ownerId, BookingState.PAST, from, size);
+            bookingService.getBookingsByOwner(ownerId, BookingState.FUTURE, from, size);
+
+            verify(bookingRepository).findCurrentByItemOwnerId(eq(ownerId), timeArgumentCaptor.capture(),
+                    any(Pageable.class));
+            assertThat("Current bookings should be resolved against the request time",
+                    timeArgumentCaptor.getValue().isBefore(before), is(false));
+            verify(bookingRepository).findPastByItemOwnerId(eq(ownerId), any(LocalDateTime.class),
+                    any(Pageable.class));
+            verify(bookingRepository).findFutureByItemOwnerId(eq(ownerId), any(LocalDateTime.class),
+                    any(Pageable.class));
+            verify(bookingRepository, never()).findByItemOwnerId(anyLong(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("getBookingsByBookerAfter should seek past the cursor without counting")
+        void getBookingsByBookerAfter_shouldSeekPastCursor() {
+            ReflectionTestUtils.setField(bookingService, "maxSeekPageSize", 100);
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
+            when(bookingRepository.findByBookerIdAndStatusAfter(eq(bookerId), eq(BookingStatus.WAITING),
+                    eq(cursor.startDate()), eq(cursor.id()), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(bookingWaiting), PageRequest.of(0, size), true));
+            when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
+
+            Slice<BookingDto> result = bookingService.getBookingsByBookerAfter(bookerId, BookingState.WAITING,
+                    cursor, size);
+
+            assertThat("Slice should contain the mapped booking", result.getContent(),
+                    contains(bookingDtoWaiting));
+            assertThat("Slice should report a following page", result.hasNext(), is(true));
+            verify(bookingRepository).findByBookerIdAndStatusAfter(eq(bookerId), eq(BookingStatus.WAITING),
+                    eq(cursor.startDate()), eq(cursor.id()), pageableArgumentCaptor.capture());
+            assertThat("Seek page should always start at offset 0",
+                    pageableArgumentCaptor.getValue().getOffset(), equalTo(0L));
+            assertThat("Seek page should use the requested size",
+                    pageableArgumentCaptor.getValue().getPageSize(), equalTo(size));
+        }
+
+        @Test
+        @DisplayName("getBookingsByOwnerAfter should clamp missing and oversized page sizes")
+        void getBookingsByOwnerAfter_whenSizeMissingOrTooLarge_shouldUseCap() {
+            ReflectionTestUtils.setField(bookingService, "maxSeekPageSize", 100);
+            when(userExistenceCache.exists(ownerId)).thenReturn(true);
+            when(bookingRepository.findPastByItemOwnerIdAfter(eq(ownerId), any(LocalDateTime.class),
+                    eq(cursor.startDate()), eq(cursor.id()), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of()));
+
+            bookingService.getBookingsByOwnerAfter(ownerId, BookingState.PAST, cursor, null);
+            bookingService.getBookingsByOwnerAfter(ownerId, BookingState.PAST, cursor, 5_000);
+
+            verify(bookingRepository, times(2)).findPastByItemOwnerIdAfter(eq(ownerId), any(LocalDateTime.class),
+                    eq(cursor.startDate()), eq(cursor.id()), pageableArgumentCaptor.capture());
+            assertTrue(pageableArgumentCaptor.getAllValues().stream()
+                            .allMatch(pageable -> pageable.getPageSize() == 100),
+                    "Both requests should be clamped to the configured cap");
+            verifyNoInteractions(bookingMapper);
+        }
+
         @Test
         @DisplayName("getBookingsByBooker should use unpaged when from/size invalid")
         void getBookingsByBooker_whenPagingInvalid_shouldUseUnpaged() {
-            Page<Booking> page = new PageImpl<>(List.of(bookingWaiting));
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-            when(bookingRepository.findBookingsByBookerAndState(eq(bookerId),
-                    eq(BookingState.ALL.name()), any(LocalDateTime.class),
-                    eq(Pageable.unpaged()))).thenReturn(page);
+            Slice<Booking> page = new SliceImpl<>(List.of(bookingWaiting));
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
+            when(bookingRepository.findByBookerId(eq(bookerId), eq(Pageable.unpaged()))).thenReturn(page);
             when(bookingMapper.mapToDto(bookingWaiting)).thenReturn(bookingDtoWaiting);
 
             bookingService.getBookingsByBooker(bookerId, BookingState.ALL, null, size);
-            verify(bookingRepository).findBookingsByBookerAndState(anyLong(), anyString(),
-                    any(LocalDateTime.class), eq(Pageable.unpaged()));
+            verify(bookingRepository).findByBookerId(anyLong(), eq(Pageable.unpaged()));
 
             bookingService.getBookingsByBooker(bookerId, BookingState.ALL, -1, size);
-            verify(bookingRepository, times(2)).findBookingsByBookerAndState(anyLong(), anyString(),
-                    any(LocalDateTime.class), eq(Pageable.unpaged()));
+            verify(bookingRepository, times(2)).findByBookerId(anyLong(), eq(Pageable.unpaged()));
 
             bookingService.getBookingsByBooker(bookerId, BookingState.ALL, from, 0);
-            verify(bookingRepository, times(3)).findBookingsByBookerAndState(anyLong(), anyString(),
-                    any(LocalDateTime.class), eq(Pageable.unpaged()));
+            verify(bookingRepository, times(3)).findByBookerId(anyLong(), eq(Pageable.unpaged()));
         }
 
         @Test
         @DisplayName("getBookingsByBooker should throw NotFoundException")
         void getBookingsByBooker_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(bookerId)).thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> bookingService.getBookingsByBooker(bookerId, BookingState.ALL, from, size),
                     "Should throw NotFoundException when booker is not found");
@@ -666,7 +955,7 @@ class BookingServiceImplTest {
         @Test
         @DisplayName("getBookingsByOwner should throw NotFoundException")
         void getBookingsByOwner_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(ownerId)).thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> bookingService.getBookingsByOwner(ownerId, BookingState.ALL, from, size),
                     "Should throw NotFoundException when owner is not found");
@@ -677,10 +966,9 @@ class BookingServiceImplTest {
         @DisplayName(
                 "getBookingsByBooker should return empty list when repository returns empty " + "page")
         void getBookingsByBooker_whenNoBookingsMatch_shouldReturnEmptyList() {
-            Page<Booking> emptyPage = Page.empty();
-            when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-            when(bookingRepository.findBookingsByBookerAndState(anyLong(), anyString(),
-                    any(LocalDateTime.class), any(Pageable.class))).thenReturn(emptyPage);
+            Slice<Booking> emptyPage = new SliceImpl<>(List.of());
+            when(userExistenceCache.exists(bookerId)).thenReturn(true);
+            when(bookingRepository.findByBookerId(anyLong(), any(Pageable.class))).thenReturn(emptyPage);
 
             List<BookingDto> result = bookingService.getBookingsByBooker(bookerId, BookingState.ALL,
                     from, size);
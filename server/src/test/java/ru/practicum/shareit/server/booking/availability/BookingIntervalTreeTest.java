@@ -0,0 +1,98 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BookingIntervalTree Tests")
+class BookingIntervalTreeTest {
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private TimeWindow hours(int from, int to) {
+        return new TimeWindow(base.plusHours(from), base.plusHours(to));
+    }
+
+    @Test
+    @DisplayName("overlapsAny should treat periods as half-open")
+    void overlapsAny_whenPeriodsTouch_shouldNotOverlap() {
+        BookingIntervalTree tree = new BookingIntervalTree(List.of(hours(10, 12), hours(20, 22)));
+
+        assertThat("Period ending when a booking starts should be free",
+                tree.overlapsAny(base.plusHours(8), base.plusHours(10)), is(false));
+        assertThat("Period starting when a booking ends should be free",
+                tree.overlapsAny(base.plusHours(12), base.plusHours(20)), is(false));
+        assertThat("Period crossing a booking should overlap",
+                tree.overlapsAny(base.plusHours(11), base.plusHours(13)), is(true));
+        assertThat("Period inside a booking should overlap",
+                tree.overlapsAny(base.plusHours(21), base.plusHours(21).plusMinutes(30)), is(true));
+    }
+
+    @Test
+    @DisplayName("findOverlapping should find a long booking hidden behind later starts")
+    void findOverlapping_whenLongBookingStartsEarly_shouldStillBeFound() {
+        BookingIntervalTree tree = new BookingIntervalTree(
+                List.of(hours(30, 31), hours(0, 100), hours(10, 11), hours(50, 51)));
+
+        assertThat("Only the long booking covers hour 40", tree.findOverlapping(base.plusHours(40),
+                base.plusHours(41)), contains(hours(0, 100)));
+    }
+
+    @Test
+    @DisplayName("findFree should return the gaps between bookings inside the period")
+    void findFree_shouldReturnGapsInStartOrder() {
+        BookingIntervalTree tree = new BookingIntervalTree(
+                List.of(hours(20, 22), hours(4, 6), hours(5, 8), hours(30, 40)));
+
+        List<TimeWindow> free = tree.findFree(base, base.plusHours(32));
+
+        assertThat("Gaps should skip merged overlapping bookings and stop at the busy tail", free,
+                contains(hours(0, 4), hours(8, 20), hours(22, 30)));
+    }
+
+    @Test
+    @DisplayName("findFree should return the whole period for an item without bookings")
+    void findFree_whenNoBookings_shouldReturnWholePeriod() {
+        BookingIntervalTree tree = new BookingIntervalTree(List.of());
+
+        assertThat("Whole period should be free", tree.findFree(base, base.plusHours(5)),
+                contains(hours(0, 5)));
+        assertThat("Nothing should overlap an empty tree", tree.findOverlapping(base, base.plusHours(5)),
+                is(empty()));
+    }
+
+    @Test
+    @DisplayName("findOverlapping should agree with a linear scan")
+    void findOverlapping_shouldMatchLinearScan() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TimeWindow> periods = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(10_000);
+            periods.add(hours(start, start + 1 + random.nextInt(200)));
+        }
+        BookingIntervalTree tree = new BookingIntervalTree(periods);
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(10_200);
+            LocalDateTime queryFrom = base.plusHours(from);
+            LocalDateTime queryTo = base.plusHours(from + 1 + random.nextInt(100));
+            long expected = periods.stream()
+                    .filter(p -> p.start().isBefore(queryTo) && p.end().isAfter(queryFrom))
+                    .count();
+
+            assertThat("Tree should report the same overlaps as a scan",
+                    (long) tree.findOverlapping(queryFrom, queryTo).size(), equalTo(expected));
+            assertThat("overlapsAny should agree with the scan", tree.overlapsAny(queryFrom, queryTo),
+                    is(expected > 0));
+        }
+    }
+}
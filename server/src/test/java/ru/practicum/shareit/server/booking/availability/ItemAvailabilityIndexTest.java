@@ -0,0 +1,159 @@
+package ru.practicum.shareit.server.booking.availability;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.BookingShortView;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Availability Index Tests")
+class ItemAvailabilityIndexTest {
+
+    private static final Long ITEM_ID = 7L;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityIndex availabilityIndex;
+
+    private static BookingShortView booking(LocalDateTime start, LocalDateTime end) {
+        return new BookingShortView() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return 2L;
+            }
+
+            @Override
+            public Long getItemId() {
+                return ITEM_ID;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return end;
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new ItemAvailabilityIndex(bookingRepository, 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("should build the tree once and answer later queries from memory")
+    void queries_shouldLoadBookingsOnlyOnce() {
+        when(bookingRepository.findActiveBookingsForItemEndingAfter(eq(ITEM_ID), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking(base.plusHours(2), base.plusHours(4))));
+
+        assertThat("Period overlapping the booking should not be free",
+                availabilityIndex.isFree(ITEM_ID, base.plusHours(3), base.plusHours(5)), is(false));
+        assertThat("Free windows should surround the booking",
+                availabilityIndex.findFreeWindows(ITEM_ID, base, base.plusHours(6)),
+                contains(new TimeWindow(base, base.plusHours(2)),
+                        new TimeWindow(base.plusHours(4), base.plusHours(6))));
+
+        verify(bookingRepository, times(1)).findActiveBookingsForItemEndingAfter(eq(ITEM_ID),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("invalidate should make the next query reload the item's bookings")
+    void invalidate_shouldForceReload() {
+        when(bookingRepository.findActiveBookingsForItemEndingAfter(eq(ITEM_ID), any(LocalDateTime.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(booking(base, base.plusHours(1))));
+
+        assertThat("Item without bookings should be free",
+                availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)), is(true));
+        availabilityIndex.invalidate(ITEM_ID);
+
+        assertThat("New booking should be visible after invalidation",
+                availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)), is(false));
+        verify(bookingRepository, times(2)).findActiveBookingsForItemEndingAfter(eq(ITEM_ID),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("invalidate during a build should keep the tree being built out of the index")
+    void invalidate_whileBuilding_shouldDropInProgressTree() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingRepository.findActiveBookingsForItemEndingAfter(eq(ITEM_ID), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .thenReturn(List.of(booking(base, base.plusHours(1))));
+
+        CompletableFuture<Boolean> stale = CompletableFuture.supplyAsync(() ->
+                availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)));
+        loading.await(5, TimeUnit.SECONDS);
+        availabilityIndex.invalidate(ITEM_ID);
+        release.countDown();
+
+        assertThat("Build started before the write should still answer its caller",
+                stale.get(5, TimeUnit.SECONDS), is(true));
+        assertThat("Later queries should see the new booking",
+                availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)), is(false));
+        verify(bookingRepository, times(2)).findActiveBookingsForItemEndingAfter(eq(ITEM_ID),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("invalidate inside a transaction should drop a tree rebuilt before the commit once it completes")
+    void invalidate_insideTransaction_shouldDropAgainAfterCompletion() {
+        when(bookingRepository.findActiveBookingsForItemEndingAfter(eq(ITEM_ID), any(LocalDateTime.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(booking(base, base.plusHours(1))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityIndex.invalidate(ITEM_ID);
+            assertThat("Tree rebuilt before the commit should not see the write yet",
+                    availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)), is(true));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat("Committed booking should be visible after completion",
+                availabilityIndex.isFree(ITEM_ID, base, base.plusHours(1)), is(false));
+    }
+}
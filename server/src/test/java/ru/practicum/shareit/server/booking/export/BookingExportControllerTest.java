@@ -0,0 +1,62 @@
+package ru.practicum.shareit.server.booking.export;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.server.exception.NotFoundException;
+
+@WebMvcTest(BookingExportController.class)
+@DisplayName("Booking Export Controller WebMvc Tests")
+class BookingExportControllerTest {
+
+    private final Long ownerId = 1L;
+    private final String userIdHeaderName = "X-Sharer-User-Id";
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private BookingExportService bookingExportService;
+
+    @Test
+    @DisplayName("GET /bookings/owner/export - Success (streams NDJSON)")
+    void exportOwnerBookings_whenOwnerExists_shouldStreamNdjson() throws Exception {
+        String rows = "{\"id\":2,\"status\":\"WAITING\"}\n{\"id\":1,\"status\":\"APPROVED\"}\n";
+        when(bookingExportService.exportOwnerBookings(ownerId))
+                .thenReturn(out -> out.write(rows.getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mockMvc.perform(get("/bookings/owner/export").header(userIdHeaderName, ownerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(rows));
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export - Failure (Owner Not Found)")
+    void exportOwnerBookings_whenOwnerNotFound_shouldReturnNotFound() throws Exception {
+        String errorMsg = "User with id 1 not found";
+        when(bookingExportService.exportOwnerBookings(ownerId)).thenThrow(new NotFoundException(errorMsg));
+
+        mockMvc.perform(get("/bookings/owner/export").header(userIdHeaderName, ownerId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is(errorMsg)))
+                .andExpect(jsonPath("$.responseCode", is(404)));
+    }
+}
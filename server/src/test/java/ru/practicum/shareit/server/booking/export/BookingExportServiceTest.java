@@ -0,0 +1,144 @@
+package ru.practicum.shareit.server.booking.export;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.common.dto.booking.BookingDto;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.mapper.BookingMapper;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.user.UserExistenceCache;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking Export Service Tests")
+class BookingExportServiceTest {
+
+    private final Long ownerId = 1L;
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
+    private BookingMapper bookingMapper;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private BookingExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportService = new BookingExportService(bookingRepository, userExistenceCache, bookingMapper, objectMapper,
+                entityManager, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("should throw NotFoundException before streaming when the owner does not exist")
+    void exportOwnerBookings_whenOwnerNotFound_shouldThrowNotFoundException() {
+        when(userExistenceCache.exists(ownerId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> exportService.exportOwnerBookings(ownerId),
+                "Should reject an unknown owner before the response starts");
+        verify(bookingRepository, never()).streamByItemOwnerId(anyLong());
+    }
+
+    @Test
+    @DisplayName("should write one JSON line per booking inside a read-only transaction and close the cursor")
+    void exportOwnerBookings_whenBookingsExist_shouldWriteNdjson() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Booking first = booking(3L);
+        Booking second = booking(2L);
+        Booking third = booking(1L);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(bookingRepository.streamByItemOwnerId(ownerId))
+                .thenReturn(Stream.of(first, second, third).onClose(() -> closed.set(true)));
+        when(bookingMapper.mapToDto(any(Booking.class)))
+                .thenAnswer(invocation -> dto(invocation.<Booking>getArgument(0).getId()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOwnerBookings(ownerId).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat("Every booking should be written as its own newline-terminated line", lines.length, is(4));
+        assertThat("Lines should follow cursor order", List.of(objectMapper.readTree(lines[0]).get("id").asLong(),
+                        objectMapper.readTree(lines[1]).get("id").asLong(),
+                        objectMapper.readTree(lines[2]).get("id").asLong()),
+                contains(3L, 2L, 1L));
+        assertThat("The output should end with the newline of the last line", lines[3], is(""));
+        assertThat("The cursor should be closed once the export is written", closed.get(), is(true));
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat("The cursor should be read in a read-only transaction", definition.getValue().isReadOnly(),
+                is(true));
+        verify(entityManager, times(1)).clear();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("should close the cursor, roll back and rethrow when the client goes away")
+    void exportOwnerBookings_whenWriteFails_shouldCloseCursorAndRethrow() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(bookingRepository.streamByItemOwnerId(ownerId))
+                .thenReturn(Stream.of(booking(1L)).onClose(() -> closed.set(true)));
+        when(bookingMapper.mapToDto(any(Booking.class))).thenReturn(dto(1L));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.exportOwnerBookings(ownerId).writeTo(broken),
+                "Should surface the write failure to the servlet container");
+        assertThat("The cursor should be closed when the export is aborted", closed.get(), is(true));
+        verify(transactionManager).rollback(any());
+    }
+
+    private Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
+
+    private BookingDto dto(Long id) {
+        return new BookingDto(id, null, null, start, null, "WAITING");
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.server.booking.summary;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.practicum.shareit.common.enums.BookingStatus;
+import ru.practicum.shareit.server.booking.Booking;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.user.User;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@DisplayName("Item Booking Summary Repository DataJpa Tests")
+class ItemBookingSummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Container
+    private static final PostgreSQLContainer<?> database = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16"));
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", database::getJdbcUrl);
+        registry.add("spring.datasource.username", database::getUsername);
+        registry.add("spring.datasource.password", database::getPassword);
+    }
+
+    private User booker;
+    private Item item;
+    private Booking pastApproved;
+    private Booking futureApproved;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        owner = entityManager.persistAndFlush(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@example.com");
+        booker = entityManager.persistAndFlush(booker);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = entityManager.persistAndFlush(item);
+
+        pastApproved = booking(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        futureApproved = booking(now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+        booking(now.plusHours(1), now.plusHours(2), BookingStatus.WAITING);
+        entityManager.flush();
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        return entityManager.persist(booking);
+    }
+
+    private ItemBookingSummary reload() {
+        entityManager.clear();
+        return summaryRepository.findById(item.getId()).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("refresh should store the last and next approved bookings of the item")
+    void refresh_shouldStoreLastAndNextApproved() {
+        summaryRepository.refresh(List.of(item.getId()), now);
+
+        ItemBookingSummary summary = reload();
+        assertThat("Last booking should be the started approved one", summary.getLastBookingId(),
+                equalTo(pastApproved.getId()));
+        assertThat("Next booking should skip the waiting one", summary.getNextBookingId(),
+                equalTo(futureApproved.getId()));
+        assertThat("Next start date should be copied", summary.getNextStartDate(),
+                equalTo(futureApproved.getStartDate()));
+        assertThat("Summary should not be stale right after refresh", summary.isStale(now), is(false));
+    }
+
+    @Test
+    @DisplayName("refresh should overwrite an existing summary row")
+    void refresh_whenRowExists_shouldUpdateIt() {
+        summaryRepository.refresh(List.of(item.getId()), now);
+        futureApproved.setStatus(BookingStatus.REJECTED);
+        entityManager.merge(futureApproved);
+        entityManager.flush();
+
+        summaryRepository.refresh(List.of(item.getId()), now);
+
+        assertThat("Rejected booking should no longer be next", reload().getNextBookingId(),
+                is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("lockStaleItemIds should return an item once its next booking has started")
+    void lockStaleItemIds_whenNextBookingStarted_shouldRollForward() {
+        summaryRepository.refresh(List.of(item.getId()), now);
+        LocalDateTime later = now.plusDays(1).plusHours(1);
+
+        List<Long> staleItemIds = summaryRepository.lockStaleItemIds(later);
+        summaryRepository.refresh(staleItemIds, later);
+
+        ItemBookingSummary summary = reload();
+        assertThat("Exactly the item with the started booking should be stale", staleItemIds,
+                contains(item.getId()));
+        assertThat("Started booking should become the last one", summary.getLastBookingId(),
+                equalTo(futureApproved.getId()));
+        assertThat("No approved booking remains in the future", summary.getNextBookingId(),
+                is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("lockStaleItemIds should leave fresh summaries out")
+    void lockStaleItemIds_whenNothingStarted_shouldReturnNothing() {
+        summaryRepository.refresh(List.of(item.getId()), now);
+
+        assertThat("No summary should be stale", summaryRepository.lockStaleItemIds(now), is(empty()));
+    }
+
+    @Test
+    @DisplayName("lockItem should take the item lock within the current transaction")
+    void lockItem_shouldSucceedAndBeReentrant() {
+        summaryRepository.lockItem(item.getId());
+        summaryRepository.lockItem(item.getId());
+        summaryRepository.refresh(List.of(item.getId()), now);
+
+        assertThat("Summary should be refreshed while the lock is held", reload().getNextBookingId(),
+                equalTo(futureApproved.getId()));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.server.booking.summary;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Booking Summary Updater Tests")
+class ItemBookingSummaryUpdaterTest {
+
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private ItemBookingSummaryUpdater summaryUpdater;
+
+    @Test
+    @DisplayName("refresh should flush pending bookings and lock the item before recomputing its summary")
+    void refresh_shouldFlushLockAndRecomputeSingleItem() {
+        summaryUpdater.refresh(7L);
+
+        InOrder order = inOrder(entityManager, summaryRepository);
+        order.verify(entityManager).flush();
+        order.verify(summaryRepository).lockItem(7L);
+        order.verify(summaryRepository).refresh(eq(List.of(7L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("rollForward should recompute the stale summaries it could lock")
+    void rollForward_shouldRefreshLockedStaleItems() {
+        when(summaryRepository.lockStaleItemIds(any(LocalDateTime.class))).thenReturn(List.of(3L, 5L));
+
+        summaryUpdater.rollForward();
+
+        verify(summaryRepository).refresh(eq(List.of(3L, 5L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("rollForward should skip the recompute when nothing is stale")
+    void rollForward_whenNothingStale_shouldNotRefresh() {
+        when(summaryRepository.lockStaleItemIds(any(LocalDateTime.class))).thenReturn(List.of());
+
+        summaryUpdater.rollForward();
+
+        verify(summaryRepository, never()).refresh(anyCollection(), any(LocalDateTime.class));
+    }
+}
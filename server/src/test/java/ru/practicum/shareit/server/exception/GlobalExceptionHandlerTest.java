@@ -71,13 +71,30 @@ class GlobalExceptionHandlerTest {
     }
 
     @Test
-    @DisplayName("handleEmailAlreadyExists should return 409 for EmailAlreadyExistsException")
-    void handleEmailAlreadyExists_whenEmailAlreadyExistsException_shouldReturnConflict() {
+    @DisplayName("handleConflict should return 409 for EmailAlreadyExistsException")
+    void handleConflict_whenEmailAlreadyExistsException_shouldReturnConflict() {
         String errorMessage = "Email test@example.com already exists";
         EmailAlreadyExistsException exception = new EmailAlreadyExistsException(errorMessage);
         int expectedStatus = 409;
 
-        ResponseEntity<ErrorMessage> response = globalExceptionHandler.handleEmailAlreadyExists(
+        ResponseEntity<ErrorMessage> response = globalExceptionHandler.handleConflict(
+                exception);
+
+        assertNotNull(response);
+        assertThat(response.getStatusCode(), is(equalTo(HttpStatus.CONFLICT)));
+        assertNotNull(response.getBody());
+        assertThat(response.getBody().getError(), is(equalTo(errorMessage)));
+        assertThat(response.getBody().getResponseCode(), is(equalTo(expectedStatus)));
+    }
+
+    @Test
+    @DisplayName("handleConflict should return 409 for BookingConflictException")
+    void handleConflict_whenBookingConflictException_shouldReturnConflict() {
+        String errorMessage = "Item with id 1 is already booked for the requested period";
+        BookingConflictException exception = new BookingConflictException(errorMessage);
+        int expectedStatus = 409;
+
+        ResponseEntity<ErrorMessage> response = globalExceptionHandler.handleConflict(
                 exception);
 
         assertNotNull(response);
@@ -3,8 +3,10 @@ package ru.practicum.shareit.server.item;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.refEq;
@@ -31,6 +33,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -93,7 +96,7 @@ class ItemControllerTest {
     @Test
     @DisplayName("GET /items - Success (Multiple Items)")
     void getUserItems_whenUserExists_shouldReturnOkAndItemList() throws Exception {
-        when(itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId)).thenReturn(
+        when(itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId, null, null)).thenReturn(
                 List.of(itemWithBookingInfoDto1, itemWithBookingInfoDto2));
 
         mockMvc.perform(get("/items").header(userIdHeaderName, ownerUserId))
@@ -102,27 +105,42 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id", is(item1Id.intValue())))
                 .andExpect(jsonPath("$[1].id", is(item2Id.intValue())));
 
-        verify(itemService).getAllItemsByOwnerWithBookingInfo(ownerUserId);
+        verify(itemService).getAllItemsByOwnerWithBookingInfo(ownerUserId, null, null);
+    }
+
+    @Test
+    @DisplayName("GET /items - Success (Cursor Params)")
+    void getUserItems_whenCursorParamsProvided_shouldPassThemToService() throws Exception {
+        when(itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId, item1Id, 1)).thenReturn(
+                List.of(itemWithBookingInfoDto2));
+
+        mockMvc.perform(get("/items").header(userIdHeaderName, ownerUserId)
+                        .param("after", String.valueOf(item1Id)).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(item2Id.intValue())));
+
+        verify(itemService).getAllItemsByOwnerWithBookingInfo(ownerUserId, item1Id, 1);
     }
 
     @Test
     @DisplayName("GET /items - Success (No Items)")
     void getUserItems_whenUserHasNoItems_shouldReturnOkAndEmptyList() throws Exception {
-        when(itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId)).thenReturn(
+        when(itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId, null, null)).thenReturn(
                 Collections.emptyList());
 
         mockMvc.perform(get("/items").header(userIdHeaderName, ownerUserId))
                 .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(itemService).getAllItemsByOwnerWithBookingInfo(ownerUserId);
+        verify(itemService).getAllItemsByOwnerWithBookingInfo(ownerUserId, null, null);
     }
 
     @Test
     @DisplayName("GET /items - Failure (User Not Found)")
     void getUserItems_whenUserNotFound_shouldReturnNotFound() throws Exception {
         String errorMsg = "User not found";
-        when(itemService.getAllItemsByOwnerWithBookingInfo(nonExistentItemId)).thenThrow(
+        when(itemService.getAllItemsByOwnerWithBookingInfo(nonExistentItemId, null, null)).thenThrow(
                 new NotFoundException(errorMsg));
 
         mockMvc.perform(get("/items").header(userIdHeaderName,
@@ -132,7 +150,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.error", is(errorMsg)))
                 .andExpect(jsonPath("$.responseCode", is(404)));
 
-        verify(itemService).getAllItemsByOwnerWithBookingInfo(nonExistentItemId);
+        verify(itemService).getAllItemsByOwnerWithBookingInfo(nonExistentItemId, null, null);
     }
 
     @Test
@@ -182,6 +200,24 @@ class ItemControllerTest {
         verify(itemService).getItemByIdWithBookingInfo(item1Id, nonExistentItemId);
     }
 
+    @Test
+    @DisplayName("GET /items/{id}/availability - Success")
+    void getAvailability_whenPeriodValid_shouldReturnFreeWindows() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(itemService.getItemAvailability(item1Id, ownerUserId, from, to)).thenReturn(
+                List.of(new AvailabilityWindowDto(from, from.plusDays(1))));
+
+        mockMvc.perform(get("/items/{id}/availability", item1Id).header(userIdHeaderName, ownerUserId)
+                        .param("from", "2030-01-01T10:00:00").param("to", "2030-01-03T10:00:00"))
+                .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start", is("2030-01-01T10:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2030-01-02T10:00:00")));
+
+        verify(itemService).getItemAvailability(item1Id, ownerUserId, from, to);
+    }
+
     @Test
     @DisplayName("POST /items - Success")
     void saveItem_whenValid_shouldReturnCreatedAndItemDto() throws Exception {
@@ -198,6 +234,21 @@ class ItemControllerTest {
         verify(itemService).saveItem(refEq(newItemDto), eq(ownerUserId));
     }
 
+    @Test
+    @DisplayName("POST /items/batch - Success")
+    void saveItems_whenValid_shouldReturnCreatedAndItemDtos() throws Exception {
+        when(itemService.saveItems(anyList(), eq(ownerUserId))).thenReturn(List.of(itemDto1));
+
+        mockMvc.perform(post("/items/batch").header(userIdHeaderName, ownerUserId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newItemDto)))).andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(item1Id.intValue())));
+
+        verify(itemService).saveItems(anyList(), eq(ownerUserId));
+    }
+
     @Test
     @DisplayName("POST /items - Failure (Owner Not Found)")
     void saveItem_whenOwnerNotFound_shouldReturnNotFound() throws Exception {
@@ -276,7 +327,8 @@ class ItemControllerTest {
     @DisplayName("GET /items/search - Success")
     void searchItems_whenQueryProvided_shouldReturnOkAndItemList() throws Exception {
         String query = "search text";
-        when(itemService.searchItems(eq(query), eq(ownerUserId))).thenReturn(List.of(itemDto1));
+        when(itemService.searchItems(eq(query), eq(ownerUserId), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(itemDto1));
 
         mockMvc.perform(
                         get("/items/search").header(userIdHeaderName, ownerUserId).param("text", query))
@@ -284,14 +336,30 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(item1Id.intValue())));
 
-        verify(itemService).searchItems(eq(query), eq(ownerUserId));
+        verify(itemService).searchItems(eq(query), eq(ownerUserId), isNull(), isNull(), isNull());
+    }
+
+    @Test
+    @DisplayName("GET /items/search - Success (Paging Params)")
+    void searchItems_whenPagingParamsProvided_shouldPassThemToService() throws Exception {
+        String query = "search text";
+        when(itemService.searchItems(eq(query), eq(ownerUserId), eq(10), eq(5), eq(item1Id)))
+                .thenReturn(List.of(itemDto1));
+
+        mockMvc.perform(get("/items/search").header(userIdHeaderName, ownerUserId)
+                        .param("text", query).param("from", "10").param("size", "5")
+                        .param("after", String.valueOf(item1Id)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(itemService).searchItems(eq(query), eq(ownerUserId), eq(10), eq(5), eq(item1Id));
     }
 
     @Test
     @DisplayName("GET /items/search - Success (Blank Query)")
     void searchItems_whenQueryBlank_shouldReturnOkAndEmptyList() throws Exception {
         String query = "";
-        when(itemService.searchItems(eq(query), eq(ownerUserId))).thenReturn(
+        when(itemService.searchItems(eq(query), eq(ownerUserId), isNull(), isNull(), isNull())).thenReturn(
                 Collections.emptyList());
 
         mockMvc.perform(
@@ -299,7 +367,7 @@ class ItemControllerTest {
                 .andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(itemService).searchItems(eq(query), eq(ownerUserId));
+        verify(itemService).searchItems(eq(query), eq(ownerUserId), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -307,7 +375,7 @@ class ItemControllerTest {
     void searchItems_whenUserNotFound_shouldReturnNotFound() throws Exception {
         String query = "search text";
         String errorMsg = "Search user not found";
-        when(itemService.searchItems(anyString(), eq(nonExistentItemId))).thenThrow(
+        when(itemService.searchItems(anyString(), eq(nonExistentItemId), isNull(), isNull(), isNull())).thenThrow(
                 new NotFoundException(errorMsg));
 
         mockMvc.perform(
@@ -318,7 +386,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.error", is(errorMsg)))
                 .andExpect(jsonPath("$.responseCode", is(404)));
 
-        verify(itemService).searchItems(eq(query), eq(nonExistentItemId));
+        verify(itemService).searchItems(eq(query), eq(nonExistentItemId), isNull(), isNull(), isNull());
     }
 
     @Test
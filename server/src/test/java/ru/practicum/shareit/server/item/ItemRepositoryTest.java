@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.item;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
@@ -19,6 +20,9 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -152,10 +156,27 @@ class ItemRepositoryTest {
                 is(empty()));
     }
 
+    @Test
+    @DisplayName("findByOwnerIdAndIdGreaterThan should return the owner's next items in id order")
+    void findByOwnerIdAndIdGreaterThan_shouldReturnNextPageInIdOrder() {
+        List<Item> firstPage = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                owner1.getId(), 0L, Limit.of(2));
+
+        assertThat("First page should be limited to 2 items", firstPage, hasSize(2));
+        assertThat("First page should start from the lowest ids", firstPage,
+                contains(item1Owner1, item2Owner1));
+
+        List<Item> secondPage = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                owner1.getId(), firstPage.get(1).getId(), Limit.of(2));
+
+        assertThat("Second page should contain the remaining owner1 item", secondPage,
+                contains(item4Owner1Unavailable));
+    }
+
     @Test
     @DisplayName("search should find available items matching name (case-insensitive)")
     void search_whenTextMatchesName_shouldReturnAvailableItems() {
-        List<Item> foundItems = itemRepository.search("dRilL");
+        List<Item> foundItems = itemRepository.search("dRilL", Pageable.unpaged());
 
         assertThat("Should return exactly 1 item matching the name", foundItems, hasSize(1));
         assertThat("The found item should be item1Owner1", foundItems.getFirst(),
@@ -165,7 +186,7 @@ class ItemRepositoryTest {
     @Test
     @DisplayName("search should find available items matching description (case-insensitive)")
     void search_whenTextMatchesDescription_shouldReturnAvailableItems() {
-        List<Item> foundItems = itemRepository.search("aLuMinUm");
+        List<Item> foundItems = itemRepository.search("aLuMinUm", Pageable.unpaged());
 
         assertThat("Should return exactly 1 item matching the description", foundItems, hasSize(1));
         assertThat("The found item should be item2Owner1", foundItems.getFirst(),
@@ -175,7 +196,7 @@ class ItemRepositoryTest {
     @Test
     @DisplayName("search should find available items matching partial name/description")
     void search_whenTextMatchesPartial_shouldReturnAvailableItems() {
-        List<Item> foundItems = itemRepository.search("drive");
+        List<Item> foundItems = itemRepository.search("drive", Pageable.unpaged());
 
         assertThat("Should return exactly 1 item matching the partial text 'drive'", foundItems,
                 hasSize(1));
@@ -187,17 +208,62 @@ class ItemRepositoryTest {
     @Test
     @DisplayName("search should find multiple available items matching text")
     void search_whenTextMatchesMultiple_shouldReturnAllMatchingAvailableItems() {
-        List<Item> foundItems = itemRepository.search("er");
+        List<Item> foundItems = itemRepository.search("er", Pageable.unpaged());
 
         assertThat("Should return all 3 available items matching 'er'", foundItems, hasSize(3));
         assertThat("Should contain item1Owner1, item2Owner1, and item3Owner2", foundItems,
                 containsInAnyOrder(item1Owner1, item2Owner1, item3Owner2));
     }
 
+    @Test
+    @DisplayName("search should rank name matches above description-only matches")
+    void search_whenTextMatchesNameAndDescription_shouldRankNameMatchesFirst() {
+        List<Item> foundItems = itemRepository.search("er", Pageable.unpaged());
+
+        assertThat("Name matches should come first (by id), then description-only matches",
+                foundItems, contains(item2Owner1, item3Owner2, item1Owner1));
+    }
+
+    @Test
+    @DisplayName("search should return the requested offset page in rank order")
+    void search_whenPageRequested_shouldReturnThatPage() {
+        List<Item> foundItems = itemRepository.search("er", PageRequest.of(1, 2));
+
+        assertThat("Second page of size 2 should hold the last ranked item", foundItems,
+                contains(item1Owner1));
+    }
+
+    @Test
+    @DisplayName("searchAfter should continue from the cursor within the same rank")
+    void searchAfter_whenCursorIsNameMatch_shouldReturnFollowingItems() {
+        List<Item> foundItems = itemRepository.searchAfter("er", item2Owner1.getId(), PageRequest.of(0, 1));
+
+        assertThat("The next name match should follow the cursor", foundItems,
+                contains(item3Owner2));
+    }
+
+    @Test
+    @DisplayName("searchAfter should cross from name matches to description-only matches")
+    void searchAfter_whenCursorIsLastNameMatch_shouldReturnDescriptionMatches() {
+        List<Item> foundItems = itemRepository.searchAfter("er", item3Owner2.getId(), PageRequest.of(0, 10));
+
+        assertThat("Only the description-only match should remain", foundItems,
+                contains(item1Owner1));
+    }
+
+    @Test
+    @DisplayName("searchAfter should restart from the top ranks when the cursor item is missing")
+    void searchAfter_whenCursorDoesNotExist_shouldTreatItAsNameMatch() {
+        List<Item> foundItems = itemRepository.searchAfter("er", 0L, PageRequest.of(0, 10));
+
+        assertThat("All matches should be returned in rank order", foundItems,
+                contains(item2Owner1, item3Owner2, item1Owner1));
+    }
+
     @Test
     @DisplayName("search should NOT find unavailable items matching text")
     void search_whenTextMatchesUnavailableItem_shouldNotReturnIt() {
-        List<Item> foundItems = itemRepository.search("sPraYer");
+        List<Item> foundItems = itemRepository.search("sPraYer", Pageable.unpaged());
 
         assertThat("Should return an empty list when text only matches an unavailable item",
                 foundItems, is(empty()));
@@ -207,7 +273,7 @@ class ItemRepositoryTest {
     @Test
     @DisplayName("search should return empty list when text matches nothing")
     void search_whenTextMatchesNothing_shouldReturnEmptyList() {
-        List<Item> foundItems = itemRepository.search("nonexistentkeyword");
+        List<Item> foundItems = itemRepository.search("nonexistentkeyword", Pageable.unpaged());
 
         assertThat("Should return an empty list when text matches nothing", foundItems,
                 is(empty()));
@@ -216,7 +282,7 @@ class ItemRepositoryTest {
     @Test
     @DisplayName("search should return all available items when text is empty")
     void search_whenTextIsEmpty_shouldReturnAllAvailableItems() {
-        List<Item> foundItems = itemRepository.search("");
+        List<Item> foundItems = itemRepository.search("", Pageable.unpaged());
 
         assertThat("Should return all available items when text is empty", foundItems, hasSize(3));
         assertThat("Should contain item1Owner1, item2Owner1, and item3Owner2 when text is empty",
@@ -233,8 +299,7 @@ class ItemRepositoryTest {
         itemWithNullName.setName(null);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRepository.save(itemWithNullName);
-            entityManager.flush();
+            itemRepository.saveAndFlush(itemWithNullName);
         }, "Should throw DataIntegrityViolationException when saving item with null name");
     }
 
@@ -248,8 +313,7 @@ class ItemRepositoryTest {
         itemWithNullDesc.setDescription(null);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRepository.save(itemWithNullDesc);
-            entityManager.flush();
+            itemRepository.saveAndFlush(itemWithNullDesc);
         }, "Should throw DataIntegrityViolationException when saving item with null description");
     }
 
@@ -263,8 +327,7 @@ class ItemRepositoryTest {
         itemWithNullAvail.setAvailable(null);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRepository.save(itemWithNullAvail);
-            entityManager.flush();
+            itemRepository.saveAndFlush(itemWithNullAvail);
         }, "Should throw DataIntegrityViolationException when saving item with null availability");
     }
 
@@ -278,8 +341,7 @@ class ItemRepositoryTest {
         itemWithNullOwner.setOwner(null);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRepository.save(itemWithNullOwner);
-            entityManager.flush();
+            itemRepository.saveAndFlush(itemWithNullOwner);
         }, "Should throw DataIntegrityViolationException when saving item with null owner");
     }
 }
\ No newline at end of file
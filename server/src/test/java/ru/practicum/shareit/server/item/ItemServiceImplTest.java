@@ -14,10 +14,10 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -38,7 +39,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.common.dto.booking.BookingShortDto;
+import ru.practicum.shareit.common.dto.item.AvailabilityWindowDto;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
@@ -46,15 +50,23 @@ import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.common.dto.item.NewItemDto;
 import ru.practicum.shareit.common.dto.item.UpdateItemDto;
 import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.BookingShortView;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.server.booking.availability.TimeWindow;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummary;
+import ru.practicum.shareit.server.booking.summary.ItemBookingSummaryRepository;
 import ru.practicum.shareit.server.exception.AccessDeniedException;
 import ru.practicum.shareit.server.exception.BookingBadRequestException;
 import ru.practicum.shareit.server.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.mapper.CommentMapper;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.search.ItemSearchEngine;
+import ru.practicum.shareit.server.item.search.ItemSearchIndexer;
 import ru.practicum.shareit.server.request.ItemRequest;
 import ru.practicum.shareit.server.request.ItemRequestRepository;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,6 +78,8 @@ class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
@@ -75,6 +89,14 @@ class ItemServiceImplTest {
     private CommentMapper commentMapper;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemSearchIndexer itemSearchIndexer;
+    @Mock
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -83,8 +105,6 @@ class ItemServiceImplTest {
     ArgumentCaptor<Item> itemArgumentCaptor;
     @Captor
     ArgumentCaptor<Comment> commentArgumentCaptor;
-    @Captor
-    ArgumentCaptor<LocalDateTime> timeArgumentCaptor;
 
     private User ownerUser;
     private User otherUser;
@@ -186,6 +206,53 @@ class ItemServiceImplTest {
                 LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
     }
 
+    private static ItemBookingSummary summary(Long itemId, BookingShortDto last, BookingShortDto next) {
+        ItemBookingSummary summary = new ItemBookingSummary();
+        summary.setItemId(itemId);
+        if (last != null) {
+            summary.setLastBookingId(last.getId());
+            summary.setLastBookerId(last.getBookerId());
+            summary.setLastStartDate(last.getStart());
+            summary.setLastEndDate(last.getEnd());
+        }
+        if (next != null) {
+            summary.setNextBookingId(next.getId());
+            summary.setNextBookerId(next.getBookerId());
+            summary.setNextStartDate(next.getStart());
+            summary.setNextEndDate(next.getEnd());
+        }
+        return summary;
+    }
+
+    private static BookingShortView view(BookingShortDto dto) {
+        return new BookingShortView() {
+            @Override
+            public Long getId() {
+                return dto.getId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return dto.getBookerId();
+            }
+
+            @Override
+            public Long getItemId() {
+                return dto.getItemId();
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return dto.getStart();
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return dto.getEnd();
+            }
+        };
+    }
+
     @Nested
     @DisplayName("getAllItems Tests")
     class GetAllItemsTests {
@@ -272,6 +339,7 @@ class ItemServiceImplTest {
                             hasProperty("request", is(nullValue()))
                     )
             );
+            verify(itemSearchIndexer).index(savedItem);
             verify(itemMapper).mapToDto(savedItem);
         }
 
@@ -364,6 +432,69 @@ class ItemServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("saveItems Tests")
+    class SaveItemsTests {
+
+        @Test
+        @DisplayName("should link requests with one lookup, save all items in one call and index them")
+        void saveItems_whenValidRequest_shouldSaveAllAndReturnDtos() {
+            Item plain = new Item();
+            Item answering = new Item();
+            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(itemRequestRepository.findAllById(Set.of(itemRequestId))).thenReturn(List.of(itemRequest1));
+            when(itemMapper.mapToItem(newItemDto)).thenReturn(plain);
+            when(itemMapper.mapToItem(newItemDtoWithRequest)).thenReturn(answering);
+            when(itemRepository.saveAllAndFlush(List.of(plain, answering))).thenReturn(List.of(plain, answering));
+            when(itemMapper.mapToDto(plain)).thenReturn(itemDto1);
+            when(itemMapper.mapToDto(answering)).thenReturn(itemDto2);
+
+            List<ItemDto> result = itemService.saveItems(List.of(newItemDto, newItemDtoWithRequest), ownerUserId);
+
+            assertThat("Should return the saved items in request order", result, contains(itemDto1, itemDto2));
+            assertThat("Every item should be owned by the caller", plain.getOwner(), equalTo(ownerUser));
+            assertThat("Only the answering item should be linked to the request", answering.getRequest(),
+                    equalTo(itemRequest1));
+            assertThat("Items without a request id should stay unlinked", plain.getRequest(), is(nullValue()));
+            verify(itemRequestRepository, never()).findById(anyLong());
+            verify(itemSearchIndexer).indexAll(List.of(plain, answering));
+        }
+
+        @Test
+        @DisplayName("should return empty list for an empty batch")
+        void saveItems_whenEmpty_shouldReturnEmptyList() {
+            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+
+            assertThat("Should return an empty list", itemService.saveItems(List.of(), ownerUserId), is(empty()));
+            verifyNoInteractions(itemRepository, itemSearchIndexer);
+        }
+
+        @Test
+        @DisplayName("should throw NotFoundException when owner not found")
+        void saveItems_whenUserNotFound_shouldThrowNotFoundException() {
+            when(userRepository.findById(ownerUserId)).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundException.class,
+                    () -> itemService.saveItems(List.of(newItemDto), ownerUserId),
+                    "Should throw NotFoundException when the owner does not exist");
+            verifyNoInteractions(itemRepository, itemRequestRepository);
+        }
+
+        @Test
+        @DisplayName("should throw ItemRequestNotFoundException and save nothing when a request is missing")
+        void saveItems_whenRequestNotFound_shouldThrowItemRequestNotFoundException() {
+            newItemDtoWithRequest.setRequestId(nonExistentRequestId);
+            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(itemRequestRepository.findAllById(Set.of(nonExistentRequestId))).thenReturn(List.of());
+            when(itemMapper.mapToItem(any(NewItemDto.class))).thenReturn(new Item());
+
+            assertThrows(ItemRequestNotFoundException.class,
+                    () -> itemService.saveItems(List.of(newItemDto, newItemDtoWithRequest), ownerUserId),
+                    "Should throw ItemRequestNotFoundException when a linked request does not exist");
+            verifyNoInteractions(itemRepository, itemSearchIndexer);
+        }
+    }
+
     @Nested
     @DisplayName("getItemById Tests")
     class GetItemByIdTests {
@@ -396,6 +527,79 @@ class ItemServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getItemAvailability Tests")
+    class GetItemAvailabilityTests {
+
+        private final LocalDateTime from = LocalDateTime.now().plusDays(1);
+        private final LocalDateTime to = from.plusDays(3);
+
+        @Test
+        @DisplayName("should map free windows from the availability index")
+        void getItemAvailability_whenItemAvailable_shouldReturnFreeWindows() {
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
+            when(itemAvailabilityIndex.findFreeWindows(item1Id, from, to)).thenReturn(
+                    List.of(new TimeWindow(from, from.plusDays(1)), new TimeWindow(from.plusDays(2), to)));
+
+            List<AvailabilityWindowDto> result = itemService.getItemAvailability(item1Id, otherUserId, from, to);
+
+            assertThat("Every free window should be returned in order", result, contains(
+                    new AvailabilityWindowDto(from, from.plusDays(1)),
+                    new AvailabilityWindowDto(from.plusDays(2), to)));
+        }
+
+        @Test
+        @DisplayName("should report no free windows for an unavailable item")
+        void getItemAvailability_whenItemUnavailable_shouldReturnEmptyList() {
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemRepository.findById(item2Id)).thenReturn(Optional.of(item2));
+
+            assertThat("Unavailable item should have no free windows",
+                    itemService.getItemAvailability(item2Id, otherUserId, from, to), is(empty()));
+            verifyNoInteractions(itemAvailabilityIndex);
+        }
+
+        @Test
+        @DisplayName("should clamp a period starting in the past to now")
+        void getItemAvailability_whenFromInPast_shouldQueryFromNow() {
+            LocalDateTime pastFrom = LocalDateTime.now().minusDays(1);
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
+            ArgumentCaptor<LocalDateTime> startCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+            when(itemAvailabilityIndex.findFreeWindows(eq(item1Id), startCaptor.capture(), eq(to)))
+                    .thenReturn(List.of());
+
+            itemService.getItemAvailability(item1Id, otherUserId, pastFrom, to);
+
+            assertThat("Query start should not be in the past", startCaptor.getValue().isAfter(pastFrom),
+                    is(true));
+        }
+
+        @Test
+        @DisplayName("should throw BookingBadRequestException when period end is not after start")
+        void getItemAvailability_whenToNotAfterFrom_shouldThrowBadRequest() {
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
+
+            assertThrows(BookingBadRequestException.class,
+                    () -> itemService.getItemAvailability(item1Id, otherUserId, to, from),
+                    "Reversed period should be rejected");
+            verifyNoInteractions(itemAvailabilityIndex);
+        }
+
+        @Test
+        @DisplayName("should throw NotFoundException when item not found")
+        void getItemAvailability_whenItemNotFound_shouldThrowNotFound() {
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemRepository.findById(item1Id)).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundException.class,
+                    () -> itemService.getItemAvailability(item1Id, otherUserId, from, to),
+                    "Availability of a missing item should throw NotFoundException");
+        }
+    }
+
     @Nested
     @DisplayName("update Tests")
     class UpdateTests {
@@ -440,6 +644,7 @@ class ItemServiceImplTest {
                             hasProperty("owner", equalTo(ownerUser))
                     )
             );
+            verify(itemSearchIndexer).index(updatedItem);
             verify(itemMapper).mapToDto(updatedItem);
         }
 
@@ -481,7 +686,7 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should return items for existing user")
         void getItemsByUserId_whenUserExists_shouldReturnItems() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findByOwnerId(ownerUserId)).thenReturn(List.of(item1, item2));
             when(itemMapper.mapToDto(item1)).thenReturn(itemDto1);
             when(itemMapper.mapToDto(item2)).thenReturn(itemDto2);
@@ -493,7 +698,7 @@ class ItemServiceImplTest {
             assertThat("Result list should contain the expected ItemDto objects", result,
                     contains(itemDto1, itemDto2));
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findByOwnerId(ownerUserId);
             verify(itemMapper, times(2)).mapToDto(any(Item.class));
         }
@@ -501,7 +706,7 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should return empty list for user with no items")
         void getItemsByUserId_whenUserHasNoItems_shouldReturnEmptyList() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findByOwnerId(ownerUserId)).thenReturn(Collections.emptyList());
 
             List<ItemDto> result = itemService.getItemsByUserId(ownerUserId);
@@ -509,7 +714,7 @@ class ItemServiceImplTest {
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should be empty", result, is(empty()));
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findByOwnerId(ownerUserId);
             verify(itemMapper, never()).mapToDto(any());
         }
@@ -517,13 +722,13 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when user not found")
         void getItemsByUserId_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                     () -> itemService.getItemsByUserId(ownerUserId),
                     "Getting items when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository, never()).findByOwnerId(anyLong());
             verify(itemMapper, never()).mapToDto(any());
         }
@@ -536,27 +741,29 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should delete item when user is owner")
         void delete_whenUserIsOwner_shouldDeleteItem() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
 
             assertDoesNotThrow(() -> itemService.delete(item1Id, ownerUserId),
                     "Deleting item by owner should not throw exception");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findById(item1Id);
             verify(itemRepository).deleteById(item1Id);
+            verify(itemSearchIndexer).remove(item1Id);
+            verify(itemAvailabilityIndex).invalidate(item1Id);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when user not found")
         void delete_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                     () -> itemService.delete(item1Id, ownerUserId),
                     "Deleting item when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository, never()).findById(anyLong());
             verify(itemRepository, never()).deleteById(anyLong());
         }
@@ -564,14 +771,14 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when item not found")
         void delete_whenItemNotFound_shouldThrowItemNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
                     () -> itemService.delete(item1Id, ownerUserId),
                     "Deleting non-existent item should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findById(item1Id);
             verify(itemRepository, never()).deleteById(anyLong());
         }
@@ -579,8 +786,7 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should throw AccessDeniedException when user is not owner")
         void delete_whenUserIsNotOwner_shouldThrowAccessDeniedException() {
-            when(userRepository.findById(otherUserId)).thenReturn(
-                    Optional.of(otherUser));
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(
                     Optional.of(item1));
 
@@ -588,7 +794,7 @@ class ItemServiceImplTest {
                     () -> itemService.delete(item1Id, otherUserId),
                     "Deleting item when user is not the owner should throw AccessDeniedException");
 
-            verify(userRepository).findById(otherUserId);
+            verify(userExistenceCache).exists(otherUserId);
             verify(itemRepository).findById(item1Id);
             verify(itemRepository, never()).deleteById(anyLong());
         }
@@ -598,24 +804,29 @@ class ItemServiceImplTest {
     @DisplayName("searchItems Tests")
     class SearchItemsTests {
 
+        @BeforeEach
+        void setUpPageCap() {
+            ReflectionTestUtils.setField(itemService, "maxSearchPageSize", 100);
+        }
+
         @Test
         @DisplayName("should return items matching query")
         void searchItems_whenQueryNotBlankAndUserExists_shouldReturnMatchingItems() {
             String query = "One";
-            when(userRepository.findById(otherUserId)).thenReturn(Optional.of(otherUser));
-            when(itemRepository.search(query)).thenReturn(
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemSearchEngine.search(query, null, 0, 100)).thenReturn(
                     List.of(item1));
             when(itemMapper.mapToDto(item1)).thenReturn(itemDto1);
 
-            List<ItemDto> result = itemService.searchItems(query, otherUserId);
+            List<ItemDto> result = itemService.searchItems(query, otherUserId, null, null, null);
 
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should contain 1 item", result, hasSize(1));
             assertThat("Result list should contain the expected ItemDto object", result,
                     contains(itemDto1));
 
-            verify(userRepository).findById(otherUserId);
-            verify(itemRepository).search(query);
+            verify(userExistenceCache).exists(otherUserId);
+            verify(itemSearchEngine).search(query, null, 0, 100);
             verify(itemMapper).mapToDto(item1);
         }
 
@@ -623,32 +834,62 @@ class ItemServiceImplTest {
         @DisplayName("should return empty list when query matches no items")
         void searchItems_whenQueryMatchesNothing_shouldReturnEmptyList() {
             String query = "NonExistent";
-            when(userRepository.findById(otherUserId)).thenReturn(Optional.of(otherUser));
-            when(itemRepository.search(query)).thenReturn(Collections.emptyList());
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemSearchEngine.search(query, null, 0, 100)).thenReturn(Collections.emptyList());
 
-            List<ItemDto> result = itemService.searchItems(query, otherUserId);
+            List<ItemDto> result = itemService.searchItems(query, otherUserId, null, null, null);
 
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should be empty", result, is(empty()));
 
-            verify(userRepository).findById(otherUserId);
-            verify(itemRepository).search(query);
+            verify(userExistenceCache).exists(otherUserId);
+            verify(itemSearchEngine).search(query, null, 0, 100);
             verify(itemMapper, never()).mapToDto(any());
         }
 
+        @Test
+        @DisplayName("should clamp page size to the configured maximum")
+        void searchItems_whenSizeAboveCap_shouldClampSize() {
+            String query = "One";
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemSearchEngine.search(query, null, 20, 100)).thenReturn(List.of(item1));
+            when(itemMapper.mapToDto(item1)).thenReturn(itemDto1);
+
+            List<ItemDto> result = itemService.searchItems(query, otherUserId, 20, 5000, null);
+
+            assertThat("Result list should contain the expected ItemDto object", result,
+                    contains(itemDto1));
+            verify(itemSearchEngine).search(query, null, 20, 100);
+        }
+
+        @Test
+        @DisplayName("should pass keyset cursor and sanitized offset to the search engine")
+        void searchItems_whenAfterProvided_shouldPassCursor() {
+            String query = "One";
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
+            when(itemSearchEngine.search(query, item1.getId(), 0, 10)).thenReturn(List.of(item2));
+            when(itemMapper.mapToDto(item2)).thenReturn(itemDto2);
+
+            List<ItemDto> result = itemService.searchItems(query, otherUserId, -5, 10, item1.getId());
+
+            assertThat("Result list should contain the item after the cursor", result,
+                    contains(itemDto2));
+            verify(itemSearchEngine).search(query, item1.getId(), 0, 10);
+        }
+
         @Test
         @DisplayName("should return empty list when query is blank")
         void searchItems_whenQueryIsBlank_shouldReturnEmptyList() {
             String query = "   ";
-            when(userRepository.findById(otherUserId)).thenReturn(Optional.of(otherUser));
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
 
-            List<ItemDto> result = itemService.searchItems(query, otherUserId);
+            List<ItemDto> result = itemService.searchItems(query, otherUserId, null, null, null);
 
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should be empty for blank query", result, is(empty()));
 
-            verify(userRepository).findById(otherUserId);
-            verify(itemRepository, never()).search(anyString());
+            verify(userExistenceCache).exists(otherUserId);
+            verify(itemSearchEngine, never()).search(anyString(), any(), anyInt(), anyInt());
             verify(itemMapper, never()).mapToDto(any());
         }
 
@@ -656,14 +897,14 @@ class ItemServiceImplTest {
         @DisplayName("should throw NotFoundException when user not found")
         void searchItems_whenUserNotFound_shouldThrowUserNotFoundException() {
             String query = "test";
-            when(userRepository.findById(otherUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(otherUserId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
-                    () -> itemService.searchItems(query, otherUserId),
+                    () -> itemService.searchItems(query, otherUserId, null, null, null),
                     "Searching items when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(otherUserId);
-            verify(itemRepository, never()).search(anyString());
+            verify(userExistenceCache).exists(otherUserId);
+            verify(itemSearchEngine, never()).search(anyString(), any(), anyInt(), anyInt());
             verify(itemMapper, never()).mapToDto(any());
         }
     }
@@ -799,14 +1040,11 @@ class ItemServiceImplTest {
         @Test
         @DisplayName("should return item with booking info when user is owner")
         void getItemByIdWithBookingInfo_whenUserIsOwner_shouldReturnDtoWithBookings() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
-            when(itemMapper.mapToItemWithBookingInfoDto(item1)).thenReturn(itemWithBookingInfoDto1);
-            when(bookingRepository.findPastAndCurrentApprovedBookingsShortForItems(
-                    eq(List.of(item1Id)), any(LocalDateTime.class))).thenReturn(
-                    List.of(lastBookingDto));
-            when(bookingRepository.findNextApprovedBookingsShortForItems(eq(List.of(item1Id)),
-                    any(LocalDateTime.class))).thenReturn(List.of(nextBookingDto));
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Collections.emptySet())).thenReturn(itemWithBookingInfoDto1);
+            when(itemBookingSummaryRepository.findAllById(List.of(item1Id))).thenReturn(
+                    List.of(summary(item1Id, lastBookingDto, nextBookingDto)));
 
             ItemWithBookingInfoDto result = itemService.getItemByIdWithBookingInfo(item1Id,
                     ownerUserId);
@@ -823,12 +1061,36 @@ class ItemServiceImplTest {
                     )
             );
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findById(item1Id);
-            verify(itemMapper).mapToItemWithBookingInfoDto(item1);
-            verify(bookingRepository).findPastAndCurrentApprovedBookingsShortForItems(
-                    eq(List.of(item1Id)), any(LocalDateTime.class));
-            verify(bookingRepository).findNextApprovedBookingsShortForItems(eq(List.of(item1Id)),
+            verify(itemMapper).mapToItemWithBookingInfoDto(item1, Collections.emptySet());
+            verify(itemBookingSummaryRepository).findAllById(List.of(item1Id));
+            verifyNoInteractions(bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should resolve bookings directly when the summary is stale")
+        void getItemByIdWithBookingInfo_whenSummaryStale_shouldFallBackToBookings() {
+            BookingShortDto startedBooking = new BookingShortDto(nextBookingId, otherUserId, item1Id,
+                    LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
+            when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Collections.emptySet())).thenReturn(itemWithBookingInfoDto1);
+            when(itemBookingSummaryRepository.findAllById(List.of(item1Id))).thenReturn(
+                    List.of(summary(item1Id, lastBookingDto, startedBooking)));
+            when(bookingRepository.findLastAndNextApprovedBookingsForItems(eq(List.of(item1Id)),
+                    any(LocalDateTime.class))).thenReturn(List.of(view(startedBooking)));
+
+            ItemWithBookingInfoDto result = itemService.getItemByIdWithBookingInfo(item1Id,
+                    ownerUserId);
+
+            assertThat("Started booking should become the last one, with no next booking", result,
+                    allOf(
+                            hasProperty("lastBooking", equalTo(startedBooking)),
+                            hasProperty("nextBooking", is(nullValue()))
+                    )
+            );
+            verify(bookingRepository).findLastAndNextApprovedBookingsForItems(eq(List.of(item1Id)),
                     any(LocalDateTime.class));
         }
 
@@ -836,14 +1098,11 @@ class ItemServiceImplTest {
         @DisplayName("should return item with null booking info when user is owner but no "
                 + "bookings exist")
         void getItemByIdWithBookingInfo_whenUserIsOwnerAndNoBookings_shouldReturnDtoWithNullBookings() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
-            when(itemMapper.mapToItemWithBookingInfoDto(item1)).thenReturn(itemWithBookingInfoDto1);
-            when(bookingRepository.findPastAndCurrentApprovedBookingsShortForItems(
-                    eq(List.of(item1Id)), any(LocalDateTime.class))).thenReturn(
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Collections.emptySet())).thenReturn(itemWithBookingInfoDto1);
+            when(itemBookingSummaryRepository.findAllById(List.of(item1Id))).thenReturn(
                     Collections.emptyList());
-            when(bookingRepository.findNextApprovedBookingsShortForItems(eq(List.of(item1Id)),
-                    any(LocalDateTime.class))).thenReturn(Collections.emptyList());
 
             ItemWithBookingInfoDto result = itemService.getItemByIdWithBookingInfo(item1Id,
                     ownerUserId);
@@ -859,21 +1118,19 @@ class ItemServiceImplTest {
                     )
             );
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findById(item1Id);
-            verify(itemMapper).mapToItemWithBookingInfoDto(item1);
-            verify(bookingRepository).findPastAndCurrentApprovedBookingsShortForItems(
-                    eq(List.of(item1Id)), any(LocalDateTime.class));
-            verify(bookingRepository).findNextApprovedBookingsShortForItems(eq(List.of(item1Id)),
-                    any(LocalDateTime.class));
+            verify(itemMapper).mapToItemWithBookingInfoDto(item1, Collections.emptySet());
+            verify(itemBookingSummaryRepository).findAllById(List.of(item1Id));
+            verifyNoInteractions(bookingRepository);
         }
 
         @Test
         @DisplayName("should return item with null booking info when user is not owner")
         void getItemByIdWithBookingInfo_whenUserIsNotOwner_shouldReturnDtoWithNullBookings() {
-            when(userRepository.findById(otherUserId)).thenReturn(Optional.of(otherUser));
+            when(userExistenceCache.exists(otherUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.of(item1));
-            when(itemMapper.mapToItemWithBookingInfoDto(item1)).thenReturn(itemWithBookingInfoDto1);
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Collections.emptySet())).thenReturn(itemWithBookingInfoDto1);
 
             ItemWithBookingInfoDto result = itemService.getItemByIdWithBookingInfo(item1Id,
                     otherUserId);
@@ -889,39 +1146,36 @@ class ItemServiceImplTest {
                     )
             );
 
-            verify(userRepository).findById(otherUserId);
+            verify(userExistenceCache).exists(otherUserId);
             verify(itemRepository).findById(item1Id);
-            verify(itemMapper).mapToItemWithBookingInfoDto(item1);
-            verify(bookingRepository, never()).findPastAndCurrentApprovedBookingsShortForItems(
-                    anyList(), any(LocalDateTime.class));
-            verify(bookingRepository, never()).findNextApprovedBookingsShortForItems(anyList(),
-                    any(LocalDateTime.class));
+            verify(itemMapper).mapToItemWithBookingInfoDto(item1, Collections.emptySet());
+            verifyNoInteractions(itemBookingSummaryRepository, bookingRepository);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when user requesting info not found")
         void getItemByIdWithBookingInfo_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
                     () -> itemService.getItemByIdWithBookingInfo(item1Id, ownerUserId),
                     "Getting item info when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verifyNoInteractions(itemRepository, itemMapper, bookingRepository);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when item not found")
         void getItemByIdWithBookingInfo_whenItemNotFound_shouldThrowItemNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
             when(itemRepository.findById(item1Id)).thenReturn(Optional.empty());
 
             assertThrows(NotFoundException.class,
                     () -> itemService.getItemByIdWithBookingInfo(item1Id, ownerUserId),
                     "Getting info for non-existent item should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verify(itemRepository).findById(item1Id);
             verifyNoInteractions(itemMapper, bookingRepository);
         }
@@ -932,24 +1186,42 @@ class ItemServiceImplTest {
     @DisplayName("getAllItemsByOwnerWithBookingInfo Tests")
     class GetAllItemsByOwnerWithBookingInfoTests {
 
+        @BeforeEach
+        void setUpPageCap() {
+            ReflectionTestUtils.setField(itemService, "maxOwnerPageSize", 100);
+        }
+
+        @Test
+        @DisplayName("should continue after the cursor with the size clamped to the cap")
+        void getAllItemsByOwner_whenCursorAndLargeSize_shouldSeekAfterCursor() {
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
+            when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, item1Id,
+                    Limit.of(100))).thenReturn(Collections.emptyList());
+
+            List<ItemWithBookingInfoDto> result = itemService.getAllItemsByOwnerWithBookingInfo(
+                    ownerUserId, item1Id, 5000);
+
+            assertThat("Result list should be empty past the last item", result, is(empty()));
+            verify(itemRepository).findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, item1Id,
+                    Limit.of(100));
+        }
+
         @Test
         @DisplayName("should return items with booking info for owner")
         void getAllItemsByOwner_whenValid_shouldReturnItemsWithBookings() {
             ItemWithBookingInfoDto itemWithBookingInfoDto2 = new ItemWithBookingInfoDto(item2Id,
                     "Item Two", "Desc Two", false, Collections.emptySet(), null, null);
 
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
-            when(itemRepository.findByOwnerId(ownerUserId)).thenReturn(List.of(item1, item2));
-            when(itemMapper.mapToItemWithBookingInfoDto(item1)).thenReturn(itemWithBookingInfoDto1);
-            when(itemMapper.mapToItemWithBookingInfoDto(item2)).thenReturn(itemWithBookingInfoDto2);
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
+            when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, 0L, Limit.of(100))).thenReturn(List.of(item1, item2));
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Collections.emptySet())).thenReturn(itemWithBookingInfoDto1);
+            when(itemMapper.mapToItemWithBookingInfoDto(item2, Collections.emptySet())).thenReturn(itemWithBookingInfoDto2);
             List<Long> itemIds = List.of(item1Id, item2Id);
-            when(bookingRepository.findPastAndCurrentApprovedBookingsShortForItems(eq(itemIds),
-                    any(LocalDateTime.class))).thenReturn(List.of(lastBookingDto));
-            when(bookingRepository.findNextApprovedBookingsShortForItems(eq(itemIds),
-                    any(LocalDateTime.class))).thenReturn(List.of(nextBookingDto));
+            when(itemBookingSummaryRepository.findAllById(itemIds)).thenReturn(
+                    List.of(summary(item1Id, lastBookingDto, nextBookingDto)));
 
             List<ItemWithBookingInfoDto> result = itemService.getAllItemsByOwnerWithBookingInfo(
-                    ownerUserId);
+                    ownerUserId, null, null);
 
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should contain 2 items", result, hasSize(2));
@@ -972,42 +1244,89 @@ class ItemServiceImplTest {
                     )
             );
 
-            verify(userRepository).findById(ownerUserId);
-            verify(itemRepository).findByOwnerId(ownerUserId);
-            verify(itemMapper, times(2)).mapToItemWithBookingInfoDto(any(Item.class));
-            verify(bookingRepository).findPastAndCurrentApprovedBookingsShortForItems(eq(itemIds),
-                    timeArgumentCaptor.capture());
-            verify(bookingRepository).findNextApprovedBookingsShortForItems(eq(itemIds),
-                    eq(timeArgumentCaptor.getValue()));
+            verify(userExistenceCache).exists(ownerUserId);
+            verify(itemRepository).findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, 0L, Limit.of(100));
+            verify(itemMapper, times(2)).mapToItemWithBookingInfoDto(any(Item.class), any());
+            verify(itemBookingSummaryRepository).findAllById(itemIds);
+            verifyNoInteractions(bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should load comments of all listed items in one query")
+        void getAllItemsByOwner_whenItemsHaveComments_shouldBatchLoadComments() {
+            CommentView commentView = new CommentView() {
+                @Override
+                public Long getId() {
+                    return comment1Id;
+                }
+
+                @Override
+                public String getText() {
+                    return comment1.getText();
+                }
+
+                @Override
+                public Long getItemId() {
+                    return item1Id;
+                }
+
+                @Override
+                public String getAuthorName() {
+                    return otherUser.getName();
+                }
+
+                @Override
+                public LocalDateTime getCreated() {
+                    return comment1.getCreated();
+                }
+            };
+            List<Long> itemIds = List.of(item1Id, item2Id);
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
+            when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, 0L, Limit.of(100))).thenReturn(List.of(item1, item2));
+            when(commentRepository.findAllByItemIds(itemIds)).thenReturn(List.of(commentView));
+            when(commentMapper.mapToDto(commentView)).thenReturn(commentDto1);
+            when(itemMapper.mapToItemWithBookingInfoDto(item1, Set.of(commentDto1))).thenReturn(
+                    itemWithBookingInfoDto1);
+            when(itemMapper.mapToItemWithBookingInfoDto(item2, Collections.emptySet())).thenReturn(
+                    new ItemWithBookingInfoDto(item2Id, "Item Two", "Desc Two", false,
+                            Collections.emptySet(), null, null));
+
+            List<ItemWithBookingInfoDto> result = itemService.getAllItemsByOwnerWithBookingInfo(
+                    ownerUserId, null, null);
+
+            assertThat("Result list should contain 2 items", result, hasSize(2));
+            verify(commentRepository).findAllByItemIds(itemIds);
+            verify(itemMapper).mapToItemWithBookingInfoDto(item1, Set.of(commentDto1));
+            verify(itemMapper).mapToItemWithBookingInfoDto(item2, Collections.emptySet());
         }
 
         @Test
         @DisplayName("should return empty list when owner has no items")
         void getAllItemsByOwner_whenOwnerHasNoItems_shouldReturnEmptyList() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.of(ownerUser));
-            when(itemRepository.findByOwnerId(ownerUserId)).thenReturn(Collections.emptyList());
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(true);
+            when(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, 0L, Limit.of(100))).thenReturn(Collections.emptyList());
 
             List<ItemWithBookingInfoDto> result = itemService.getAllItemsByOwnerWithBookingInfo(
-                    ownerUserId);
+                    ownerUserId, null, null);
 
             assertThat("Result list should not be null", result, is(notNullValue()));
             assertThat("Result list should be empty for owner with no items", result, is(empty()));
 
-            verify(userRepository).findById(ownerUserId);
-            verify(itemRepository).findByOwnerId(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
+            verify(itemRepository).findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerUserId, 0L, Limit.of(100));
             verifyNoInteractions(itemMapper, bookingRepository);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when user not found")
         void getAllItemsByOwner_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(ownerUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(ownerUserId)).thenReturn(false);
 
             assertThrows(NotFoundException.class,
-                    () -> itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId),
+                    () -> itemService.getAllItemsByOwnerWithBookingInfo(ownerUserId, null, null),
                     "Getting all items for non-existent user should throw NotFoundException");
 
-            verify(userRepository).findById(ownerUserId);
+            verify(userExistenceCache).exists(ownerUserId);
             verifyNoInteractions(itemRepository, itemMapper, bookingRepository);
         }
     }
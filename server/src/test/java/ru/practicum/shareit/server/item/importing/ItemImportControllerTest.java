@@ -0,0 +1,79 @@
+package ru.practicum.shareit.server.item.importing;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.server.exception.NotFoundException;
+
+@WebMvcTest(ItemImportController.class)
+@DisplayName("Item Import Controller WebMvc Tests")
+class ItemImportControllerTest {
+
+    private final Long ownerUserId = 1L;
+    private final String userIdHeaderName = "X-Sharer-User-Id";
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private ItemImportService itemImportService;
+
+    @Test
+    @DisplayName("POST /items/import - Success (streams per-line results)")
+    void importItems_whenValid_shouldStreamResults() throws Exception {
+        String results = "{\"line\":1,\"id\":10}\n{\"line\":2,\"error\":\"Line is not a valid JSON item\"}\n";
+        when(itemImportService.importItems(eq(ownerUserId), any(InputStream.class)))
+                .thenReturn(out -> out.write(results.getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mockMvc.perform(post("/items/import").header(userIdHeaderName, ownerUserId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\nnot json\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(results));
+    }
+
+    @Test
+    @DisplayName("POST /items/import - Failure (Owner Not Found)")
+    void importItems_whenOwnerNotFound_shouldReturnNotFound() throws Exception {
+        String errorMsg = "User with id 1 not found";
+        when(itemImportService.importItems(eq(ownerUserId), any(InputStream.class)))
+                .thenThrow(new NotFoundException(errorMsg));
+
+        mockMvc.perform(post("/items/import").header(userIdHeaderName, ownerUserId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is(errorMsg)))
+                .andExpect(jsonPath("$.responseCode", is(404)));
+    }
+
+    @Test
+    @DisplayName("POST /items/import - Failure (Not NDJSON)")
+    void importItems_whenNotNdjson_shouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/items/import").header(userIdHeaderName, ownerUserId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,236 @@
+package ru.practicum.shareit.server.item.importing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.common.dto.item.ItemImportResultDto;
+import ru.practicum.shareit.common.dto.item.NewItemDto;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.search.ItemSearchIndexer;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
+import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Import Service Tests")
+class ItemImportServiceTest {
+
+    private static final String VALID = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemMapper itemMapper;
+    @Mock
+    private ItemSearchIndexer itemSearchIndexer;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ValidatorFactory validatorFactory;
+    private ItemImportService importService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new ItemImportService(userRepository, itemRepository, itemRequestRepository, itemMapper,
+                itemSearchIndexer, objectMapper, validatorFactory.getValidator(), entityManager);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxLineLength", 100);
+        owner = new User();
+        owner.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("should throw NotFoundException before streaming when the owner does not exist")
+    void importItems_whenOwnerNotFound_shouldThrowNotFoundException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> importService.importItems(1L, new ByteArrayInputStream(new byte[0])),
+                "Should reject an unknown owner before the response starts");
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("should save valid lines in chunks and report one result per non-blank line")
+    void importItems_whenLinesMixed_shouldReportPerLineResults() throws IOException {
+        AtomicLong ids = new AtomicLong(100);
+        when(itemMapper.mapToItem(any(NewItemDto.class))).thenAnswer(invocation -> new Item());
+        when(itemRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(ids.incrementAndGet()));
+            return items;
+        });
+
+        List<ItemImportResultDto> results = runImport(VALID, "not json", "",
+                "{\"name\":\"\",\"description\":\"Cordless\",\"available\":true}", VALID);
+
+        assertThat("Every non-blank line should get a result in line order", results, contains(
+                ItemImportResultDto.created(1, 101L),
+                ItemImportResultDto.failed(2, "Line is not a valid JSON item"),
+                ItemImportResultDto.failed(4, "Validation failed: Name cannot be blank"),
+                ItemImportResultDto.created(5, 102L)));
+        verify(itemRepository, times(2)).saveAllAndFlush(anyList());
+        verify(itemSearchIndexer, times(2)).indexAll(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("should link items to existing requests and reject lines with unknown requests")
+    void importItems_whenRequestMissing_shouldRejectOnlyThatLine() throws IOException {
+        ItemRequest request = new ItemRequest();
+        request.setId(7L);
+        Item linked = new Item();
+        Item unlinked = new Item();
+        when(itemRequestRepository.findAllById(Set.of(7L, 8L))).thenReturn(List.of(request));
+        when(itemMapper.mapToItem(any(NewItemDto.class))).thenReturn(linked, unlinked);
+        when(itemRepository.saveAllAndFlush(List.of(linked))).thenAnswer(invocation -> {
+            linked.setId(101L);
+            return List.of(linked);
+        });
+
+        List<ItemImportResultDto> results = runImport(withRequest(7L), withRequest(8L));
+
+        assertThat("Only the line with an unknown request should fail", results, contains(
+                ItemImportResultDto.created(1, 101L),
+                ItemImportResultDto.failed(2, "ItemRequest with id 8 not found")));
+        assertThat("The saved item should be linked to its request", linked.getRequest(), equalTo(request));
+        assertThat("The saved item should be owned by the importer", linked.getOwner(), equalTo(owner));
+    }
+
+    @Test
+    @DisplayName("should retry a failed chunk row by row and report only the line that could not be saved")
+    void importItems_whenChunkFails_shouldReportOnlyViolatingLineAndContinue() throws IOException {
+        AtomicLong ids = new AtomicLong(100);
+        when(itemMapper.mapToItem(any(NewItemDto.class))).thenAnswer(invocation -> new Item());
+        when(itemRepository.saveAllAndFlush(anyList()))
+                .thenAnswer(invocation -> {
+                    // Sequence ids are assigned before the batch insert fails
+                    List<Item> items = invocation.getArgument(0);
+                    items.forEach(item -> item.setId(ids.incrementAndGet()));
+                    throw new DataIntegrityViolationException("boom");
+                })
+                .thenAnswer(invocation -> {
+                    List<Item> items = invocation.getArgument(0);
+                    items.forEach(item -> item.setId(ids.incrementAndGet()));
+                    return items;
+                });
+        when(itemRepository.saveAndFlush(any(Item.class)))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenAnswer(invocation -> {
+                    Item item = invocation.getArgument(0);
+                    assertThat("A retried item should be inserted anew", item.getId(), nullValue());
+                    item.setId(ids.incrementAndGet());
+                    return item;
+                });
+
+        List<ItemImportResultDto> results = runImport(VALID, VALID, VALID);
+
+        assertThat("Only the violating line should fail, its chunk neighbour and later chunks still saved",
+                results, contains(
+                        ItemImportResultDto.failed(1, "Item could not be saved"),
+                        ItemImportResultDto.created(2, 103L),
+                        ItemImportResultDto.created(3, 104L)));
+        verify(itemRepository, times(2)).saveAndFlush(any(Item.class));
+        verify(itemSearchIndexer).index(any(Item.class));
+        verify(itemSearchIndexer, times(1)).indexAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should report over-long lines as failed without affecting the lines around them")
+    void importItems_whenLineTooLong_shouldRejectOnlyThatLine() throws IOException {
+        AtomicLong ids = new AtomicLong(100);
+        when(itemMapper.mapToItem(any(NewItemDto.class))).thenAnswer(invocation -> new Item());
+        when(itemRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            items.forEach(item -> item.setId(ids.incrementAndGet()));
+            return items;
+        });
+        String tooLong = "{\"name\":\"Drill\",\"description\":\"" + "x".repeat(20_000) + "\",\"available\":true}";
+
+        List<ItemImportResultDto> results = runImport(VALID + "\r", tooLong, VALID);
+
+        assertThat("Only the over-long line should fail", results, contains(
+                ItemImportResultDto.created(1, 101L),
+                ItemImportResultDto.failed(2, "Line is longer than 100 characters"),
+                ItemImportResultDto.created(3, 102L)));
+    }
+
+    @Test
+    @DisplayName("should write nothing for an empty body")
+    void importItems_whenBodyEmpty_shouldWriteNothing() throws IOException {
+        assertThat("An empty import should produce no results", runImport(), empty());
+        verify(itemRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    private List<ItemImportResultDto> runImport(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importService.importItems(owner, new ByteArrayInputStream(body), out);
+        String written = out.toString(StandardCharsets.UTF_8);
+        if (written.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(written.split("\n"))
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, ItemImportResultDto.class);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private String withRequest(long requestId) {
+        return "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true,\"requestId\":" + requestId + "}";
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.NewCommentDto;
 import ru.practicum.shareit.server.item.Comment;
+import ru.practicum.shareit.server.item.CommentView;
 import ru.practicum.shareit.server.item.Item;
 import ru.practicum.shareit.server.user.User;
 
@@ -78,6 +79,48 @@ class CommentMapperImplTest {
                     )
             );
         }
+
+        @Test
+        @DisplayName("should map CommentView projection to CommentDto correctly")
+        void mapToDto_whenCommentViewIsValid_shouldReturnCorrectCommentDto() {
+            CommentView view = new CommentView() {
+                @Override
+                public Long getId() {
+                    return 100L;
+                }
+
+                @Override
+                public String getText() {
+                    return "This is a test comment.";
+                }
+
+                @Override
+                public Long getItemId() {
+                    return 10L;
+                }
+
+                @Override
+                public String getAuthorName() {
+                    return "Author Name";
+                }
+
+                @Override
+                public LocalDateTime getCreated() {
+                    return testTimestamp;
+                }
+            };
+
+            CommentDto commentDto = commentMapper.mapToDto(view);
+
+            assertThat("Mapped CommentDto should have correct properties from CommentView", commentDto,
+                    allOf(
+                            hasProperty("id", equalTo(100L)),
+                            hasProperty("itemId", equalTo(10L)),
+                            hasProperty("authorName", equalTo("Author Name")),
+                            hasProperty("created", equalTo(testTimestamp.toString()))
+                    )
+            );
+        }
     }
 
     @Nested
@@ -9,39 +9,28 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.common.dto.item.CommentDto;
 import ru.practicum.shareit.common.dto.item.ItemDto;
 import ru.practicum.shareit.common.dto.item.ItemShortDto;
 import ru.practicum.shareit.common.dto.item.ItemWithBookingInfoDto;
 import ru.practicum.shareit.common.dto.item.NewItemDto;
 import ru.practicum.shareit.common.dto.item.UpdateItemDto;
-import ru.practicum.shareit.server.item.Comment;
 import ru.practicum.shareit.server.item.Item;
 import ru.practicum.shareit.server.request.ItemRequest;
 import ru.practicum.shareit.server.user.User;
 
 
 @DisplayName("Item Mapper Implementation Tests")
-@ExtendWith(MockitoExtension.class)
 class ItemMapperImplTest {
 
-    @Mock
-    private CommentMapper commentMapper;
-
-    @InjectMocks
-    private ItemMapperImpl itemMapper;
+    private final ItemMapperImpl itemMapper = new ItemMapperImpl();
 
     private Item testItem;
     private User testOwner;
@@ -101,7 +90,8 @@ class ItemMapperImplTest {
         @Test
         @DisplayName("mapToItemWithBookingInfoDto should map Item with no comments correctly")
         void mapToItemWithBookingInfoDto_whenItemHasNoComments_shouldReturnDtoWithEmptyComments() {
-            ItemWithBookingInfoDto resultDto = itemMapper.mapToItemWithBookingInfoDto(testItem);
+            ItemWithBookingInfoDto resultDto = itemMapper.mapToItemWithBookingInfoDto(testItem,
+                    Collections.emptySet());
 
             assertThat("Mapped ItemWithBookingInfoDto should not be null", resultDto,
                     is(notNullValue()));
@@ -119,8 +109,18 @@ class ItemMapperImplTest {
             );
             assertThat("Mapped ItemWithBookingInfoDto comments list should be empty",
                     resultDto.getComments(), is(empty()));
+        }
+
+        @Test
+        @DisplayName("mapToItemWithBookingInfoDto should use the given comments as is")
+        void mapToItemWithBookingInfoDto_whenCommentsGiven_shouldAttachThem() {
+            Set<CommentDto> comments = Set.of(new CommentDto(100L, "Nice", itemId, "Booker",
+                    "2024-01-01T10:00"));
+
+            ItemWithBookingInfoDto resultDto = itemMapper.mapToItemWithBookingInfoDto(testItem, comments);
 
-            verify(commentMapper, never()).mapToDto(any(Comment.class));
+            assertThat("Mapped ItemWithBookingInfoDto should carry the given comments",
+                    resultDto.getComments(), is(sameInstance(comments)));
         }
 
         @Nested
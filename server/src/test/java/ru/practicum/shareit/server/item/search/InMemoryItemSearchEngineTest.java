@@ -0,0 +1,206 @@
+package ru.practicum.shareit.server.item.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryItemSearchEngine Tests")
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    private final Map<Long, Item> database = new HashMap<>();
+
+    private Item drill;
+    private Item ladder;
+    private Item screwdrivers;
+
+    @BeforeEach
+    void setUp() {
+        drill = item(1L, "Drill", "Powerful cordless drill", true);
+        ladder = item(2L, "Ladder", "Sturdy aluminum ladder", true);
+        screwdrivers = item(3L, "Screwdriver Set", "Various types of screwdrivers", true);
+        Item sprayer = item(4L, "Paint Sprayer", "Professional paint sprayer", false);
+
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(drill, ladder));
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(screwdrivers));
+        lenient().when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .map(database::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        });
+
+        searchEngine = new InMemoryItemSearchEngine(itemRepository, 2);
+        searchEngine.load();
+        database.remove(sprayer.getId());
+    }
+
+    private Item item(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        database.put(id, item);
+        return item;
+    }
+
+    @Test
+    @DisplayName("load should page through available items by id")
+    void load_shouldReadAllBatches() {
+        verify(itemRepository).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
+        verify(itemRepository).findByAvailableTrueAndIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("search should match substrings case-insensitively, name matches first")
+    void search_whenTextMatchesNameAndDescription_shouldRankNameMatchesFirst() {
+        List<Item> result = searchEngine.search("ER", null, 0, 100);
+
+        assertThat("Name matches (by id) should precede description-only matches", result,
+                contains(ladder, screwdrivers, drill));
+    }
+
+    @Test
+    @DisplayName("search should find a partial word inside a longer one")
+    void search_whenTextIsPartialWord_shouldFindItem() {
+        assertThat("'drive' should match 'Screwdriver'", searchEngine.search("drive", null, 0, 100),
+                contains(screwdrivers));
+    }
+
+    @Test
+    @DisplayName("search should handle queries shorter than a trigram")
+    void search_whenTextIsShort_shouldScanDocuments() {
+        assertThat("'dr' should match drill and screwdrivers", searchEngine.search("dr", null, 0, 100),
+                contains(drill, screwdrivers));
+    }
+
+    @Test
+    @DisplayName("search should not hit the repository when nothing matches")
+    void search_whenNothingMatches_shouldReturnEmptyWithoutHydration() {
+        assertThat("Result should be empty", searchEngine.search("nonexistent", null, 0, 100), is(empty()));
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("index should add new items and reflect updated text")
+    void index_whenItemAddedAndUpdated_shouldReflectChanges() {
+        Item hammer = item(5L, "Hammer", "Claw hammer", true);
+        searchEngine.index(hammer);
+        assertThat("New item should be searchable", searchEngine.search("claw", null, 0, 100), contains(hammer));
+
+        hammer.setDescription("Rubber mallet");
+        searchEngine.index(hammer);
+
+        assertThat("Old text should no longer match", searchEngine.search("claw", null, 0, 100), is(empty()));
+        assertThat("New text should match", searchEngine.search("mallet", null, 0, 100), contains(hammer));
+    }
+
+    @Test
+    @DisplayName("index should drop items that became unavailable")
+    void index_whenItemBecomesUnavailable_shouldRemoveIt() {
+        drill.setAvailable(false);
+
+        searchEngine.index(drill);
+
+        assertThat("Unavailable item should not be found", searchEngine.search("drill", null, 0, 100), is(empty()));
+    }
+
+    @Test
+    @DisplayName("remove should drop the item from the index")
+    void remove_whenItemDeleted_shouldNotBeFound() {
+        searchEngine.remove(ladder.getId());
+
+        assertThat("Removed item should not be found", searchEngine.search("ladder", null, 0, 100), is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should skip hits that no longer exist in the database")
+    void search_whenItemDeletedBehindIndex_shouldSkipIt() {
+        database.remove(ladder.getId());
+
+        assertThat("Missing item should be skipped", searchEngine.search("ladder", null, 0, 100), is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should fill the page past hits that no longer exist in the database")
+    void search_whenItemDeletedBehindIndex_shouldNotShortenPage() {
+        database.remove(ladder.getId());
+
+        assertThat("Page should be filled with the next hits", searchEngine.search("ER", null, 0, 2),
+                contains(screwdrivers, drill));
+        assertThat("Missing item should be dropped from the index", searchEngine.search("ladder", null, 0, 100),
+                is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should hydrate only the requested offset page")
+    void search_whenOffsetGiven_shouldReturnThatPage() {
+        assertThat("First page should hold the best hit", searchEngine.search("ER", null, 0, 1),
+                contains(ladder));
+        assertThat("Second page of size 2 should hold the last hit", searchEngine.search("ER", null, 2, 2),
+                contains(drill));
+        assertThat("Page past the end should be empty", searchEngine.search("ER", null, 4, 2), is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should continue after the cursor in rank order")
+    void search_whenCursorGiven_shouldReturnFollowingHits() {
+        assertThat("Next name match should follow the cursor", searchEngine.search("ER", ladder.getId(), 0, 1),
+                contains(screwdrivers));
+        assertThat("Description-only match should follow the last name match",
+                searchEngine.search("ER", screwdrivers.getId(), 0, 10), contains(drill));
+        assertThat("Nothing should follow the last hit", searchEngine.search("ER", drill.getId(), 0, 10),
+                is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should rank an unavailable cursor item by its name, like the SQL engine")
+    void search_whenCursorUnavailable_shouldRankItByItsName() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        when(itemRepository.findById(drill.getId())).thenReturn(Optional.of(drill));
+
+        assertThat("Nothing should follow a cursor that only matches by description",
+                searchEngine.search("ER", drill.getId(), 0, 10), is(empty()));
+    }
+
+    @Test
+    @DisplayName("search should restart from the top when the cursor item is no longer indexed")
+    void search_whenCursorNotIndexed_shouldTreatItAsNameMatch() {
+        assertThat("Hits after id 0 in the name rank should include everything", searchEngine.search("ER", 0L, 0, 10),
+                contains(ladder, screwdrivers, drill));
+    }
+}
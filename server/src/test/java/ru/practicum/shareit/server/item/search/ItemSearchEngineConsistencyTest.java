@@ -0,0 +1,123 @@
+package ru.practicum.shareit.server.item.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.user.User;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@DisplayName("Item Search Engine Consistency Tests")
+class ItemSearchEngineConsistencyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Container
+    private static final PostgreSQLContainer<?> database = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:16"));
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", database::getJdbcUrl);
+        registry.add("spring.datasource.username", database::getUsername);
+        registry.add("spring.datasource.password", database::getPassword);
+    }
+
+    private SqlItemSearchEngine sqlEngine;
+    private InMemoryItemSearchEngine inMemoryEngine;
+
+    private Item drill;
+    private Item ladder;
+    private Item sprayer;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@example.com");
+        owner = entityManager.persistAndFlush(owner);
+
+        drill = persist(owner, "Drill", "Powerful cordless drill", true);
+        ladder = persist(owner, "Ladder", "Sturdy aluminum ladder", true);
+        persist(owner, "Screwdriver Set", "Various types of screwdrivers", true);
+        sprayer = persist(owner, "Paint Gun", "Professional paint sprayer", false);
+        persist(owner, "Hammer", "Steel claw hammer", false);
+        entityManager.clear();
+
+        sqlEngine = new SqlItemSearchEngine(itemRepository);
+        inMemoryEngine = new InMemoryItemSearchEngine(itemRepository, 2);
+        inMemoryEngine.load();
+    }
+
+    private Item persist(User owner, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return entityManager.persistAndFlush(item);
+    }
+
+    private void assertSameResults(String text, Long afterId, int from, int size) {
+        List<Long> expected = ids(sqlEngine.search(text, afterId, from, size));
+        List<Long> actual = ids(inMemoryEngine.search(text, afterId, from, size));
+        assertThat("In-memory engine should return what the SQL engine returns for text '" + text
+                + "' after " + afterId, actual, equalTo(expected));
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    @Test
+    @DisplayName("both engines should rank and page offset searches the same way")
+    void search_whenOffsetGiven_shouldMatchSqlEngine() {
+        assertSameResults("er", null, 0, 10);
+        assertSameResults("er", null, 0, 1);
+        assertSameResults("er", null, 2, 2);
+        assertSameResults("dr", null, 0, 10);
+    }
+
+    @Test
+    @DisplayName("both engines should continue after an available cursor the same way")
+    void search_whenCursorAvailable_shouldMatchSqlEngine() {
+        assertSameResults("er", ladder.getId(), 0, 10);
+        assertSameResults("er", drill.getId(), 0, 10);
+    }
+
+    @Test
+    @DisplayName("both engines should rank an unavailable cursor by its name")
+    void search_whenCursorUnavailable_shouldMatchSqlEngine() {
+        // The name does not match, so the cursor ranks with the description matches and nothing follows it
+        assertSameResults("er", sprayer.getId(), 0, 10);
+        assertSameResults("paint", sprayer.getId(), 0, 10);
+    }
+
+    @Test
+    @DisplayName("both engines should treat a deleted cursor as a name match")
+    void search_whenCursorDeleted_shouldMatchSqlEngine() {
+        assertSameResults("er", sprayer.getId() + 1000, 0, 10);
+        assertSameResults("er", 0L, 0, 10);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.server.item.search;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.item.Item;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item Search Indexer Tests")
+class ItemSearchIndexerTest {
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @InjectMocks
+    private ItemSearchIndexer itemSearchIndexer;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(itemSearchIndexer);
+    }
+
+    private Item item(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        item.setAvailable(true);
+        return item;
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    @DisplayName("should apply writes right away outside a transaction")
+    void index_whenNoTransaction_shouldUpdateEngineImmediately() {
+        Item item = item(1L);
+
+        itemSearchIndexer.index(item);
+        itemSearchIndexer.remove(2L);
+
+        verify(itemSearchEngine).update(List.of(item), List.of());
+        verify(itemSearchEngine).update(List.of(), List.of(2L));
+    }
+
+    @Test
+    @DisplayName("should publish the writes of a transaction as one batch after commit, last write per item wins")
+    void index_whenTransactionCommits_shouldPublishOneBatch() {
+        Item first = item(1L);
+        Item second = item(2L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemSearchIndexer.indexAll(List.of(first, second));
+        itemSearchIndexer.remove(1L);
+        itemSearchIndexer.remove(3L);
+        verify(itemSearchEngine, never()).update(anyCollection(), anyCollection());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(itemSearchEngine).update(List.of(second), List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("should drop the writes of a rolled back transaction")
+    void index_whenTransactionRollsBack_shouldPublishNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemSearchIndexer.index(item(1L));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(itemSearchEngine, never()).update(any(), any());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.server.item.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PostingList Tests")
+class PostingListTest {
+
+    @Test
+    @DisplayName("should keep ids sorted and unique regardless of insertion order")
+    void add_whenIdsOutOfOrderAndDuplicated_shouldKeepSortedUniqueIds() {
+        PostingList list = new PostingList();
+
+        list.add(5);
+        list.add(300);
+        list.add(1);
+        list.add(300);
+        list.add(70_000);
+        list.add(42);
+
+        assertThat("Ids should be decoded in ascending order without duplicates", list.toArray(),
+                equalTo(new long[]{1, 5, 42, 300, 70_000}));
+        assertThat("Size should count unique ids", list.size(), is(5));
+    }
+
+    @Test
+    @DisplayName("should remove ids from head, middle and tail")
+    void remove_whenIdsPresent_shouldDropThem() {
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 10; id++) {
+            list.add(id * 1000);
+        }
+
+        list.remove(1000);
+        list.remove(5000);
+        list.remove(10_000);
+        list.remove(123);
+
+        assertThat("Removed ids should be gone and missing ids ignored", list.toArray(),
+                equalTo(new long[]{2000, 3000, 4000, 6000, 7000, 8000, 9000}));
+    }
+
+    @Test
+    @DisplayName("should become empty after removing the only id")
+    void remove_whenLastIdRemoved_shouldBeEmpty() {
+        PostingList list = new PostingList();
+        list.add(Long.MAX_VALUE);
+
+        list.remove(Long.MAX_VALUE);
+
+        assertThat("List should be empty", list.isEmpty(), is(true));
+        assertThat("Decoded array should be empty", list.toArray(), equalTo(new long[0]));
+    }
+
+    @Test
+    @DisplayName("should round-trip a large random set of ids")
+    void toArray_whenManyRandomIds_shouldMatchReferenceSet() {
+        PostingList list = new PostingList();
+        TreeSet<Long> reference = new TreeSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextLong(1, 1_000_000_000_000L);
+            list.add(id);
+            reference.add(id);
+        }
+
+        long[] expected = reference.stream().mapToLong(Long::longValue).toArray();
+        assertThat("Decoded ids should match the reference set", list.toArray(), equalTo(expected));
+    }
+
+    @Test
+    @DisplayName("should merge a sorted batch into the list in one pass")
+    void addAll_whenBatchInterleavesExistingIds_shouldMergeWithoutDuplicates() {
+        PostingList list = new PostingList();
+        list.addAll(new long[]{10, 20, 30});
+
+        list.addAll(new long[]{5, 20, 25, 40});
+
+        assertThat("Batch should be merged in order without duplicates", list.toArray(),
+                equalTo(new long[]{5, 10, 20, 25, 30, 40}));
+        assertThat("Size should count unique ids", list.size(), is(6));
+    }
+
+    @Test
+    @DisplayName("should remove a sorted batch and ignore ids that are not present")
+    void removeAll_whenBatchGiven_shouldDropPresentIds() {
+        PostingList list = new PostingList();
+        list.addAll(new long[]{1, 2, 3, 4, 5, 6});
+
+        list.removeAll(new long[]{0, 2, 4, 7});
+
+        assertThat("Only present ids of the batch should be removed", list.toArray(),
+                equalTo(new long[]{1, 3, 5, 6}));
+        assertThat("Size should shrink by the removed ids", list.size(), is(4));
+    }
+}
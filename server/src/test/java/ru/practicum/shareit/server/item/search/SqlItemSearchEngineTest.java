@@ -0,0 +1,67 @@
+package ru.practicum.shareit.server.item.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SqlItemSearchEngine Tests")
+class SqlItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private SqlItemSearchEngine searchEngine;
+
+    @Test
+    @DisplayName("search should delegate to the offset query, converting the offset to a page")
+    void search_whenNoCursor_shouldUseOffsetQuery() {
+        Item item = new Item();
+        item.setId(1L);
+        when(itemRepository.search("drill", PageRequest.of(2, 10))).thenReturn(List.of(item));
+
+        List<Item> result = searchEngine.search("drill", null, 20, 10);
+
+        assertThat("Result should be the repository result", result, contains(item));
+        verify(itemRepository).search("drill", PageRequest.of(2, 10));
+    }
+
+    @Test
+    @DisplayName("search should delegate to the keyset query when a cursor is given")
+    void search_whenCursorGiven_shouldUseKeysetQuery() {
+        Item item = new Item();
+        item.setId(6L);
+        when(itemRepository.searchAfter("drill", 5L, PageRequest.of(0, 10))).thenReturn(List.of(item));
+
+        List<Item> result = searchEngine.search("drill", 5L, 20, 10);
+
+        assertThat("Result should be the repository result", result, contains(item));
+        verify(itemRepository).searchAfter("drill", 5L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("index and remove should not touch the repository")
+    void indexAndRemove_shouldBeNoOps() {
+        Item item = new Item();
+        item.setId(1L);
+
+        searchEngine.index(item);
+        searchEngine.remove(1L);
+
+        verifyNoInteractions(itemRepository);
+    }
+}
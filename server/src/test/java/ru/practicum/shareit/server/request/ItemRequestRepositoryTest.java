@@ -16,7 +16,6 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -50,6 +49,8 @@ class ItemRequestRepositoryTest {
         registry.add("spring.datasource.url", database::getJdbcUrl);
         registry.add("spring.datasource.username", database::getUsername);
         registry.add("spring.datasource.password", database::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                RecordingStatementInspector.class::getName);
     }
 
     private User requestor1;
@@ -192,72 +193,83 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    @DisplayName("findAllByRequestorIdNot should return requests not by the specified user")
-    void findAllByRequestorIdNot_shouldExcludeUserRequests() {
+    @DisplayName("findIdsByRequestorIdNot should return ids of requests not by the specified user")
+    void findIdsByRequestorIdNot_shouldExcludeUserRequests() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("created").descending());
 
-        Page<ItemRequest> results = itemRequestRepository.findAllByRequestorIdNot(
-                requestor1.getId(), pageable);
-
-        assertThat("Page content should contain requests not made by requestor1",
-                results.getContent(), hasSize(1));
-        assertThat("The returned request should be request3 (made by requestor2)",
-                results.getContent().getFirst(), equalTo(request3));
-        assertThat("Request3 should have an empty list of items by default in this query",
-                results.getContent().getFirst().getItems(), is(empty()));
-        assertThat("Total elements should be 1 (only request3)", results.getTotalElements(),
-                equalTo(1L));
+        List<Long> results = itemRequestRepository.findIdsByRequestorIdNot(requestor1.getId(), pageable);
+
+        assertThat("Only request3 (made by requestor2) should be returned", results,
+                contains(request3.getId()));
     }
 
     @Test
-    @DisplayName("findAllByRequestorIdNot should return empty page when all requests are by the user")
-    void findAllByRequestorIdNot_whenAllRequestsByUser_shouldReturnEmptyPage() {
+    @DisplayName("findIdsByRequestorIdNot should return empty list when all requests are by the user")
+    void findIdsByRequestorIdNot_whenAllRequestsByUser_shouldReturnEmptyList() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("created").descending());
         entityManager.remove(entityManager.find(ItemRequest.class, request3.getId()));
         entityManager.flush();
         entityManager.clear();
 
-        Page<ItemRequest> results = itemRequestRepository.findAllByRequestorIdNot(
-                requestor1.getId(), pageable);
-
-        assertThat("Page content should be empty when no requests are made by other users",
-                results.getContent(), is(empty()));
-        assertThat("Total elements should be 0 when no requests are made by other users",
-                results.getTotalElements(), equalTo(0L));
+        List<Long> results = itemRequestRepository.findIdsByRequestorIdNot(requestor1.getId(), pageable);
 
+        assertThat("Result should be empty when no requests are made by other users", results,
+                is(empty()));
     }
 
     @Test
-    @DisplayName("findAllByRequestorIdNot should respect pagination and sort order")
-    void findAllByRequestorIdNot_shouldApplyPaginationAndSort() {
+    @DisplayName("findIdsByRequestorIdNot should respect pagination and sort order")
+    void findIdsByRequestorIdNot_shouldApplyPaginationAndSort() {
         LocalDateTime olderTime = LocalDateTime.now().minusDays(10);
         ItemRequest request0 = new ItemRequest();
         request0.setDescription("Old request by req2");
         request0.setRequestor(requestor2);
         request0.setCreated(olderTime);
-        entityManager.persistAndFlush(request0);
+        request0 = entityManager.persistAndFlush(request0);
         entityManager.clear();
 
-        Pageable pageable = PageRequest.of(0, 1, Sort.by("created").descending());
-        Page<ItemRequest> resultsPage0 = itemRequestRepository.findAllByRequestorIdNot(
-                requestor1.getId(), pageable);
-        assertThat("First page should contain 1 element", resultsPage0.getContent(), hasSize(1));
-        assertThat("First element should be the newest request by another user (request3)",
-                resultsPage0.getContent().getFirst(), equalTo(request3));
-        assertThat("Total elements across all pages should be 2", resultsPage0.getTotalElements(),
-                equalTo(2L));
-        assertThat("Total pages should be 2 for 2 elements with page size 1",
-                resultsPage0.getTotalPages(), equalTo(2));
-        pageable = PageRequest.of(1, 1, Sort.by("created").descending());
-        Page<ItemRequest> resultsPage1 = itemRequestRepository.findAllByRequestorIdNot(
-                requestor1.getId(), pageable);
-        assertThat("Second page should contain 1 element", resultsPage1.getContent(), hasSize(1));
-        assertThat("Second element should be the older request by another user (request0)",
-                resultsPage1.getContent().getFirst().getDescription(), equalTo("Old request by req2"));
-        assertThat("Total elements across all pages should be 2", resultsPage1.getTotalElements(),
-                equalTo(2L));
-        assertThat("Total pages should be 2 for 2 elements with page size 1",
-                resultsPage1.getTotalPages(), equalTo(2));
+        List<Long> resultsPage0 = itemRequestRepository.findIdsByRequestorIdNot(requestor1.getId(),
+                PageRequest.of(0, 1, Sort.by("created").descending()));
+        assertThat("First page should hold the newest request by another user (request3)",
+                resultsPage0, contains(request3.getId()));
+
+        List<Long> resultsPage1 = itemRequestRepository.findIdsByRequestorIdNot(requestor1.getId(),
+                PageRequest.of(1, 1, Sort.by("created").descending()));
+        assertThat("Second page should hold the older request by another user (request0)",
+                resultsPage1, contains(request0.getId()));
+    }
+
+    @Test
+    @DisplayName("findIdsByRequestorIdNot should page in SQL rather than in memory")
+    void findIdsByRequestorIdNot_shouldIssueLimitInSql() {
+        RecordingStatementInspector.clear();
+
+        itemRequestRepository.findIdsByRequestorIdNot(requestor2.getId(),
+                PageRequest.of(1, 2, Sort.by("created").descending()));
+
+        assertThat("The id page query should carry a row limit and offset",
+                RecordingStatementInspector.statements(),
+                hasItem(allOf(anyOf(containsStringIgnoringCase("limit"), containsStringIgnoringCase("fetch first")),
+                        containsStringIgnoringCase("offset"))));
+        assertThat("The id page query should not join the items collection",
+                RecordingStatementInspector.statements(),
+                everyItem(not(containsStringIgnoringCase("join items"))));
+    }
+
+    @Test
+    @DisplayName("findAllByIdInFetchingItems should return the requested ids with items fetched")
+    void findAllByIdInFetchingItems_shouldFetchItemsOncePerRequest() {
+        List<ItemRequest> results = itemRequestRepository.findAllByIdInFetchingItems(
+                List.of(request1.getId(), request2.getId(), request4NoItems.getId()));
+
+        assertThat("Each requested id should be returned exactly once", results,
+                containsInAnyOrder(request1, request2, request4NoItems));
+        ItemRequest fetched2 = results.stream()
+                .filter(request -> request.getId().equals(request2.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat("Items of request2 should be fetched", fetched2.getItems(),
+                containsInAnyOrder(item2, item3));
     }
 
     @Test
@@ -310,8 +322,7 @@ class ItemRequestRepositoryTest {
         badRequest.setRequestor(requestor1);
         badRequest.setCreated(LocalDateTime.now());
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRequestRepository.save(badRequest);
-            entityManager.flush();
+            itemRequestRepository.saveAndFlush(badRequest);
         }, "Should throw DataIntegrityViolationException when saving item request with null "
                 + "description");
     }
@@ -324,8 +335,7 @@ class ItemRequestRepositoryTest {
         badRequest.setRequestor(null);
         badRequest.setCreated(LocalDateTime.now());
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRequestRepository.save(badRequest);
-            entityManager.flush();
+            itemRequestRepository.saveAndFlush(badRequest);
         }, "Should throw DataIntegrityViolationException when saving item request with null "
                 + "requestor");
     }
@@ -338,8 +348,7 @@ class ItemRequestRepositoryTest {
         badRequest.setRequestor(requestor1);
         badRequest.setCreated(null);
         assertThrows(DataIntegrityViolationException.class, () -> {
-            itemRequestRepository.save(badRequest);
-            entityManager.flush();
+            itemRequestRepository.saveAndFlush(badRequest);
         }, "Should throw DataIntegrityViolationException when saving item request with null "
                 + "created timestamp");
     }
@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -34,8 +35,6 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -47,6 +46,7 @@ import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.Item;
 import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.user.User;
+import ru.practicum.shareit.server.user.UserExistenceCache;
 import ru.practicum.shareit.server.user.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +58,8 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRequestMapper itemRequestMapper;
 
     @InjectMocks
@@ -206,7 +208,7 @@ class ItemRequestServiceImplTest {
         @DisplayName("should return user's requests ordered descending by creation date")
         void getOwnRequests_whenUserExistsAndHasRequests_shouldReturnOrderedDtoList() {
             List<ItemRequest> requestsFromRepo = List.of(request2, request1);
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
             when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(requestor1Id))
                     .thenReturn(requestsFromRepo);
             when(itemRequestMapper.mapToDto(request1)).thenReturn(requestDto1);
@@ -220,7 +222,7 @@ class ItemRequestServiceImplTest {
             assertThat("Result list should contain the expected ItemRequestDto objects in order", results,
                     contains(requestDto2, requestDto1));
 
-            verify(userRepository).findById(requestor1Id);
+            verify(userExistenceCache).exists(requestor1Id);
             verify(itemRequestRepository).findByRequestorIdOrderByCreatedDesc(requestor1Id);
             verify(itemRequestMapper, times(2)).mapToDto(any(ItemRequest.class));
         }
@@ -228,7 +230,7 @@ class ItemRequestServiceImplTest {
         @Test
         @DisplayName("should return empty list when user has no requests")
         void getOwnRequests_whenUserHasNoRequests_shouldReturnEmptyList() {
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
             when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(requestor1Id))
                     .thenReturn(Collections.emptyList());
 
@@ -237,7 +239,7 @@ class ItemRequestServiceImplTest {
             assertThat("Result list should not be null", results, is(notNullValue()));
             assertThat("Result list should be empty", results, is(empty()));
 
-            verify(userRepository).findById(requestor1Id);
+            verify(userExistenceCache).exists(requestor1Id);
             verify(itemRequestRepository).findByRequestorIdOrderByCreatedDesc(requestor1Id);
             verifyNoInteractions(itemRequestMapper);
         }
@@ -245,12 +247,12 @@ class ItemRequestServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when user does not exist")
         void getOwnRequests_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(nonExistentUserId)).thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> itemRequestService.getOwnRequests(nonExistentUserId),
                     "Getting own requests when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(nonExistentUserId);
+            verify(userExistenceCache).exists(nonExistentUserId);
             verifyNoInteractions(itemRequestRepository, itemRequestMapper);
         }
     }
@@ -268,11 +270,12 @@ class ItemRequestServiceImplTest {
             int from = 0;
             int size = 5;
             Pageable expectedPageable = PageRequest.of(from / size, size, defaultSort);
-            Page<ItemRequest> page = new PageImpl<>(List.of(request3), expectedPageable, 1);
 
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
-            when(itemRequestRepository.findAllByRequestorIdNot(eq(requestor1Id),
-                    any(Pageable.class))).thenReturn(page);
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
+            when(itemRequestRepository.findIdsByRequestorIdNot(eq(requestor1Id),
+                    any(Pageable.class))).thenReturn(List.of(request3Id));
+            when(itemRequestRepository.findAllByIdInFetchingItems(List.of(request3Id)))
+                    .thenReturn(List.of(request3));
             when(itemRequestMapper.mapToDto(request3)).thenReturn(requestDto3);
 
             List<ItemRequestDto> results = itemRequestService.getAllRequests(requestor1Id, from,
@@ -283,8 +286,8 @@ class ItemRequestServiceImplTest {
             assertThat("Result list should contain the expected ItemRequestDto object", results,
                     equalTo(List.of(requestDto3)));
 
-            verify(userRepository).findById(requestor1Id);
-            verify(itemRequestRepository).findAllByRequestorIdNot(eq(requestor1Id),
+            verify(userExistenceCache).exists(requestor1Id);
+            verify(itemRequestRepository).findIdsByRequestorIdNot(eq(requestor1Id),
                     pageableCaptor.capture());
             Pageable captured = pageableCaptor.getValue();
             assertThat("Captured Pageable should have correct page number",
@@ -296,17 +299,32 @@ class ItemRequestServiceImplTest {
             verify(itemRequestMapper).mapToDto(request3);
         }
 
+        @Test
+        @DisplayName("should keep the id page order when fetched requests come back unordered")
+        void getAllRequests_whenFetchReturnsDifferentOrder_shouldKeepIdPageOrder() {
+            when(userExistenceCache.exists(requestor2Id)).thenReturn(true);
+            when(itemRequestRepository.findIdsByRequestorIdNot(eq(requestor2Id), any(Pageable.class)))
+                    .thenReturn(List.of(request2Id, request1Id));
+            when(itemRequestRepository.findAllByIdInFetchingItems(List.of(request2Id, request1Id)))
+                    .thenReturn(List.of(request1, request2));
+            when(itemRequestMapper.mapToDto(request1)).thenReturn(requestDto1);
+            when(itemRequestMapper.mapToDto(request2)).thenReturn(requestDto2);
+
+            List<ItemRequestDto> results = itemRequestService.getAllRequests(requestor2Id, 0, 10);
+
+            assertThat("Results should follow the order of the id page", results,
+                    contains(requestDto2, requestDto1));
+        }
+
         @Test
         @DisplayName("should return empty list when no other requests exist")
         void getAllRequests_whenNoOtherRequests_shouldReturnEmptyList() {
             int from = 0;
             int size = 5;
-            Pageable expectedPageable = PageRequest.of(from / size, size, defaultSort);
-            Page<ItemRequest> emptyPage = Page.empty(expectedPageable);
 
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
-            when(itemRequestRepository.findAllByRequestorIdNot(eq(requestor1Id),
-                    any(Pageable.class))).thenReturn(emptyPage);
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
+            when(itemRequestRepository.findIdsByRequestorIdNot(eq(requestor1Id),
+                    any(Pageable.class))).thenReturn(List.of());
 
             List<ItemRequestDto> results = itemRequestService.getAllRequests(requestor1Id, from,
                     size);
@@ -314,9 +332,10 @@ class ItemRequestServiceImplTest {
             assertThat("Result list should not be null", results, is(notNullValue()));
             assertThat("Result list should be empty", results, is(empty()));
 
-            verify(userRepository).findById(requestor1Id);
-            verify(itemRequestRepository).findAllByRequestorIdNot(eq(requestor1Id),
+            verify(userExistenceCache).exists(requestor1Id);
+            verify(itemRequestRepository).findIdsByRequestorIdNot(eq(requestor1Id),
                     any(Pageable.class));
+            verify(itemRequestRepository, never()).findAllByIdInFetchingItems(any());
             verifyNoInteractions(itemRequestMapper);
         }
 
@@ -324,11 +343,12 @@ class ItemRequestServiceImplTest {
         @DisplayName("should use default pagination when parameters are null")
         void getAllRequests_whenPagingParamsNull_shouldUseDefaultPagination() {
             Pageable defaultPageable = PageRequest.of(defaultPage, defaultSize, defaultSort);
-            Page<ItemRequest> page = new PageImpl<>(List.of(request3));
 
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
-            when(itemRequestRepository.findAllByRequestorIdNot(eq(requestor1Id), eq(defaultPageable)))
-                    .thenReturn(page);
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
+            when(itemRequestRepository.findIdsByRequestorIdNot(eq(requestor1Id), eq(defaultPageable)))
+                    .thenReturn(List.of(request3Id));
+            when(itemRequestRepository.findAllByIdInFetchingItems(List.of(request3Id)))
+                    .thenReturn(List.of(request3));
             when(itemRequestMapper.mapToDto(request3)).thenReturn(requestDto3);
 
             List<ItemRequestDto> results = itemRequestService.getAllRequests(requestor1Id, null,
@@ -339,8 +359,8 @@ class ItemRequestServiceImplTest {
             assertThat("Result list should contain the expected ItemRequestDto object", results,
                     equalTo(List.of(requestDto3)));
 
-            verify(userRepository).findById(requestor1Id);
-            verify(itemRequestRepository).findAllByRequestorIdNot(eq(requestor1Id), eq(defaultPageable));
+            verify(userExistenceCache).exists(requestor1Id);
+            verify(itemRequestRepository).findIdsByRequestorIdNot(eq(requestor1Id), eq(defaultPageable));
             verify(itemRequestMapper).mapToDto(request3);
         }
 
@@ -348,17 +368,18 @@ class ItemRequestServiceImplTest {
         @DisplayName("should use default pagination when parameters are invalid")
         void getAllRequests_whenPagingParamsInvalid_shouldUseDefaultPagination() {
             Pageable defaultPageable = PageRequest.of(defaultPage, defaultSize, defaultSort);
-            Page<ItemRequest> page = new PageImpl<>(List.of(request3));
 
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
-            when(itemRequestRepository.findAllByRequestorIdNot(eq(requestor1Id), eq(defaultPageable)))
-                    .thenReturn(page);
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
+            when(itemRequestRepository.findIdsByRequestorIdNot(eq(requestor1Id), eq(defaultPageable)))
+                    .thenReturn(List.of(request3Id));
+            when(itemRequestRepository.findAllByIdInFetchingItems(List.of(request3Id)))
+                    .thenReturn(List.of(request3));
 
             itemRequestService.getAllRequests(requestor1Id, -1, 10);
             itemRequestService.getAllRequests(requestor1Id, 0, 0);
             itemRequestService.getAllRequests(requestor1Id, 0, -5);
 
-            verify(itemRequestRepository, atLeastOnce()).findAllByRequestorIdNot(eq(requestor1Id),
+            verify(itemRequestRepository, atLeastOnce()).findIdsByRequestorIdNot(eq(requestor1Id),
                     eq(defaultPageable));
             verify(itemRequestMapper, times(3)).mapToDto(any(ItemRequest.class));
         }
@@ -366,12 +387,12 @@ class ItemRequestServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when user does not exist")
         void getAllRequests_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(nonExistentUserId)).thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> itemRequestService.getAllRequests(nonExistentUserId, 0, 10),
                     "Getting all requests when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(nonExistentUserId);
+            verify(userExistenceCache).exists(nonExistentUserId);
             verifyNoInteractions(itemRequestRepository, itemRequestMapper);
         }
     }
@@ -383,7 +404,7 @@ class ItemRequestServiceImplTest {
         @Test
         @DisplayName("should return request DTO when user and request exist")
         void getRequestById_whenUserAndRequestExist_shouldReturnDto() {
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
             when(itemRequestRepository.findByIdFetchingItems(request1Id)).thenReturn(
                     Optional.of(request1));
             when(itemRequestMapper.mapToDto(request1)).thenReturn(requestDto1);
@@ -394,7 +415,7 @@ class ItemRequestServiceImplTest {
             assertThat("Returned ItemRequestDto should match the expected DTO", result,
                     equalTo(requestDto1));
 
-            verify(userRepository).findById(requestor1Id);
+            verify(userExistenceCache).exists(requestor1Id);
             verify(itemRequestRepository).findByIdFetchingItems(request1Id);
             verify(itemRequestMapper).mapToDto(request1);
         }
@@ -402,26 +423,26 @@ class ItemRequestServiceImplTest {
         @Test
         @DisplayName("should throw NotFoundException when user does not exist")
         void getRequestById_whenUserNotFound_shouldThrowUserNotFoundException() {
-            when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+            when(userExistenceCache.exists(nonExistentUserId)).thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> itemRequestService.getRequestById(request1Id, nonExistentUserId),
                     "Getting request by ID when user is not found should throw NotFoundException");
 
-            verify(userRepository).findById(nonExistentUserId);
+            verify(userExistenceCache).exists(nonExistentUserId);
             verifyNoInteractions(itemRequestRepository, itemRequestMapper);
         }
 
         @Test
         @DisplayName("should throw ItemRequestNotFoundException when request does not exist")
         void getRequestById_whenRequestNotFound_shouldThrowItemRequestNotFoundException() {
-            when(userRepository.findById(requestor1Id)).thenReturn(Optional.of(requestor1));
+            when(userExistenceCache.exists(requestor1Id)).thenReturn(true);
             when(itemRequestRepository.findByIdFetchingItems(nonExistentRequestId)).thenReturn(
                     Optional.empty());
             assertThrows(ItemRequestNotFoundException.class,
                     () -> itemRequestService.getRequestById(nonExistentRequestId, requestor1Id),
                     "Getting non-existent request by ID should throw ItemRequestNotFoundException");
 
-            verify(userRepository).findById(requestor1Id);
+            verify(userExistenceCache).exists(requestor1Id);
             verify(itemRequestRepository).findByIdFetchingItems(nonExistentRequestId);
             verifyNoInteractions(itemRequestMapper);
         }
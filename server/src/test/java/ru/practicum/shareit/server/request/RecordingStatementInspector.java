@@ -0,0 +1,28 @@
+package ru.practicum.shareit.server.request;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that remembers every SQL string it sees, so repository tests can assert on the
+ * statements actually sent to the database.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+}
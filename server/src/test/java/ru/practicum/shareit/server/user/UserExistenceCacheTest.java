@@ -0,0 +1,85 @@
+package ru.practicum.shareit.server.user;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Existence Cache Tests")
+class UserExistenceCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExistenceCache userExistenceCache;
+
+    @BeforeEach
+    void setUp() {
+        userExistenceCache = new UserExistenceCache(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("should query the repository once for an existing user")
+    void exists_whenUserExists_shouldCacheAnswer() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        assertThat(userExistenceCache.exists(USER_ID), is(true));
+        assertThat(userExistenceCache.exists(USER_ID), is(true));
+
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("should not cache a missing user")
+    void exists_whenUserMissing_shouldAskAgain() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false).thenReturn(true);
+
+        assertThat(userExistenceCache.exists(USER_ID), is(false));
+        assertThat("User created after the miss should be found", userExistenceCache.exists(USER_ID), is(true));
+
+        verify(userRepository, times(2)).existsById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("invalidate should make the next check hit the repository")
+    void invalidate_shouldForceRecheck() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true).thenReturn(false);
+
+        assertThat(userExistenceCache.exists(USER_ID), is(true));
+        userExistenceCache.invalidate(USER_ID);
+
+        assertThat("Deleted user should no longer exist", userExistenceCache.exists(USER_ID), is(false));
+        verify(userRepository, times(2)).existsById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("should not cache an answer whose lookup overlapped an invalidation")
+    void exists_whenInvalidatedDuringLookup_shouldNotCacheStaleAnswer() {
+        when(userRepository.existsById(USER_ID))
+                .thenAnswer(invocation -> {
+                    // The user is deleted and evicted after the lookup has read it
+                    userExistenceCache.invalidate(USER_ID);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertThat("Lookup that started before the delete still reports its answer",
+                userExistenceCache.exists(USER_ID), is(true));
+
+        assertThat("Deleted user should not be served from the cache", userExistenceCache.exists(USER_ID),
+                is(false));
+        verify(userRepository, times(2)).existsById(USER_ID);
+    }
+}
@@ -16,6 +16,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,8 +31,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.common.dto.user.NewUserDto;
 import ru.practicum.shareit.common.dto.user.UpdateUserDto;
 import ru.practicum.shareit.common.dto.user.UserDto;
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.server.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.Item;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.request.ItemRequest;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +51,27 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserExistenceCache userExistenceCache;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -331,13 +360,25 @@ class UserServiceImplTest {
     }
 
     @Test
-    @DisplayName("delete should call repository deleteById")
+    @DisplayName("delete should call repository deleteById and evict the existence cache and availability index")
     void delete_whenCalled_shouldCallRepositoryDeleteById() {
         Long userId = user1.getId();
+        when(itemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(10L));
+        when(bookingRepository.findItemIdsByBookerId(userId)).thenReturn(List.of(20L, 21L));
+        when(itemRequestRepository.findIdsByRequestorId(userId)).thenReturn(List.of(30L));
+        when(itemRepository.findIdsByRequestRequestorId(userId)).thenReturn(List.of(40L));
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
 
         assertDoesNotThrow(() -> userService.delete(userId),
                 "Should not throw an exception when deleting a user");
 
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userExistenceCache, times(1)).invalidate(userId);
+        verify(itemAvailabilityIndex, times(1)).invalidate(10L);
+        verify(itemAvailabilityIndex, times(1)).invalidate(20L);
+        verify(itemAvailabilityIndex, times(1)).invalidate(21L);
+        verify(secondLevelCache, times(1)).evict(Item.class, 10L);
+        verify(secondLevelCache, times(1)).evict(Item.class, 40L);
+        verify(secondLevelCache, times(1)).evict(ItemRequest.class, 30L);
     }
 }
\ No newline at end of file